@@ -42,6 +42,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -53,6 +54,19 @@ public final class JavaTranslator<S extends TraversalSource, T extends Traversal
     private final S traversalSource;
     private final Class<?> anonymousTraversal;
     private static final Map<Class<?>, Map<String, List<ReflectedMethod>>> GLOBAL_METHOD_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The method resolved for each shape of call, which is the class called, the method name and the classes of the
+     * arguments, so that bytecode which only differs from earlier bytecode in its argument values does not need to
+     * search the overloads of each of its methods again.
+     */
+    private static final Map<MethodShape, ReflectedMethod> GLOBAL_RESOLUTION_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Calls with more arguments than this are typically variable arguments of ids or values whose count varies from
+     * call to call, so their resolutions are not kept.
+     */
+    private static final int MAX_RESOLUTION_CACHE_ARGUMENTS = 16;
     private final Map<Class<?>, Map<String,Method>> localMethodCache = new ConcurrentHashMap<>();
     private final Method anonymousTraversalStart;
 
@@ -203,46 +217,21 @@ public final class JavaTranslator<S extends TraversalSource, T extends Traversal
             throw new IllegalStateException("Could not locate method: " + delegate.getClass().getSimpleName() + "." + methodName + "(" + methodArgs + ")");
         }
 
+        final MethodShape shape = argumentsCopy.length <= MAX_RESOLUTION_CACHE_ARGUMENTS ?
+                new MethodShape(delegate.getClass(), returnType, methodName, argumentsCopy) : null;
         try {
+            final ReflectedMethod resolved = null == shape ? null : GLOBAL_RESOLUTION_CACHE.get(shape);
+            if (null != resolved) {
+                final Object[] newArguments = matchArguments(resolved, argumentsCopy);
+                if (null != newArguments) return invoke(resolved.method, delegate, newArguments);
+            }
+
             for (final ReflectedMethod methodx : methodCache.get(methodName)) {
-                final Method method = methodx.method;
-                if (returnType.isAssignableFrom(method.getReturnType())) {
-                    final Parameter[] parameters = methodx.parameters;
-                    if (parameters.length == argumentsCopy.length || methodx.hasVarArgs) {
-                        final Object[] newArguments = new Object[parameters.length];
-                        boolean found = true;
-                        for (int i = 0; i < parameters.length; i++) {
-                            if (parameters[i].isVarArgs()) {
-                                final Class<?> parameterClass = parameters[i].getType().getComponentType();
-                                if (argumentsCopy.length > i && !parameterClass.isAssignableFrom(argumentsCopy[i].getClass())) {
-                                    found = false;
-                                    break;
-                                }
-                                final Object[] varArgs = (Object[]) Array.newInstance(parameterClass, argumentsCopy.length - i);
-                                int counter = 0;
-                                for (int j = i; j < argumentsCopy.length; j++) {
-                                    varArgs[counter++] = argumentsCopy[j];
-                                }
-                                newArguments[i] = varArgs;
-                                break;
-                            } else {
-                                if (i < argumentsCopy.length &&
-                                        (parameters[i].getType().isAssignableFrom(argumentsCopy[i].getClass()) ||
-                                                (parameters[i].getType().isPrimitive() &&
-                                                        (Number.class.isAssignableFrom(argumentsCopy[i].getClass()) ||
-                                                                argumentsCopy[i].getClass().equals(Boolean.class) ||
-                                                                argumentsCopy[i].getClass().equals(Byte.class) ||
-                                                                argumentsCopy[i].getClass().equals(Character.class))))) {
-                                    newArguments[i] = argumentsCopy[i];
-                                } else {
-                                    found = false;
-                                    break;
-                                }
-                            }
-                        }
-                        if (found) {
-                            return 0 == newArguments.length ? method.invoke(delegate) : method.invoke(delegate, newArguments);
-                        }
+                if (returnType.isAssignableFrom(methodx.method.getReturnType())) {
+                    final Object[] newArguments = matchArguments(methodx, argumentsCopy);
+                    if (null != newArguments) {
+                        if (null != shape) GLOBAL_RESOLUTION_CACHE.put(shape, methodx);
+                        return invoke(methodx.method, delegate, newArguments);
                     }
                 }
             }
@@ -255,6 +244,48 @@ public final class JavaTranslator<S extends TraversalSource, T extends Traversal
         throw new IllegalStateException("Could not locate method: " + delegate.getClass().getSimpleName() + "." + methodName + "(" + Arrays.toString(argumentsCopy) + ")");
     }
 
+    private static Object invoke(final Method method, final Object delegate, final Object[] arguments) throws Exception {
+        return 0 == arguments.length ? method.invoke(delegate) : method.invoke(delegate, arguments);
+    }
+
+    /**
+     * Gets the arguments to call the method with, packing variable arguments into an array, or {@code null} if the
+     * method does not accept the arguments.
+     */
+    private static Object[] matchArguments(final ReflectedMethod methodx, final Object[] argumentsCopy) {
+        final Parameter[] parameters = methodx.parameters;
+        if (parameters.length != argumentsCopy.length && !methodx.hasVarArgs) return null;
+
+        final Object[] newArguments = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isVarArgs()) {
+                final Class<?> parameterClass = parameters[i].getType().getComponentType();
+                if (argumentsCopy.length > i && !parameterClass.isAssignableFrom(argumentsCopy[i].getClass()))
+                    return null;
+                final Object[] varArgs = (Object[]) Array.newInstance(parameterClass, argumentsCopy.length - i);
+                int counter = 0;
+                for (int j = i; j < argumentsCopy.length; j++) {
+                    varArgs[counter++] = argumentsCopy[j];
+                }
+                newArguments[i] = varArgs;
+                break;
+            } else {
+                if (i < argumentsCopy.length &&
+                        (parameters[i].getType().isAssignableFrom(argumentsCopy[i].getClass()) ||
+                                (parameters[i].getType().isPrimitive() &&
+                                        (Number.class.isAssignableFrom(argumentsCopy[i].getClass()) ||
+                                                argumentsCopy[i].getClass().equals(Boolean.class) ||
+                                                argumentsCopy[i].getClass().equals(Byte.class) ||
+                                                argumentsCopy[i].getClass().equals(Character.class))))) {
+                    newArguments[i] = argumentsCopy[i];
+                } else {
+                    return null;
+                }
+            }
+        }
+        return newArguments;
+    }
+
     private synchronized static void buildMethodCache(final Object delegate, final Map<String, List<ReflectedMethod>> methodCache) {
         if (methodCache.isEmpty()) {
             for (final Method method : delegate.getClass().getMethods()) {
@@ -276,6 +307,40 @@ public final class JavaTranslator<S extends TraversalSource, T extends Traversal
         return null;
     }
 
+    private static final class MethodShape {
+        private final Class<?> delegateClass;
+        private final Class<?> returnType;
+        private final String methodName;
+        private final Class<?>[] argumentClasses;
+        private final int hashCode;
+
+        public MethodShape(final Class<?> delegateClass, final Class<?> returnType, final String methodName,
+                           final Object[] arguments) {
+            this.delegateClass = delegateClass;
+            this.returnType = returnType;
+            this.methodName = methodName;
+            this.argumentClasses = new Class<?>[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                this.argumentClasses[i] = null == arguments[i] ? null : arguments[i].getClass();
+            }
+            this.hashCode = Objects.hash(delegateClass, returnType, methodName, Arrays.hashCode(argumentClasses));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MethodShape)) return false;
+            final MethodShape other = (MethodShape) o;
+            return delegateClass.equals(other.delegateClass) && returnType.equals(other.returnType) &&
+                    methodName.equals(other.methodName) && Arrays.equals(argumentClasses, other.argumentClasses);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     private static final class ReflectedMethod {
         private final Method method;
         private final Parameter[] parameters;
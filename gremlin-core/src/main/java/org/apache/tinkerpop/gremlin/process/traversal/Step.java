@@ -162,6 +162,23 @@ public interface Step<S, E> extends Iterator<Traverser.Admin<E>>, Serializable,
         return Collections.emptySet();
     }
 
+    /**
+     * Fills the array from the offset onward with the next traversers of the step and returns the index after the
+     * last one written, which is the offset itself only if the step has no more traversers. The provided default
+     * implementation moves one traverser at a time through {@link #hasNext()} and {@link #next()}.
+     *
+     * @param batch  the array to write traversers into
+     * @param offset the index of the first slot to write
+     * @return the index after the last traverser written
+     */
+    public default int nextBatch(final Traverser.Admin<E>[] batch, final int offset) {
+        int end = offset;
+        while (end < batch.length && this.hasNext()) {
+            batch[end++] = this.next();
+        }
+        return end;
+    }
+
     /**
      * Compare the current step with another step.
      *
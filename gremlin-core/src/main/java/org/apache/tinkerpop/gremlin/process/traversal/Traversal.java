@@ -270,13 +270,22 @@ public interface Traversal<S, E> extends Iterator<E>, Serializable, Cloneable, A
     }
 
     /**
-     * Releases resources opened in any steps that implement {@link AutoCloseable}.
+     * Releases resources opened in any steps that implement {@link AutoCloseable}, including those of the child
+     * traversals of {@link TraversalParent} steps.
      */
     @Override
     public default void close() throws Exception {
         for (final Step<?, ?> step : this.asAdmin().getSteps()) {
             if (step instanceof AutoCloseable)
                 ((AutoCloseable) step).close();
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    child.close();
+                }
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    child.close();
+                }
+            }
         }
     }
 
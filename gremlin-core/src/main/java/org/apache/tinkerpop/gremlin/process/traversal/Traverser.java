@@ -318,5 +318,19 @@ public interface Traverser<T> extends Serializable, Comparable<Traverser<T>>, Cl
          * @return the set of tags associated with the traverser.
          */
         public Set<String> getTags();
+
+        /**
+         * Signals that the traverser is no longer referenced by its traversal, as when it was merged into an equal
+         * traverser or did not pass a filter, so that a traverser generated with a pool may be reused by a later
+         * split. The traverser must not be used after it has been released. By default this does nothing.
+         * <p/>
+         * A step may only release a traverser that nothing outside of the traversal can still reference. Steps that
+         * hand traversers to user code, such as the {@link org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder}
+         * steps, leave that guarantee to {@link org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserPool}
+         * which does not pool the traversers of a traversal that contains them.
+         */
+        public default void release() {
+
+        }
     }
 }
@@ -29,11 +29,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BarrierSpill;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.FingerprintSet;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -50,16 +53,20 @@ import java.util.function.BinaryOperator;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor {
+public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor, AutoCloseable {
+
+    private static final int SPILL_PARTITIONS = 64;
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
-    private Set<Object> duplicateSet = new HashSet<>();
+    private FingerprintSet duplicateSet = new FingerprintSet();
     private boolean onGraphComputer = false;
     private final Set<String> dedupLabels;
     private Set<String> keepLabels;
     private boolean executingAtMaster = false;
     private Map<Object, Traverser.Admin<S>> barrier;
     private Iterator<Map.Entry<Object, Traverser.Admin<S>>> barrierIterator;
+    private long spillThreshold = -1L;
+    private transient SpilledDuplicates spilled;
 
     public DedupGlobalStep(final Traversal.Admin traversal, final String... dedupLabels) {
         super(traversal);
@@ -70,13 +77,27 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     protected boolean filter(final Traverser.Admin<S> traverser) {
         if (this.onGraphComputer && !this.executingAtMaster) return true;
         traverser.setBulk(1L);
+        final Object object;
         if (null == this.dedupLabels) {
-            return this.duplicateSet.add(TraversalUtil.applyNullable(traverser, this.dedupTraversal));
+            object = TraversalUtil.applyNullable(traverser, this.dedupTraversal);
         } else {
             final List<Object> objects = new ArrayList<>(this.dedupLabels.size());
             this.dedupLabels.forEach(label -> objects.add(TraversalUtil.applyNullable((S) this.getScopeValue(Pop.last, label, traverser), this.dedupTraversal)));
-            return this.duplicateSet.add(objects);
+            object = objects;
+        }
+
+        if (null != this.spilled) {
+            this.spilled.defer(object, traverser);
+            return false;
+        } else if (!this.duplicateSet.add(object)) {
+            return false;
+        }
+
+        if (this.duplicateSet.size() > this.getSpillThreshold()) {
+            this.spilled = new SpilledDuplicates(this.duplicateSet);
+            this.duplicateSet = new FingerprintSet();
         }
+        return true;
     }
 
     @Override
@@ -102,7 +123,22 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
             if (this.duplicateSet.add(entry.getKey()))
                 return PathProcessor.processTraverserPathLabels(entry.getValue(), this.keepLabels);
         }
-        return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+        while (true) {
+            if (null != this.spilled) {
+                final Traverser.Admin<S> traverser = this.spilled.next();
+                if (null != traverser)
+                    return PathProcessor.processTraverserPathLabels(traverser, this.keepLabels);
+            }
+            final Traverser.Admin<S> traverser = this.starts.next();
+            if (this.filter(traverser))
+                return PathProcessor.processTraverserPathLabels(traverser, this.keepLabels);
+        }
+    }
+
+    private long getSpillThreshold() {
+        if (this.spillThreshold < 0)
+            this.spillThreshold = BarrierSpill.getThreshold(this.getTraversal());
+        return this.spillThreshold;
     }
 
     @Override
@@ -118,7 +154,9 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     @Override
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
-        clone.duplicateSet = new HashSet<>();
+        clone.duplicateSet = new FingerprintSet();
+        clone.spillThreshold = -1L;
+        clone.spilled = null;
         if (null != this.dedupTraversal)
             clone.dedupTraversal = this.dedupTraversal.clone();
         return clone;
@@ -146,6 +184,22 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         this.duplicateSet.clear();
         this.barrier = null;
         this.barrierIterator = null;
+        this.closeSpill();
+    }
+
+    /**
+     * Deletes the files of a spill that is left behind when the traversal is closed before it is fully iterated.
+     */
+    @Override
+    public void close() {
+        this.closeSpill();
+    }
+
+    private void closeSpill() {
+        if (null != this.spilled) {
+            this.spilled.spill.close();
+            this.spilled = null;
+        }
     }
 
     @Override
@@ -231,4 +285,82 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public Set<String> getKeepLabels() {
         return this.keepLabels;
     }
+
+    /**
+     * Holds the objects seen by the step once there are more of them than fit its memory budget. The seen objects
+     * and the traversers that arrive afterwards are split by hash into partitions on disk, and when the starts run
+     * dry each partition is read back in turn with only its own seen objects on the heap. The seen objects of a
+     * partition are written back out after it is read so they still apply to traversers that arrive later. Emitted
+     * traversers therefore come out grouped by partition rather than in the order they arrived.
+     */
+    private final class SpilledDuplicates {
+
+        private final BarrierSpill spill = BarrierSpill.open(getTraversal());
+        private final BarrierSpill.Run[] seen = new BarrierSpill.Run[SPILL_PARTITIONS];
+        private final BarrierSpill.Run[] pending = new BarrierSpill.Run[SPILL_PARTITIONS];
+        private int partition = -1;
+        private FingerprintSet partitionSeen;
+        private Iterator<Object> partitionPending;
+
+        private SpilledDuplicates(final FingerprintSet duplicates) {
+            duplicates.forEachEntry(entry -> this.runFor(this.seen, FingerprintSet.entryHash(entry)).write(ReferenceFactory.detach(entry)));
+        }
+
+        private void defer(final Object object, final Traverser.Admin<S> traverser) {
+            final BarrierSpill.Run run = this.runFor(this.pending, FingerprintSet.hash(object));
+            run.write(ReferenceFactory.detach(object));
+            run.writeTraverser(traverser);
+        }
+
+        /**
+         * Moves any remaining starts to disk and then gets the next traverser that has not been seen, which is
+         * {@code null} once every partition has been read.
+         */
+        private Traverser.Admin<S> next() {
+            // once spilled the filter defers every traverser to its partition
+            while (starts.hasNext()) {
+                filter(starts.next());
+            }
+
+            while (true) {
+                if (null != this.partitionPending) {
+                    while (this.partitionPending.hasNext()) {
+                        final Object object = this.partitionPending.next();
+                        final Traverser.Admin<S> traverser = (Traverser.Admin<S>) this.partitionPending.next();
+                        if (this.partitionSeen.add(object))
+                            return this.spill.restore(traverser);
+                    }
+                    final BarrierSpill.Run run = this.spill.createRun();
+                    this.partitionSeen.forEachEntry(run::write);
+                    this.seen[this.partition] = run;
+                    this.partitionSeen = null;
+                    this.partitionPending = null;
+                }
+
+                do {
+                    this.partition++;
+                } while (this.partition < SPILL_PARTITIONS && null == this.pending[this.partition]);
+                if (SPILL_PARTITIONS == this.partition) {
+                    this.partition = -1;
+                    return null;
+                }
+
+                this.partitionSeen = new FingerprintSet();
+                if (null != this.seen[this.partition]) {
+                    this.seen[this.partition].read().forEachRemaining(this.partitionSeen::addEntry);
+                    this.seen[this.partition] = null;
+                }
+                this.partitionPending = this.pending[this.partition].read();
+                this.pending[this.partition] = null;
+            }
+        }
+
+        private BarrierSpill.Run runFor(final BarrierSpill.Run[] runs, final int hash) {
+            final int h = hash * 0x9E3779B9;
+            final int index = (h >>> 16) % SPILL_PARTITIONS;
+            if (null == runs[index])
+                runs[index] = this.spill.createRun();
+            return runs[index];
+        }
+    }
 }
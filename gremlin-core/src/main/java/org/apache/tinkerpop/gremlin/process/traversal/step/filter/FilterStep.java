@@ -37,8 +37,41 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
             final Traverser.Admin<S> traverser = this.starts.next();
             if (this.filter(traverser))
                 return traverser;
+            else if (this.releasesFiltered())
+                traverser.release();
+        }
+    }
+
+    @Override
+    protected int processNextBatch(final Traverser.Admin<S>[] batch, final int offset) {
+        while (true) {
+            final int end = this.starts.nextBatch(batch, offset);
+            if (end == offset)
+                return offset;
+
+            // compact the traversers that pass to the front of the batch
+            int kept = offset;
+            for (int i = offset; i < end; i++) {
+                final Traverser.Admin<S> traverser = batch[i];
+                batch[i] = null;
+                if (this.filter(traverser))
+                    batch[kept++] = traverser;
+                else if (this.releasesFiltered())
+                    traverser.release();
+            }
+            if (kept > offset)
+                return kept;
         }
     }
 
     protected abstract boolean filter(final Traverser.Admin<S> traverser);
+
+    /**
+     * Determines if a traverser that does not pass the filter may be released with
+     * {@link Traverser.Admin#release()}, which is only the case when the filter keeps no reference to it. Filters
+     * that buffer traversers or hand them to a lambda must not release them.
+     */
+    protected boolean releasesFiltered() {
+        return false;
+    }
 }
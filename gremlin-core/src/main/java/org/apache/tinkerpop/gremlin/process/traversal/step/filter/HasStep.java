@@ -50,6 +50,11 @@ public class HasStep<S extends Element> extends FilterStep<S> implements HasCont
         return HasContainer.testAll(traverser.get(), this.hasContainers);
     }
 
+    @Override
+    protected boolean releasesFiltered() {
+        return true;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.hasContainers);
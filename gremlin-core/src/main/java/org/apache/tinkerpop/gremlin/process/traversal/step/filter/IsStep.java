@@ -45,6 +45,11 @@ public final class IsStep<S> extends FilterStep<S> {
         return this.predicate.test(traverser.get());
     }
 
+    @Override
+    protected boolean releasesFiltered() {
+        return true;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.predicate);
@@ -46,6 +46,11 @@ public final class NotStep<S> extends FilterStep<S> implements TraversalParent {
         return !TraversalUtil.test(traverser, this.notTraversal);
     }
 
+    @Override
+    protected boolean releasesFiltered() {
+        return true;
+    }
+
     @Override
     public List<Traversal.Admin<S, ?>> getLocalChildren() {
         return Collections.singletonList(this.notTraversal);
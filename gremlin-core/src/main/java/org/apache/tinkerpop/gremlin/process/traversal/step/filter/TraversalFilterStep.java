@@ -46,6 +46,11 @@ public final class TraversalFilterStep<S> extends FilterStep<S> implements Trave
         return TraversalUtil.test(traverser, this.filterTraversal);
     }
 
+    @Override
+    protected boolean releasesFiltered() {
+        return true;
+    }
+
     @Override
     public List<Traversal.Admin<S, ?>> getLocalChildren() {
         return Collections.singletonList(this.filterTraversal);
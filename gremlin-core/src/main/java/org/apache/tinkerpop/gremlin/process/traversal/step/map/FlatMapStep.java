@@ -33,6 +33,9 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
 
     private Traverser.Admin<S> head = null;
     private Iterator<E> iterator = EmptyIterator.instance();
+    private Traverser.Admin<S>[] heads = null;
+    private int headIndex = 0;
+    private int headEnd = 0;
 
     public FlatMapStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -51,6 +54,32 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] batch, final int offset) {
+        int end = offset;
+        while (end < batch.length) {
+            if (this.iterator.hasNext()) {
+                batch[end++] = this.head.split(this.iterator.next(), this);
+            } else {
+                closeIterator();
+                this.iterator = EmptyIterator.instance();
+                if (this.headIndex == this.headEnd) {
+                    // read the starts a batch at a time as well since one may produce no ends at all
+                    if (null == this.heads)
+                        this.heads = new Traverser.Admin[this.batchSize];
+                    this.headIndex = 0;
+                    this.headEnd = this.starts.nextBatch(this.heads, 0);
+                    if (0 == this.headEnd)
+                        return end;
+                }
+                this.head = this.heads[this.headIndex];
+                this.heads[this.headIndex++] = null;
+                this.iterator = this.flatMap(this.head);
+            }
+        }
+        return end;
+    }
+
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
     @Override
@@ -58,6 +87,9 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
         super.reset();
         closeIterator();
         this.iterator = EmptyIterator.instance();
+        this.heads = null;
+        this.headIndex = 0;
+        this.headEnd = 0;
     }
 
     protected void closeIterator() {
@@ -44,6 +44,7 @@ import java.util.function.BinaryOperator;
 public final class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Long>> implements TraversalParent, ByModulating {
 
     private Traversal.Admin<S, E> keyTraversal = null;
+    private GroupCounter<E> counter = new GroupCounter<>();
 
     public GroupCountStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -58,6 +59,19 @@ public final class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Lo
         return map;
     }
 
+    @Override
+    protected Map<E, Long> reduce(final Map<E, Long> seed, final Traverser.Admin<S> traverser) {
+        this.counter.increment(TraversalUtil.applyNullable(traverser, this.keyTraversal), traverser.bulk());
+        return seed;
+    }
+
+    @Override
+    public void processAllStarts() {
+        super.processAllStarts();
+        if (!this.counter.isEmpty())
+            this.addBarrier(this.counter.drain());
+    }
+
     @Override
     public void addLocalChild(final Traversal.Admin<?, ?> groupTraversal) {
         this.keyTraversal = this.integrateChild(groupTraversal);
@@ -99,6 +113,13 @@ public final class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Lo
         return result;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        // replaced rather than cleared as a clone is reset while it still shares the counter of the original
+        this.counter = new GroupCounter<>();
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.keyTraversal);
@@ -122,4 +143,37 @@ public final class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Lo
             return INSTANCE;
         }
     }
+
+    /**
+     * Counts keys in primitive counters so that counting a key that was counted before allocates nothing. The counts
+     * only take the boxed form of a {@code Map<E, Long>} when they are drained.
+     */
+    public static final class GroupCounter<E> implements Serializable {
+
+        private final Map<E, long[]> counts = new HashMap<>();
+
+        public void increment(final E key, final long bulk) {
+            final long[] count = this.counts.get(key);
+            if (null == count)
+                this.counts.put(key, new long[]{bulk});
+            else
+                count[0] = count[0] + bulk;
+        }
+
+        public boolean isEmpty() {
+            return this.counts.isEmpty();
+        }
+
+        /**
+         * Removes the counts from the counter and returns them as a map of each key to its count.
+         */
+        public Map<E, Long> drain() {
+            final Map<E, Long> map = new HashMap<>(this.counts.size() * 4 / 3 + 1);
+            for (final Map.Entry<E, long[]> entry : this.counts.entrySet()) {
+                map.put(entry.getKey(), entry.getValue()[0]);
+            }
+            this.counts.clear();
+            return map;
+        }
+    }
 }
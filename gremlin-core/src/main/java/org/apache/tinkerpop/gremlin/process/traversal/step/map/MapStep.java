@@ -37,6 +37,18 @@ public abstract class MapStep<S, E> extends AbstractStep<S, E> {
         return traverser.split(this.map(traverser), this);
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] batch, final int offset) {
+        // each start maps to exactly one end so the starts are read into the same slots they are replaced in
+        final Traverser.Admin<S>[] starts = (Traverser.Admin<S>[]) (Traverser.Admin[]) batch;
+        final int end = this.starts.nextBatch(starts, offset);
+        for (int i = offset; i < end; i++) {
+            final Traverser.Admin<S> traverser = starts[i];
+            batch[i] = traverser.split(this.map(traverser), this);
+        }
+        return end;
+    }
+
     protected abstract E map(final Traverser.Admin<S> traverser);
 
 }
@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.UnsynchronizedTraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
@@ -38,7 +39,7 @@ import java.util.Set;
 public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S> {
 
     private int maxBarrierSize;
-    private TraverserSet<S> barrier = new TraverserSet<>();
+    private TraverserSet<S> barrier = new UnsynchronizedTraverserSet<>();
 
     public NoOpBarrierStep(final Traversal.Admin traversal) {
         this(traversal, Integer.MAX_VALUE);
@@ -66,7 +67,9 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
         while (this.starts.hasNext() && (this.maxBarrierSize == Integer.MAX_VALUE || this.barrier.size() < this.maxBarrierSize)) {
             final Traverser.Admin<S> traverser = this.starts.next();
             traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
-            this.barrier.add(traverser);
+            // a traverser that is merged into an equal one by bulking is no longer referenced
+            if (!this.barrier.add(traverser))
+                traverser.release();
         }
     }
 
@@ -82,8 +85,10 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
         if (this.barrier.isEmpty())
             throw FastNoSuchElementException.instance();
         else {
-            final TraverserSet<S> temp = this.barrier;
-            this.barrier = new TraverserSet<>();
+            // the barrier leaves the traversal for shared memory so it goes out in a synchronized set
+            final TraverserSet<S> temp = new TraverserSet<>();
+            temp.addAll(this.barrier);
+            this.barrier.clear();
             return temp;
         }
     }
@@ -96,7 +101,7 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     @Override
     public NoOpBarrierStep<S> clone() {
         final NoOpBarrierStep<S> clone = (NoOpBarrierStep<S>) super.clone();
-        clone.barrier = new TraverserSet<>();
+        clone.barrier = new UnsynchronizedTraverserSet<>();
         return clone;
     }
 
@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BarrierSpill;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
@@ -33,6 +34,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSe
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.MultiComparator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.javatuples.Pair;
 
 import java.io.Serializable;
@@ -41,6 +43,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
@@ -48,12 +51,19 @@ import java.util.stream.Collectors;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating {
+public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, AutoCloseable {
+
+    private static final int MAX_SPILL_FAN_IN = 64;
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private MultiComparator<C> multiComparator = null;
     private long limit = Long.MAX_VALUE;
 
+    private long spillThreshold = -1L;
+    private transient BarrierSpill spill;
+    private transient List<BarrierSpill.Run> runs;
+    private transient Iterator<Traverser.Admin<S>> spilled;
+
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -70,11 +80,105 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
     @Override
     public void processAllStarts() {
-        while (this.starts.hasNext()) {
-            this.traverserSet.add(this.createProjectedTraverser(this.starts.next()));
+        if (!this.starts.hasNext()) return;
+        if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+
+        if (isBounded(this.limit) && !this.multiComparator.isShuffle()) {
+            // only the first traversers up to the limit can ever be read, so hold just those in a bounded heap
+            final TopK<S> topK = new TopK<>(this.limit, this.multiComparator);
+            IteratorUtils.removeOnNext(this.traverserSet.iterator()).forEachRemaining(topK::add);
+            while (this.starts.hasNext()) {
+                topK.add(this.createProjectedTraverser(this.starts.next()));
+            }
+            topK.drainTo(this.traverserSet);
+        } else {
+            final long threshold = this.multiComparator.isShuffle() ? Long.MAX_VALUE : this.getSpillThreshold();
+            while (this.starts.hasNext()) {
+                this.traverserSet.add(this.createProjectedTraverser(this.starts.next()));
+                if (this.traverserSet.size() >= threshold)
+                    this.spillRun();
+            }
+
+            // once any run is on disk the whole barrier is read back as a merge of sorted runs
+            if (null != this.runs) {
+                if (!this.traverserSet.isEmpty())
+                    this.spillRun();
+                this.spilled = this.spill.mergeTraversers(this.runs, this.multiComparator);
+                this.runs = null;
+            }
+        }
+    }
+
+    @Override
+    public Traverser.Admin<S> processNextStart() {
+        while (true) {
+            if (null != this.spilled) {
+                if (this.spilled.hasNext())
+                    return ProjectedTraverser.tryUnwrap(this.spilled.next());
+                this.closeSpill();
+            }
+
+            if (this.traverserSet.isEmpty() && this.starts.hasNext()) {
+                this.processAllStarts();
+                this.barrierConsumed = false;
+                if (null != this.spilled)
+                    continue;
+            }
+            return super.processNextStart();
         }
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.closeSpill();
+    }
+
+    /**
+     * Deletes the files of a spill that is left behind when the traversal is closed before it is fully iterated.
+     */
+    @Override
+    public void close() {
+        this.closeSpill();
+    }
+
+    private long getSpillThreshold() {
+        if (this.spillThreshold < 0)
+            this.spillThreshold = BarrierSpill.getThreshold(this.getTraversal());
+        return this.spillThreshold;
+    }
+
+    /**
+     * Sorts the traversers held on the heap and writes them out as a run.
+     */
+    private void spillRun() {
+        if (null == this.spill)
+            this.spill = BarrierSpill.open(this.getTraversal());
+        if (null == this.runs)
+            this.runs = new ArrayList<>();
+
+        this.traverserSet.sort((Comparator) this.multiComparator);
+        final BarrierSpill.Run run = this.spill.createRun();
+        this.traverserSet.forEach(run::writeTraverser);
+        this.traverserSet.clear();
+        this.runs.add(run);
+
+        // bound the number of files that are open at once when the runs are merged
+        if (this.runs.size() >= MAX_SPILL_FAN_IN) {
+            final BarrierSpill.Run merged = this.spill.mergeRuns(this.runs, this.multiComparator);
+            this.runs = new ArrayList<>();
+            this.runs.add(merged);
+        }
+    }
+
+    private void closeSpill() {
+        if (null != this.spill)
+            this.spill.close();
+        this.spill = null;
+        this.runs = null;
+        this.spilled = null;
+    }
+
     public void setLimit(final long limit) {
         this.limit = limit;
     }
@@ -130,6 +234,10 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
     @Override
     public OrderGlobalStep<S, C> clone() {
         final OrderGlobalStep<S, C> clone = (OrderGlobalStep<S, C>) super.clone();
+        clone.spillThreshold = -1L;
+        clone.spill = null;
+        clone.runs = null;
+        clone.spilled = null;
         clone.comparators = new ArrayList<>();
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> comparator : this.comparators) {
             clone.comparators.add(new Pair<>(comparator.getValue0().clone(), comparator.getValue1()));
@@ -165,8 +273,67 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         return new MultiComparator<>(list);
     }
 
+    private static boolean isBounded(final long limit) {
+        return limit >= 0 && limit != Long.MAX_VALUE;
+    }
+
     ////////////////
 
+    /**
+     * Keeps the traversers that sort first, up to a total bulk of the limit, in a heap with the worst of them at its
+     * head. Traversers that compare equally keep their arrival order so that the result is the same as that of a
+     * stable sort of all the traversers followed by the limit.
+     */
+    private static final class TopK<S> {
+
+        private final long limit;
+        private final Comparator<Traverser.Admin<S>> comparator;
+        private final PriorityQueue<Entry<S>> heap;
+        private long bulk = 0L;
+        private long sequence = 0L;
+
+        private TopK(final long limit, final Comparator comparator) {
+            this.limit = limit;
+            this.comparator = comparator;
+            this.heap = new PriorityQueue<>((int) Math.min(limit + 1, 1024), (a, b) -> {
+                final int c = this.comparator.compare(b.traverser, a.traverser);
+                return 0 != c ? c : Long.compare(b.sequence, a.sequence);
+            });
+        }
+
+        private void add(final Traverser.Admin<S> traverser) {
+            // a full heap rejects anything that does not sort before its worst traverser
+            if (this.bulk >= this.limit && (this.heap.isEmpty() || this.comparator.compare(traverser, this.heap.peek().traverser) >= 0))
+                return;
+
+            this.heap.add(new Entry<>(traverser, this.sequence++));
+            this.bulk = this.bulk + traverser.bulk();
+            while (!this.heap.isEmpty() && this.bulk - this.heap.peek().traverser.bulk() >= this.limit) {
+                this.bulk = this.bulk - this.heap.poll().traverser.bulk();
+            }
+        }
+
+        private void drainTo(final TraverserSet<S> traverserSet) {
+            final List<Entry<S>> entries = new ArrayList<>(this.heap);
+            entries.sort(Comparator.comparingLong(e -> e.sequence));
+            for (final Entry<S> entry : entries) {
+                traverserSet.add(entry.traverser);
+            }
+            this.heap.clear();
+            this.bulk = 0L;
+        }
+
+        private static final class Entry<S> {
+            private final Traverser.Admin<S> traverser;
+            private final long sequence;
+
+            private Entry(final Traverser.Admin<S> traverser, final long sequence) {
+                this.traverser = traverser;
+                this.sequence = sequence;
+            }
+        }
+    }
+
     public static final class OrderBiOperator<S> implements BinaryOperator<TraverserSet<S>>, Serializable {
 
         private long limit;
@@ -183,6 +350,15 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
         @Override
         public TraverserSet<S> apply(final TraverserSet<S> setA, final TraverserSet<S> setB) {
+            if (isBounded(this.limit) && !this.comparator.isShuffle()) {
+                // merge the two sides into a single heap rather than sorting their union
+                final TopK<S> topK = new TopK<>(this.limit, this.comparator);
+                IteratorUtils.removeOnNext(setA.iterator()).forEachRemaining(topK::add);
+                setB.forEach(topK::add);
+                topK.drainTo(setA);
+                return setA;
+            }
+
             setA.addAll(setB);
             if (this.limit != -1 && setA.bulkSize() > this.limit) {
                 if (this.comparator.isShuffle())
@@ -18,13 +18,19 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NoneStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupCountStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
@@ -33,6 +39,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
@@ -42,6 +49,8 @@ public final class GroupCountSideEffectStep<S, E> extends SideEffectStep<S> impl
 
     private Traversal.Admin<S, E> keyTraversal = null;
     private String sideEffectKey;
+    private GroupCountStep.GroupCounter<E> counter = new GroupCountStep.GroupCounter<>();
+    private Boolean deferred = null;
 
     public GroupCountSideEffectStep(final Traversal.Admin traversal, final String sideEffectKey) {
         super(traversal);
@@ -51,9 +60,40 @@ public final class GroupCountSideEffectStep<S, E> extends SideEffectStep<S> impl
 
     @Override
     protected void sideEffect(final Traverser.Admin<S> traverser) {
-        final Map<E, Long> map = new HashMap<>(1);
-        map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), traverser.bulk());
-        this.getTraversal().getSideEffects().add(this.sideEffectKey, map);
+        if (this.isDeferred()) {
+            this.counter.increment(TraversalUtil.applyNullable(traverser, this.keyTraversal), traverser.bulk());
+        } else {
+            final Map<E, Long> map = new HashMap<>(1);
+            map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), traverser.bulk());
+            this.getTraversal().getSideEffects().add(this.sideEffectKey, map);
+        }
+    }
+
+    @Override
+    protected Traverser.Admin<S> processNextStart() {
+        try {
+            return super.processNextStart();
+        } catch (final NoSuchElementException e) {
+            if (!this.counter.isEmpty())
+                this.getTraversal().getSideEffects().add(this.sideEffectKey, this.counter.drain());
+            throw e;
+        }
+    }
+
+    /**
+     * Determines if the counts can be kept in the step until its starts are exhausted, which is the case when the
+     * step that follows drains this one before anything it emits can look at the side-effect.
+     */
+    private boolean isDeferred() {
+        if (null == this.deferred) {
+            final Step<?, ?> nextStep = this.getNextStep();
+            this.deferred = this.getTraversal().getParent() instanceof EmptyStep &&
+                    !TraversalHelper.onGraphComputer(this.getTraversal()) &&
+                    (nextStep instanceof SideEffectCapStep || nextStep instanceof NoneStep ||
+                            ((nextStep instanceof ReducingBarrierStep || nextStep instanceof CollectingBarrierStep) &&
+                                    !nextStep.getRequirements().contains(TraverserRequirement.SIDE_EFFECTS)));
+        }
+        return this.deferred;
     }
 
     @Override
@@ -84,6 +124,7 @@ public final class GroupCountSideEffectStep<S, E> extends SideEffectStep<S> impl
     @Override
     public GroupCountSideEffectStep<S, E> clone() {
         final GroupCountSideEffectStep<S, E> clone = (GroupCountSideEffectStep<S, E>) super.clone();
+        clone.deferred = null;
         if (null != this.keyTraversal)
             clone.keyTraversal = this.keyTraversal.clone();
         return clone;
@@ -102,6 +143,13 @@ public final class GroupCountSideEffectStep<S, E> extends SideEffectStep<S> impl
         return result;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        // replaced rather than cleared as a clone is reset while it still shares the counter of the original
+        this.counter = new GroupCountStep.GroupCounter<>();
+    }
+
     @Override
     public void modulateBy(final Traversal.Admin<?, ?> keyTraversal) throws UnsupportedOperationException {
         this.keyTraversal = this.integrateChild(keyTraversal);
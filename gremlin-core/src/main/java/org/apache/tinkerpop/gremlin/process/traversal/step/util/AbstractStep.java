@@ -22,6 +22,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
@@ -43,6 +44,10 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
     protected ExpandableStepIterator<S> starts;
     protected Traverser.Admin<E> nextEnd = null;
     protected boolean traverserStepIdAndLabelsSetByChild = false;
+    protected int batchSize = 1;
+    private Traverser.Admin<E>[] batch = null;
+    private int batchIndex = 0;
+    private int batchEnd = 0;
 
     protected Step<?, S> previousStep = EmptyStep.instance();
     protected Step<E, ?> nextStep = EmptyStep.instance();
@@ -82,6 +87,23 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
     public void reset() {
         this.starts.clear();
         this.nextEnd = null;
+        this.clearBatch();
+    }
+
+    /**
+     * Sets the number of traversers the step moves per call to {@link #processNextBatch}. A size greater than one
+     * means the step reads ahead of its consumer by up to that many traversers, so it should only be set where
+     * reading ahead cannot be observed, such as on side-effect free steps whose output is drained by a barrier.
+     */
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be greater than zero: " + batchSize);
+        this.batchSize = batchSize;
+        this.clearBatch();
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
     }
 
     @Override
@@ -122,6 +144,12 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
             } finally {
                 this.nextEnd = null;
             }
+        } else if (this.batchSize > 1) {
+            if (!this.hasNextInBatch())
+                throw FastNoSuchElementException.instance();
+            final Traverser.Admin<E> traverser = this.batch[this.batchIndex];
+            this.batch[this.batchIndex++] = null;
+            return traverser;
         } else {
             while (true) {
                 if (Thread.interrupted()) throw new TraversalInterruptedException();
@@ -136,6 +164,8 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
     public boolean hasNext() {
         if (null != this.nextEnd)
             return true;
+        else if (this.batchSize > 1)
+            return this.hasNextInBatch();
         else {
             try {
                 while (true) {
@@ -162,8 +192,81 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         this.traversal = traversal;
     }
 
+    @Override
+    public int nextBatch(final Traverser.Admin<E>[] batch, final int offset) {
+        if (1 == this.batchSize)
+            return Step.super.nextBatch(batch, offset);
+
+        int end = offset;
+        if (null != this.nextEnd && end < batch.length) {
+            batch[end++] = this.prepareTraversalForNextStep(this.nextEnd);
+            this.nextEnd = null;
+        }
+        while (end < batch.length && this.batchIndex < this.batchEnd) {
+            batch[end++] = this.batch[this.batchIndex];
+            this.batch[this.batchIndex++] = null;
+        }
+        return end < batch.length ? this.processBatch(batch, end) : end;
+    }
+
     protected abstract Traverser.Admin<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Fills the array from the offset onward with traversers the step produces and returns the index after the last
+     * one written, which must only be the offset itself if the step has no more traversers to produce. The provided
+     * default implementation calls {@link #processNextStart()} once per traverser. Steps override it to move the
+     * traversers of a batch through their logic together and it is only used when the batch size is above one.
+     */
+    protected int processNextBatch(final Traverser.Admin<E>[] batch, final int offset) {
+        int end = offset;
+        try {
+            while (end < batch.length) {
+                final Traverser.Admin<E> traverser = this.processNextStart();
+                batch[end++] = traverser;
+            }
+        } catch (final NoSuchElementException e) {
+            // the step is out of traversers for now
+        }
+        return end;
+    }
+
+    /**
+     * Runs {@link #processNextBatch} until it yields traversers for the next step or has none left, dropping those
+     * that are empty and preparing the rest as {@link #next()} would.
+     */
+    private int processBatch(final Traverser.Admin<E>[] batch, final int offset) {
+        int end = offset;
+        while (end == offset) {
+            if (Thread.interrupted()) throw new TraversalInterruptedException();
+            final int produced = this.processNextBatch(batch, offset);
+            if (produced == offset)
+                return offset;
+            for (int i = offset; i < produced; i++) {
+                final Traverser.Admin<E> traverser = batch[i];
+                batch[i] = null;
+                if (null != traverser.get() && 0 != traverser.bulk())
+                    batch[end++] = this.prepareTraversalForNextStep(traverser);
+            }
+        }
+        return end;
+    }
+
+    private boolean hasNextInBatch() {
+        if (this.batchIndex < this.batchEnd)
+            return true;
+        if (null == this.batch)
+            this.batch = new Traverser.Admin[this.batchSize];
+        this.batchIndex = 0;
+        this.batchEnd = this.processBatch(this.batch, 0);
+        return this.batchEnd > 0;
+    }
+
+    private void clearBatch() {
+        this.batch = null;
+        this.batchIndex = 0;
+        this.batchEnd = 0;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this);
@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoIo;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Writes the contents of a barrier that has grown past the memory budget of its traversal to temporary files with
+ * Gryo and reads them back. Traversers are detached as they are written, just as they are when they leave a vertex on
+ * a {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer}, and are attached to the graph of the
+ * traversal again as they are read. The budget is the number of entries a barrier may hold on the heap and is
+ * given with the {@link #BARRIER_SPILL_THRESHOLD} option of the {@link OptionsStrategy}, as in
+ * {@code g.with("barrierSpillThreshold", 1000000)}. Barriers never spill on a graph computer.
+ *
+ * @author agent (agent@local)
+ */
+public final class BarrierSpill implements AutoCloseable {
+
+    /**
+     * The option naming the maximum number of entries a barrier holds on the heap before it spills.
+     */
+    public static final String BARRIER_SPILL_THRESHOLD = "barrierSpillThreshold";
+
+    /**
+     * The option naming the directory for spill files, which defaults to the temporary directory of the JVM.
+     */
+    public static final String BARRIER_SPILL_DIRECTORY = "barrierSpillDirectory";
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final Traversal.Admin<?, ?> traversal;
+    private final File directory;
+    private final Kryo kryo;
+    private final List<Run> runs = new ArrayList<>();
+
+    private BarrierSpill(final Traversal.Admin<?, ?> traversal, final File directory) {
+        this.traversal = traversal;
+        this.directory = directory;
+        this.kryo = traversal.getGraph()
+                .map(graph -> graph.io(GryoIo.build()).mapper())
+                .orElseGet(GryoMapper::build)
+                .create().createMapper();
+    }
+
+    /**
+     * Gets the number of entries a barrier in the traversal may hold before it spills, which is
+     * {@code Long.MAX_VALUE} when no budget is configured or the traversal runs on a graph computer.
+     */
+    public static long getThreshold(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return Long.MAX_VALUE;
+        final Object threshold = getOption(traversal, BARRIER_SPILL_THRESHOLD);
+        if (null == threshold)
+            return Long.MAX_VALUE;
+        final long value = threshold instanceof Number ? ((Number) threshold).longValue() : Long.parseLong(threshold.toString());
+        if (value <= 0)
+            throw new IllegalArgumentException(String.format("The %s option must be greater than zero: %s", BARRIER_SPILL_THRESHOLD, threshold));
+        return value;
+    }
+
+    /**
+     * Prepares to spill the barriers of the traversal.
+     */
+    public static BarrierSpill open(final Traversal.Admin<?, ?> traversal) {
+        final Object directory = getOption(traversal, BARRIER_SPILL_DIRECTORY);
+        return new BarrierSpill(traversal, null == directory ? null : new File(directory.toString()));
+    }
+
+    private static Object getOption(final Traversal.Admin<?, ?> traversal, final String key) {
+        return TraversalHelper.getRootTraversal(traversal).getStrategies().getStrategy(OptionsStrategy.class)
+                .map(strategy -> strategy.getOptions().get(key))
+                .orElse(null);
+    }
+
+    /**
+     * Creates an empty file to write a run of objects to.
+     */
+    public Run createRun() {
+        try {
+            final Run run = new Run(File.createTempFile("gremlin-barrier-", ".spill", this.directory));
+            this.runs.add(run);
+            return run;
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Readies a traverser that was read from a run for the traversal by attaching it to the graph and giving it the
+     * side-effects of the traversal.
+     */
+    public <S> Traverser.Admin<S> restore(final Traverser.Admin<S> traverser) {
+        traverser.setSideEffects(this.traversal.getSideEffects());
+        final Graph graph = this.traversal.getGraph().orElse(null);
+        if (null != graph)
+            traverser.attach(Attachable.Method.get(graph));
+        return traverser;
+    }
+
+    /**
+     * Merges runs of traversers that are each sorted by the comparator into a single sorted run. Traversers that
+     * compare equally come from earlier runs first so a stable sort of the input remains stable.
+     */
+    public Run mergeRuns(final List<Run> sorted, final Comparator comparator) {
+        final Run merged = this.createRun();
+        this.merge(sorted, comparator).forEachRemaining(merged::write);
+        sorted.forEach(Run::delete);
+        return merged;
+    }
+
+    /**
+     * Reads runs of traversers that are each sorted by the comparator back as a single sorted stream of restored
+     * traversers. Traversers that compare equally come from earlier runs first.
+     */
+    public <S> Iterator<Traverser.Admin<S>> mergeTraversers(final List<Run> sorted, final Comparator comparator) {
+        final Iterator<Object> merged = this.merge(sorted, comparator);
+        return new Iterator<Traverser.Admin<S>>() {
+            @Override
+            public boolean hasNext() {
+                return merged.hasNext();
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                return restore((Traverser.Admin<S>) merged.next());
+            }
+        };
+    }
+
+    private Iterator<Object> merge(final List<Run> sorted, final Comparator comparator) {
+        final PriorityQueue<Cursor> cursors = new PriorityQueue<>(Math.max(1, sorted.size()), (a, b) -> {
+            final int c = comparator.compare(a.head, b.head);
+            return 0 != c ? c : Integer.compare(a.index, b.index);
+        });
+        for (int i = 0; i < sorted.size(); i++) {
+            final Cursor cursor = new Cursor(i, sorted.get(i).read());
+            if (cursor.advance()) cursors.add(cursor);
+        }
+
+        return new Iterator<Object>() {
+            @Override
+            public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public Object next() {
+                final Cursor cursor = cursors.poll();
+                if (null == cursor)
+                    throw new NoSuchElementException();
+                final Object head = cursor.head;
+                if (cursor.advance()) cursors.add(cursor);
+                return head;
+            }
+        };
+    }
+
+    /**
+     * Deletes every file this spill created.
+     */
+    @Override
+    public void close() {
+        this.runs.forEach(Run::delete);
+        this.runs.clear();
+    }
+
+    private static final class Cursor {
+        private final int index;
+        private final Iterator<Object> objects;
+        private Object head;
+
+        private Cursor(final int index, final Iterator<Object> objects) {
+            this.index = index;
+            this.objects = objects;
+        }
+
+        private boolean advance() {
+            if (!this.objects.hasNext()) return false;
+            this.head = this.objects.next();
+            return true;
+        }
+    }
+
+    /**
+     * A file of objects that is written in full before it is read.
+     */
+    public final class Run {
+
+        private final File file;
+        private Output output;
+        private Input input;
+        private long size = 0L;
+
+        private Run(final File file) throws IOException {
+            this.file = file;
+            this.output = new Output(new FileOutputStream(file), BUFFER_SIZE);
+        }
+
+        public long size() {
+            return this.size;
+        }
+
+        public void write(final Object object) {
+            kryo.writeClassAndObject(this.output, object);
+            this.size++;
+        }
+
+        /**
+         * Detaches the traverser and writes it.
+         */
+        public void writeTraverser(final Traverser.Admin<?> traverser) {
+            this.write(traverser.detach());
+        }
+
+        /**
+         * Completes the run and reads its objects back in the order they were written. The file is deleted once the
+         * last of them is read.
+         */
+        public Iterator<Object> read() {
+            this.finish();
+            try {
+                this.input = new Input(new FileInputStream(this.file), BUFFER_SIZE);
+            } catch (IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            return new Iterator<Object>() {
+                private long remaining = size;
+
+                @Override
+                public boolean hasNext() {
+                    if (this.remaining > 0) return true;
+                    delete();
+                    return false;
+                }
+
+                @Override
+                public Object next() {
+                    if (!this.hasNext())
+                        throw new NoSuchElementException();
+                    this.remaining--;
+                    return kryo.readClassAndObject(input);
+                }
+            };
+        }
+
+        private void finish() {
+            if (null != this.output) {
+                this.output.close();
+                this.output = null;
+            }
+        }
+
+        public void delete() {
+            this.finish();
+            if (null != this.input) {
+                this.input.close();
+                this.input = null;
+            }
+            this.file.delete();
+        }
+    }
+}
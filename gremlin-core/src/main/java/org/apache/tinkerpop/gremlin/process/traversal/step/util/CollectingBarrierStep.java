@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.UnsynchronizedTraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
@@ -41,9 +42,9 @@ import java.util.function.BinaryOperator;
  */
 public abstract class CollectingBarrierStep<S> extends AbstractStep<S, S> implements Barrier<TraverserSet<S>> {
 
-    protected TraverserSet<S> traverserSet = new TraverserSet<>();
+    protected TraverserSet<S> traverserSet = new UnsynchronizedTraverserSet<>();
     private int maxBarrierSize;
-    private boolean barrierConsumed = false;
+    protected boolean barrierConsumed = false;
 
     public CollectingBarrierStep(final Traversal.Admin traversal) {
         this(traversal, Integer.MAX_VALUE);
@@ -65,15 +66,21 @@ public abstract class CollectingBarrierStep<S> extends AbstractStep<S, S> implem
     public void processAllStarts() {
         if (this.starts.hasNext()) {
             if (Integer.MAX_VALUE == this.maxBarrierSize) {
-                this.starts.forEachRemaining(this.traverserSet::add);
+                this.starts.forEachRemaining(this::collect);
             } else {
                 while (this.starts.hasNext() && this.traverserSet.size() < this.maxBarrierSize) {
-                    this.traverserSet.add(this.starts.next());
+                    this.collect(this.starts.next());
                 }
             }
         }
     }
 
+    private void collect(final Traverser.Admin<S> traverser) {
+        // a traverser that is merged into an equal one by bulking is no longer referenced
+        if (!this.traverserSet.add(traverser))
+            traverser.release();
+    }
+
     @Override
     public boolean hasNextBarrier() {
         this.processAllStarts();
@@ -119,7 +126,7 @@ public abstract class CollectingBarrierStep<S> extends AbstractStep<S, S> implem
     @Override
     public CollectingBarrierStep<S> clone() {
         final CollectingBarrierStep<S> clone = (CollectingBarrierStep<S>) super.clone();
-        clone.traverserSet = new TraverserSet<>();
+        clone.traverserSet = new UnsynchronizedTraverserSet<>();
         clone.barrierConsumed = false;
         return clone;
     }
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.UnsynchronizedTraverserSet;
 
 import java.io.Serializable;
 import java.util.Iterator;
@@ -30,7 +31,7 @@ import java.util.Iterator;
  */
 public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin<S>>, Serializable {
 
-    private final TraverserSet<S> traverserSet = new TraverserSet<>();
+    private final TraverserSet<S> traverserSet = new UnsynchronizedTraverserSet<>();
     private final Step<S, ?> hostStep;
 
     public ExpandableStepIterator(final Step<S, ?> hostStep) {
@@ -53,6 +54,18 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
         return this.traverserSet.remove();
     }
 
+    /**
+     * Fills the array from the offset onward as {@link Step#nextBatch} does, taking traversers that were added
+     * directly before those of the previous step.
+     */
+    public int nextBatch(final Traverser.Admin<S>[] batch, final int offset) {
+        int end = offset;
+        while (end < batch.length && !this.traverserSet.isEmpty()) {
+            batch[end++] = this.traverserSet.remove();
+        }
+        return end < batch.length ? this.hostStep.getPreviousStep().nextBatch(batch, end) : end;
+    }
+
     public void add(final Iterator<Traverser.Admin<S>> iterator) {
         iterator.forEachRemaining(this.traverserSet::add);
     }
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A set of the objects a step has seen that holds vertices, edges and vertex properties with {@code Long} or
+ * {@code Integer} identifiers, as well as {@code Long} and {@code Integer} values themselves, as primitive
+ * fingerprints rather than as references. Elements are equal when they are of the same kind and have equal
+ * identifiers, so keeping the kind and the identifier is enough to tell whether an element was seen before, and the
+ * element itself can be garbage collected as soon as it has been processed. Any other object is held as is.
+ *
+ * @author agent (agent@local)
+ */
+public final class FingerprintSet {
+
+    private static final int VERTEX = 0;
+    private static final int EDGE = 2;
+    private static final int VERTEX_PROPERTY = 4;
+    private static final int NUMBER = 6;
+    // each kind has a slot for Long values and one after it for Integer values, which are never equal to each other
+    private static final int SLOTS = 8;
+
+    private final LongSet[] fingerprints = new LongSet[SLOTS];
+    private final Set<Object> objects = new HashSet<>();
+
+    /**
+     * Adds the object and returns {@code true} if it was not already in the set.
+     */
+    public boolean add(final Object object) {
+        final int slot = slotOf(object);
+        if (slot < 0)
+            return this.objects.add(object);
+        if (null == this.fingerprints[slot])
+            this.fingerprints[slot] = new LongSet();
+        return this.fingerprints[slot].add(valueOf(object));
+    }
+
+    public int size() {
+        int size = this.objects.size();
+        for (final LongSet set : this.fingerprints) {
+            if (null != set) size = size + set.size;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size();
+    }
+
+    public void clear() {
+        this.objects.clear();
+        for (int i = 0; i < SLOTS; i++) {
+            this.fingerprints[i] = null;
+        }
+    }
+
+    /**
+     * Passes every member of the set to the consumer as an entry that can be written with Gryo and given back to
+     * {@link #addEntry(Object)}. A fingerprint is passed as a {@code long[]} of its slot and value.
+     */
+    public void forEachEntry(final Consumer<Object> consumer) {
+        this.objects.forEach(consumer);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            final LongSet set = this.fingerprints[slot];
+            if (null == set) continue;
+            if (set.containsZero)
+                consumer.accept(new long[]{slot, 0L});
+            for (final long value : set.keys) {
+                if (0L != value)
+                    consumer.accept(new long[]{slot, value});
+            }
+        }
+    }
+
+    /**
+     * Adds an entry that was passed out by {@link #forEachEntry(Consumer)}.
+     */
+    public void addEntry(final Object entry) {
+        if (isFingerprint(entry)) {
+            final int slot = (int) ((long[]) entry)[0];
+            if (null == this.fingerprints[slot])
+                this.fingerprints[slot] = new LongSet();
+            this.fingerprints[slot].add(((long[]) entry)[1]);
+        } else
+            this.objects.add(entry);
+    }
+
+    /**
+     * Gets a hash of the object that is equal to the {@link #entryHash(Object)} of the entry it is held as.
+     */
+    public static int hash(final Object object) {
+        final int slot = slotOf(object);
+        return slot < 0 ? Objects.hashCode(object) : hash(slot, valueOf(object));
+    }
+
+    /**
+     * Gets a hash of an entry passed out by {@link #forEachEntry(Consumer)} that is equal to the {@link #hash(Object)}
+     * of the objects it stands for.
+     */
+    public static int entryHash(final Object entry) {
+        return isFingerprint(entry) ? hash((int) ((long[]) entry)[0], ((long[]) entry)[1]) : Objects.hashCode(entry);
+    }
+
+    private static int hash(final int slot, final long value) {
+        return 31 * Long.hashCode(value) + slot;
+    }
+
+    private static boolean isFingerprint(final Object entry) {
+        return entry instanceof long[] && 2 == ((long[]) entry).length;
+    }
+
+    private static int slotOf(final Object object) {
+        if (object instanceof Element) {
+            final int kind = object instanceof Vertex ? VERTEX :
+                    object instanceof Edge ? EDGE :
+                            object instanceof VertexProperty ? VERTEX_PROPERTY : -1;
+            return kind < 0 ? -1 : slotOf(kind, ((Element) object).id());
+        }
+        return slotOf(NUMBER, object);
+    }
+
+    private static int slotOf(final int kind, final Object value) {
+        return value instanceof Long ? kind : value instanceof Integer ? kind + 1 : -1;
+    }
+
+    private static long valueOf(final Object object) {
+        return ((Number) (object instanceof Element ? ((Element) object).id() : object)).longValue();
+    }
+
+    /**
+     * An open addressing set of {@code long} values where an empty slot holds zero and zero itself is tracked apart.
+     */
+    private static final class LongSet {
+
+        private long[] keys = new long[16];
+        private int size = 0;
+        private boolean containsZero = false;
+
+        private boolean add(final long key) {
+            if (0L == key) {
+                if (this.containsZero) return false;
+                this.containsZero = true;
+                this.size++;
+                return true;
+            }
+            final int mask = this.keys.length - 1;
+            for (int i = indexFor(key, mask); ; i = (i + 1) & mask) {
+                final long existing = this.keys[i];
+                if (0L == existing) {
+                    this.keys[i] = key;
+                    this.size++;
+                    // keep the table at most half full
+                    if (this.size << 1 > this.keys.length)
+                        this.rehash();
+                    return true;
+                } else if (existing == key)
+                    return false;
+            }
+        }
+
+        private void rehash() {
+            final long[] old = this.keys;
+            this.keys = new long[old.length << 1];
+            final int mask = this.keys.length - 1;
+            for (final long key : old) {
+                if (0L == key) continue;
+                int i = indexFor(key, mask);
+                while (0L != this.keys[i]) {
+                    i = (i + 1) & mask;
+                }
+                this.keys[i] = key;
+            }
+        }
+
+        private static int indexFor(final long key, final int mask) {
+            final long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
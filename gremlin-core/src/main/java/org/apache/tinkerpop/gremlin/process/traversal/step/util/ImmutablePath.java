@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -31,6 +32,10 @@ import java.util.List;
 import java.util.Set;
 
 /**
+ * A {@link Path} of immutable sections where each section refers to the one before it, so that every traverser split
+ * from another shares the sections of their common history. Each section knows its position in the path so that
+ * {@link #size()} takes constant time and positional lookups only walk the sections after the one sought.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class ImmutablePath implements Path, Serializable, Cloneable {
@@ -40,6 +45,7 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
     private ImmutablePath previousPath;
     private Object currentObject;
     private Set<String> currentLabels;
+    private int size;
 
     public static Path make() {
         return TAIL_PATH;
@@ -55,6 +61,7 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         this.previousPath = previousPath;
         this.currentObject = currentObject;
         this.currentLabels = currentLabels;
+        this.size = null == previousPath ? 0 : previousPath.size + 1;
     }
 
     private final boolean isTail() {
@@ -68,13 +75,7 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public int size() {
-        int counter = 0;
-        ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail()) return counter;
-            counter++;
-            currentPath = currentPath.previousPath;
-        }
+        return this.size;
     }
 
     @Override
@@ -99,40 +100,56 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         }
     }
 
+    /**
+     * Removes the labels from the path along with every section that is left without a label. Only the sections
+     * from the oldest one that changes onward are rebuilt, while the sections before it are shared with this path,
+     * so retracting the labels of the newest steps of an already retracted path copies only those steps.
+     */
     @Override
     public Path retract(final Set<String> labels) {
         if (labels.isEmpty())
             return this;
 
-        // get all the immutable path sections
-        final List<ImmutablePath> immutablePaths = new ArrayList<>();
+        // find the oldest section that is dropped or loses a label
+        ImmutablePath oldest = null;
+        for (ImmutablePath currentPath = this; !currentPath.isTail(); currentPath = currentPath.previousPath) {
+            if (currentPath.currentLabels.isEmpty() || !Collections.disjoint(currentPath.currentLabels, labels))
+                oldest = currentPath;
+        }
+        if (null == oldest)
+            return this;
+
+        final ImmutablePath[] sections = new ImmutablePath[this.size - oldest.size + 1];
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            immutablePaths.add(0, currentPath);
+        for (int i = sections.length - 1; i >= 0; i--) {
+            sections[i] = currentPath;
             currentPath = currentPath.previousPath;
         }
-        // build a new immutable path using the respective path sections that are not to be retracted
-        Path newPath = TAIL_PATH;
-        for (final ImmutablePath immutablePath : immutablePaths) {
-            final Set<String> temp = new LinkedHashSet<>(immutablePath.currentLabels);
-            temp.removeAll(labels);
-            if (!temp.isEmpty())
-                newPath = newPath.extend(immutablePath.currentObject, temp);
+        // rebuild the changed sections on top of the shared ones using the respective labels that are not retracted
+        ImmutablePath newPath = oldest.previousPath;
+        for (final ImmutablePath section : sections) {
+            if (Collections.disjoint(section.currentLabels, labels)) {
+                if (!section.currentLabels.isEmpty())
+                    newPath = new ImmutablePath(newPath, section.currentObject, section.currentLabels);
+            } else {
+                final Set<String> temp = new LinkedHashSet<>(section.currentLabels);
+                temp.removeAll(labels);
+                if (!temp.isEmpty())
+                    newPath = new ImmutablePath(newPath, section.currentObject, temp);
+            }
         }
         return newPath;
     }
 
     @Override
     public <A> A get(final int index) {
-        int counter = this.size();
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
         ImmutablePath currentPath = this;
-        while (true) {
-            if (index == --counter)
-                return (A) currentPath.currentObject;
+        for (int i = this.size - 1; i > index; i--) {
             currentPath = currentPath.previousPath;
         }
+        return (A) currentPath.currentObject;
     }
 
     @Override
@@ -147,9 +164,10 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
                 if (currentPath.isTail())
                     break;
                 else if (currentPath.currentLabels.contains(label))
-                    list.add(0, currentPath.currentObject);
+                    list.add(currentPath.currentObject);
                 currentPath = currentPath.previousPath;
             }
+            Collections.reverse(list);
             return (A) list;
         } else if (Pop.last == pop) {
             ImmutablePath currentPath = this;
@@ -192,28 +210,24 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public List<Object> objects() {
-        final List<Object> objects = new ArrayList<>();
+        final Object[] objects = new Object[this.size];
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            objects.add(0, currentPath.currentObject);
+        for (int i = objects.length - 1; i >= 0; i--) {
+            objects[i] = currentPath.currentObject;
             currentPath = currentPath.previousPath;
         }
-        return Collections.unmodifiableList(objects);
+        return Collections.unmodifiableList(Arrays.asList(objects));
     }
 
     @Override
     public List<Set<String>> labels() {
-        final List<Set<String>> labels = new ArrayList<>();
+        final Set<String>[] labels = new Set[this.size];
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            labels.add(0, currentPath.currentLabels);
+        for (int i = labels.length - 1; i >= 0; i--) {
+            labels[i] = currentPath.currentLabels;
             currentPath = currentPath.previousPath;
         }
-        return Collections.unmodifiableList(labels);
+        return Collections.unmodifiableList(Arrays.asList(labels));
     }
 
     @Override
@@ -223,22 +237,19 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public int hashCode() {
-        // hashCode algorithm from AbstractList
-        int[] hashCodes = new int[this.size()];
-        int index = hashCodes.length - 1;
+        // hashCode algorithm from AbstractList, which is 31^n plus the hash of the i-th object times 31^(n-1-i),
+        // summed from the newest object backwards
+        int hashCode = 0;
+        int power = 1;
         ImmutablePath currentPath = this;
         while (true) {
             if (currentPath.isTail())
                 break;
-            hashCodes[index] = currentPath.currentObject.hashCode();
+            hashCode = hashCode + power * currentPath.currentObject.hashCode();
+            power = power * 31;
             currentPath = currentPath.previousPath;
-            index--;
-        }
-        int hashCode = 1;
-        for (final int hash : hashCodes) {
-            hashCode = hashCode * 31 + hash;
         }
-        return hashCode;
+        return power + hashCode;
     }
 
     @Override
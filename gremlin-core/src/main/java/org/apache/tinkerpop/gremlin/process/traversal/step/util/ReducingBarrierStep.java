@@ -53,6 +53,15 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
 
     public abstract E projectTraverser(final Traverser.Admin<S> traverser);
 
+    /**
+     * Reduces a traverser into the seed and returns the new seed. The provided default implementation applies the
+     * reducing operator to the seed and the projection of the traverser. Steps may override it to accumulate more
+     * cheaply, so long as what they accumulate is in the seed once {@link #processAllStarts()} returns.
+     */
+    protected E reduce(final E seed, final Traverser.Admin<S> traverser) {
+        return this.reducingBiOperator.apply(seed, this.projectTraverser(traverser));
+    }
+
     public void setReducingBiOperator(final BinaryOperator<E> reducingBiOperator) {
         this.reducingBiOperator = reducingBiOperator;
     }
@@ -80,7 +89,7 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
         this.hasProcessedOnce = true;
         if (this.seed == null) this.seed = this.seedSupplier.get();
         while (this.starts.hasNext())
-            this.seed = this.reducingBiOperator.apply(this.seed, this.projectTraverser(this.starts.next()));
+            this.seed = this.reduce(this.seed, this.starts.next());
     }
 
     @Override
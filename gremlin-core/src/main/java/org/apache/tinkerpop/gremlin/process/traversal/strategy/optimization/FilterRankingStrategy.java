@@ -37,7 +37,11 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicate
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.SelectivityEstimator;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.GraphStatistics;
 
 import java.util.Collections;
 import java.util.List;
@@ -46,7 +50,9 @@ import java.util.Set;
 /**
  * FilterRankingStrategy reorders filter- and order-steps according to their rank. It will also do its best to push
  * step labels as far "right" as possible in order to keep traversers as small and bulkable as possible prior to the
- * absolute need for path-labeling.
+ * absolute need for path-labeling. When the {@link Graph} keeps {@link GraphStatistics}, adjacent {@link HasStep}
+ * instances of the same rank are further ordered so that the one estimated to let the fewest elements through is
+ * tested first.
  *
  * @author Daniel Kuppitz (http://gremlin.guru)
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -65,6 +71,7 @@ public final class FilterRankingStrategy extends AbstractTraversalStrategy<Trave
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
+        final GraphStatistics statistics = SelectivityEstimator.getStatistics(traversal).orElse(null);
         boolean modified = true;
         while (modified) {
             modified = false;
@@ -79,7 +86,7 @@ public final class FilterRankingStrategy extends AbstractTraversalStrategy<Trave
                             TraversalHelper.copyLabels(step, nextStep, true);
                             modified = true;
                         }
-                        if (getStepRank(step) > nextRank) {
+                        if (getStepRank(step) > nextRank || (null != statistics && isMoreSelective(statistics, nextStep, step))) {
                             traversal.removeStep(nextStep);
                             traversal.addStep(i, nextStep);
                             modified = true;
@@ -130,6 +137,20 @@ public final class FilterRankingStrategy extends AbstractTraversalStrategy<Trave
             return rank;
     }
 
+    /**
+     * Determines if the {@link HasStep} is estimated to let fewer elements through than the {@link HasStep} in front
+     * of it. Only a strictly smaller estimate counts so that two equally selective steps are never swapped back and
+     * forth.
+     */
+    private static boolean isMoreSelective(final GraphStatistics statistics, final Step<?, ?> step, final Step<?, ?> previousStep) {
+        if (!(step instanceof HasStep) || !(previousStep instanceof HasStep))
+            return false;
+        final Class<? extends Element> elementClass = SelectivityEstimator.getElementClass(previousStep).orElse(null);
+        return null != elementClass &&
+                SelectivityEstimator.estimate(statistics, elementClass, (HasStep<?>) step) <
+                        SelectivityEstimator.estimate(statistics, elementClass, (HasStep<?>) previousStep);
+    }
+
     private static int getMaxStepRank(final TraversalParent parent, final int startRank) {
         int maxStepRank = startRank;
         // no filter steps are global parents (yet)
@@ -41,13 +41,17 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.SelectivityEstimator;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.T;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -103,11 +107,34 @@ public final class InlineFilterStrategy extends AbstractTraversalStrategy<Traver
                 }
             }
         }
+        SelectivityEstimator.getStatistics(traversal).ifPresent(statistics -> {
+            for (final HasStep<?> step : TraversalHelper.getStepsOfClass(HasStep.class, traversal)) {
+                InlineFilterStrategy.sortHasContainers(step, statistics);
+            }
+        });
     }
 
     ////////////////////////////
     ///////////////////////////
 
+    /**
+     * Orders the {@link HasContainer} instances of the step, that the inlining above may have merged together, so
+     * that the ones estimated to let the fewest elements through are tested first.
+     */
+    private static void sortHasContainers(final HasStep<?> step, final GraphStatistics statistics) {
+        final Class<? extends Element> elementClass = SelectivityEstimator.getElementClass(step).orElse(null);
+        if (null == elementClass || step.getHasContainers().size() < 2)
+            return;
+        final List<HasContainer> hasContainers = new ArrayList<>(step.getHasContainers());
+        hasContainers.sort(Comparator.comparingDouble(hasContainer -> SelectivityEstimator.estimate(statistics, elementClass, hasContainer)));
+        for (final HasContainer hasContainer : hasContainers) {
+            step.removeHasContainer(hasContainer);
+        }
+        for (final HasContainer hasContainer : hasContainers) {
+            step.addHasContainer(hasContainer);
+        }
+    }
+
     private static final boolean processHasStep(final HasStep<?> step, final Traversal.Admin<?, ?> traversal) {
         if (step.getPreviousStep() instanceof HasStep) {
             final HasStep<?> previousStep = (HasStep<?>) step.getPreviousStep();
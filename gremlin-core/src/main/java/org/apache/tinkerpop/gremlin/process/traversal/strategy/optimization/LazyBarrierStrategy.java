@@ -24,14 +24,24 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.IsStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NoneStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.LabelStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyKeyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyValueStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
@@ -59,6 +69,22 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
 
     private static final int BIG_START_SIZE = 5;
     protected static final int MAX_BARRIER_SIZE = 2500;
+    protected static final int BATCH_SIZE = 64;
+
+    /**
+     * Steps that are free of side-effects and whose batch processing is known to match their one-at-a-time
+     * processing. Exact classes are used so that a provider extension of one of them is never batched by accident.
+     */
+    private static final Set<Class<? extends Step>> BATCHING_STEPS = new HashSet<>(Arrays.asList(
+            VertexStep.class,
+            EdgeVertexStep.class,
+            PropertiesStep.class,
+            HasStep.class,
+            IsStep.class,
+            IdStep.class,
+            LabelStep.class,
+            PropertyKeyStep.class,
+            PropertyValueStep.class));
 
     private LazyBarrierStrategy() {
     }
@@ -100,6 +126,18 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                 labeledPath = true;
 
         }
+
+        // a barrier drains the steps before it anyway, so where those steps have no side-effects they can read ahead
+        // and move traversers in batches without it being observable
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof NoOpBarrierStep || step instanceof ReducingBarrierStep || step instanceof CollectingBarrierStep) {
+                Step<?, ?> previous = step.getPreviousStep();
+                while (BATCHING_STEPS.contains(previous.getClass())) {
+                    ((AbstractStep) previous).setBatchSize(BATCH_SIZE);
+                    previous = previous.getPreviousStep();
+                }
+            }
+        }
     }
 
 
@@ -31,17 +31,21 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectOneStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.SelectivityEstimator;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
  * MatchWhereStrategy will fold any post-{@code where()} step that maintains a traversal constraint into
  * {@code match()}. {@link MatchStep} is intelligent with traversal constraint applications and thus, can more
- * efficiently use the constraint of {@link WhereTraversalStep} or {@link WherePredicateStep}.
+ * efficiently use the constraint of {@link WhereTraversalStep} or {@link WherePredicateStep}. When the graph keeps
+ * {@link org.apache.tinkerpop.gremlin.structure.GraphStatistics}, the patterns are also ordered so that the one
+ * estimated to yield the fewest objects is tried first.
  * <p/>
  * <p/>
  *
@@ -89,6 +93,9 @@ public final class MatchPredicateStrategy extends AbstractTraversalStrategy<Trav
                 } else
                     break;
             }
+            // seed the match algorithm with the patterns estimated to yield the fewest objects first
+            SelectivityEstimator.getStatistics(traversal).ifPresent(statistics ->
+                    matchStep.sortGlobalChildren(Comparator.comparingDouble(pattern -> SelectivityEstimator.estimate(statistics, pattern))));
         });
     }
 
@@ -114,6 +114,23 @@ public class B_O_S_SE_SL_Traverser<T> extends B_O_Traverser<T> {
         return clone;
     }
 
+    @Override
+    void copyTo(final B_O_Traverser<T> copy) {
+        super.copyTo(copy);
+        final B_O_S_SE_SL_Traverser<T> traverser = (B_O_S_SE_SL_Traverser<T>) copy;
+        traverser.sack = this.sack;
+        traverser.loops = this.loops;
+        traverser.loopName = this.loopName;
+        traverser.sideEffects = this.sideEffects;
+    }
+
+    @Override
+    public void release() {
+        if (null != this.pool)
+            this.sack = null;
+        super.release();
+    }
+
     @Override
     public void merge(final Traverser.Admin<?> other) {
         super.merge(other);
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserPool;
 
 import java.util.EnumSet;
 import java.util.Set;
@@ -40,12 +41,21 @@ public final class B_O_S_SE_SL_TraverserGenerator implements TraverserGenerator
             TraverserRequirement.SINGLE_LOOP);
 
 
+    private final TraverserPool pool;
+
     private B_O_S_SE_SL_TraverserGenerator() {
+        this(null);
+    }
+
+    private B_O_S_SE_SL_TraverserGenerator(final TraverserPool pool) {
+        this.pool = pool;
     }
 
     @Override
     public <S> Traverser.Admin<S> generate(final S start, final Step<S, ?> startStep, final long initialBulk) {
-        return new B_O_S_SE_SL_Traverser<>(start, startStep, initialBulk);
+        final B_O_S_SE_SL_Traverser<S> traverser = new B_O_S_SE_SL_Traverser<>(start, startStep, initialBulk);
+        traverser.pool = this.pool;
+        return traverser;
     }
 
     @Override
@@ -56,4 +66,11 @@ public final class B_O_S_SE_SL_TraverserGenerator implements TraverserGenerator
     public static B_O_S_SE_SL_TraverserGenerator instance() {
         return INSTANCE;
     }
+
+    /**
+     * Gets a generator whose traversers reuse the traversers released to the pool when they split.
+     */
+    public static B_O_S_SE_SL_TraverserGenerator pooled(final TraverserPool pool) {
+        return new B_O_S_SE_SL_TraverserGenerator(pool);
+    }
 }
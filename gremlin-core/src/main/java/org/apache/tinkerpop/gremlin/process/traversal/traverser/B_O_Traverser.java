@@ -19,6 +19,8 @@
 package org.apache.tinkerpop.gremlin.process.traversal.traverser;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.AbstractTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserPool;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -27,6 +29,7 @@ public class B_O_Traverser<T> extends O_Traverser<T> {
 
     protected long bulk = 1l;
     protected String future = HALT;
+    protected transient TraverserPool pool = null;
 
     protected B_O_Traverser() {
     }
@@ -52,6 +55,42 @@ public class B_O_Traverser<T> extends O_Traverser<T> {
         this.bulk = this.bulk + other.bulk();
     }
 
+    @Override
+    protected AbstractTraverser<T> copy() {
+        if (null != this.pool) {
+            final Traverser.Admin<?> recycled = this.pool.take();
+            if (null != recycled && recycled.getClass() == this.getClass()) {
+                final B_O_Traverser<T> copy = (B_O_Traverser<T>) recycled;
+                this.copyTo(copy);
+                return copy;
+            }
+        }
+        return super.copy();
+    }
+
+    /**
+     * Sets the fields of a recycled traverser to those of this traverser, just as a clone would have them.
+     */
+    void copyTo(final B_O_Traverser<T> copy) {
+        copy.t = this.t;
+        copy.tags = this.tags;
+        copy.bulk = this.bulk;
+        copy.future = this.future;
+        copy.pool = this.pool;
+    }
+
+    @Override
+    public void release() {
+        // the pool is cleared first so that a traverser released twice is only pooled once
+        final TraverserPool pool = this.pool;
+        if (null != pool) {
+            this.pool = null;
+            this.t = null;
+            this.tags = null;
+            pool.release(this);
+        }
+    }
+
     @Override
     public String getStepId() {
         return this.future;
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.process.traversal.traverser;
 
 import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserPool;
 
 import java.util.Set;
 
@@ -29,4 +30,12 @@ public interface TraverserGeneratorFactory {
 
     public TraverserGenerator getTraverserGenerator(final Set<TraverserRequirement> requirements);
 
+    /**
+     * Gets a generator for the requirements whose traversers reuse the traversers released to the pool. A factory
+     * whose traversers cannot be reused returns the same generator as {@link #getTraverserGenerator(Set)}.
+     */
+    public default TraverserGenerator getTraverserGenerator(final Set<TraverserRequirement> requirements, final TraverserPool pool) {
+        return this.getTraverserGenerator(requirements);
+    }
+
 }
@@ -54,17 +54,21 @@ public abstract class AbstractTraverser<T> implements Traverser<T>, Traverser.Ad
 
     @Override
     public <R> Admin<R> split(final R r, final Step<T, R> step) {
-        try {
-            final AbstractTraverser<R> clone = (AbstractTraverser<R>) super.clone();
-            clone.t = r;
-            return clone;
-        } catch (final CloneNotSupportedException e) {
-            throw new IllegalStateException(e.getMessage(), e);
-        }
+        final AbstractTraverser<R> clone = (AbstractTraverser<R>) this.copy();
+        clone.t = r;
+        return clone;
     }
 
     @Override
     public Admin<T> split() {
+        return this.copy();
+    }
+
+    /**
+     * Creates the shallow copy of this traverser that a split starts from, which is a clone unless the traverser
+     * reuses released traversers.
+     */
+    protected AbstractTraverser<T> copy() {
         try {
             return (AbstractTraverser<T>) super.clone();
         } catch (final CloneNotSupportedException e) {
@@ -96,4 +96,15 @@ public class DefaultTraverserGeneratorFactory implements TraverserGeneratorFacto
 
         throw new IllegalStateException("The provided traverser generator factory does not support the requirements of the traversal: " + this.getClass().getCanonicalName() + requirements);
     }
+
+    @Override
+    public TraverserGenerator getTraverserGenerator(final Set<TraverserRequirement> requirements, final TraverserPool pool) {
+        final TraverserGenerator generator = this.getTraverserGenerator(requirements);
+        if (generator == B_O_TraverserGenerator.instance())
+            return B_O_TraverserGenerator.pooled(pool);
+        else if (generator == B_O_S_SE_SL_TraverserGenerator.instance())
+            return B_O_S_SE_SL_TraverserGenerator.pooled(pool);
+        else
+            return generator;
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+/**
+ * Holds the traversers of a traversal that were released with {@link Traverser.Admin#release()} so that they can be
+ * reused when other traversers split rather than allocating new ones. A pool is created for a traversal when it is
+ * given a {@link #TRAVERSER_POOL_SIZE} greater than zero with the {@link OptionsStrategy}, as in
+ * {@code g.with("traverserPoolSize", 1024)}, and the traverser generator of the traversal supports it. A traversal
+ * is only ever iterated by one thread at a time, so the pool takes no monitor, and it only gives and takes traversers
+ * on the thread that created it so that traversers handed to other threads are never recycled from under them.
+ * Traversers are never pooled on a graph computer, nor in traversals with a {@link LambdaHolder} step, as the lambda
+ * of such a step is handed the traverser itself and may keep it after a later step releases it.
+ *
+ * @author agent (agent@local)
+ */
+public final class TraverserPool {
+
+    /**
+     * The option naming the maximum number of released traversers a traversal holds for reuse.
+     */
+    public static final String TRAVERSER_POOL_SIZE = "traverserPoolSize";
+
+    private final Traverser.Admin<?>[] traversers;
+    private final Thread owner = Thread.currentThread();
+    private int size = 0;
+
+    public TraverserPool(final int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("The capacity of a traverser pool must be greater than zero: " + capacity);
+        this.traversers = new Traverser.Admin[capacity];
+    }
+
+    /**
+     * Gets the number of released traversers the traversal may hold for reuse, which is zero when no pool is
+     * configured, the traversal runs on a graph computer or it has a lambda step that could keep a traverser.
+     */
+    public static int getCapacity(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal) ||
+                TraversalHelper.hasStepOfAssignableClassRecursively(LambdaHolder.class, TraversalHelper.getRootTraversal(traversal)))
+            return 0;
+        final Object capacity = TraversalHelper.getRootTraversal(traversal).getStrategies().getStrategy(OptionsStrategy.class)
+                .map(strategy -> strategy.getOptions().get(TRAVERSER_POOL_SIZE))
+                .orElse(null);
+        if (null == capacity)
+            return 0;
+        final int value = capacity instanceof Number ? ((Number) capacity).intValue() : Integer.parseInt(capacity.toString());
+        if (value < 0)
+            throw new IllegalArgumentException(String.format("The %s option must not be negative: %s", TRAVERSER_POOL_SIZE, capacity));
+        return value;
+    }
+
+    /**
+     * Takes a released traverser from the pool, or returns {@code null} if there is none to reuse.
+     */
+    public Traverser.Admin<?> take() {
+        if (0 == this.size || Thread.currentThread() != this.owner)
+            return null;
+        final Traverser.Admin<?> traverser = this.traversers[--this.size];
+        this.traversers[this.size] = null;
+        return traverser;
+    }
+
+    /**
+     * Returns a traverser that is no longer referenced to the pool, dropping it if the pool is full.
+     */
+    public void release(final Traverser.Admin<?> traverser) {
+        if (this.size < this.traversers.length && Thread.currentThread() == this.owner)
+            this.traversers[this.size++] = traverser;
+    }
+
+    public int size() {
+        return this.size;
+    }
+}
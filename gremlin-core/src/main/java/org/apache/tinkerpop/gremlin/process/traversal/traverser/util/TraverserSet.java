@@ -40,17 +40,25 @@ import java.util.Spliterator;
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map;
 
     public TraverserSet() {
-
+        this(Collections.synchronizedMap(new LinkedHashMap<>()));
     }
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
+        this();
         if (traverser != null)
             this.map.put(traverser, traverser);
     }
 
+    /**
+     * Allows an extension that stores its traversers by other means to avoid allocating the default map.
+     */
+    protected TraverserSet(final Map<Traverser.Admin<S>, Traverser.Admin<S>> map) {
+        this.map = map;
+    }
+
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
         return this.map.values().iterator();
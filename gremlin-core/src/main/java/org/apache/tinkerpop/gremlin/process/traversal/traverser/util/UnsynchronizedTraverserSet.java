@@ -0,0 +1,372 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * A {@link TraverserSet} for use by a single thread. Traversers are kept in insertion order in an array that is
+ * consumed from its head like a queue and are found for merging through an open addressing table of positions into
+ * that array, so adding and removing a traverser neither takes a monitor nor allocates an entry. The steps of a
+ * traversal use it for the traversers they buffer, as a traversal is only ever iterated by one thread at a time.
+ * It should not be used for a {@link TraverserSet} that is shared, such as one that is handed to the memory of a
+ * {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer}.
+ *
+ * @author agent (agent@local)
+ */
+public final class UnsynchronizedTraverserSet<S> extends TraverserSet<S> {
+
+    private static final int MIN_CAPACITY = 8;
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+
+    // traversers in insertion order where those in [head, tail) that are not null are present
+    private Traverser.Admin<S>[] traversers;
+    private int[] hashes;
+    // positions into the traversers plus one, where the table is kept at twice the length of the traversers so that
+    // its load, including deleted slots, never exceeds one half
+    private int[] table;
+    private int head = 0;
+    private int tail = 0;
+    private int size = 0;
+
+    public UnsynchronizedTraverserSet() {
+        super(Collections.emptyMap());
+        this.allocate(MIN_CAPACITY);
+    }
+
+    public UnsynchronizedTraverserSet(final Traverser.Admin<S> traverser) {
+        this();
+        if (traverser != null)
+            this.add(traverser);
+    }
+
+    @Override
+    public Iterator<Traverser.Admin<S>> iterator() {
+        return new TraverserIterator();
+    }
+
+    @Override
+    public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
+        final int index = this.indexOf(traverser);
+        return index < 0 ? null : this.traversers[index];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long bulkSize() {
+        long bulk = 0L;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                bulk = bulk + this.traversers[i].bulk();
+        }
+        return bulk;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    @Override
+    public boolean contains(final Object traverser) {
+        return this.indexOf(traverser) >= 0;
+    }
+
+    @Override
+    public boolean add(final Traverser.Admin<S> traverser) {
+        final int hash = traverser.hashCode();
+        final int mask = this.table.length - 1;
+        int free = -1;
+        for (int slot = slotFor(hash, mask); ; slot = (slot + 1) & mask) {
+            final int position = this.table[slot];
+            if (EMPTY == position) {
+                if (free < 0) free = slot;
+                break;
+            } else if (DELETED == position) {
+                if (free < 0) free = slot;
+            } else if (this.hashes[position - 1] == hash && this.traversers[position - 1].equals(traverser)) {
+                this.traversers[position - 1].merge(traverser);
+                return false;
+            }
+        }
+
+        if (this.tail == this.traversers.length) {
+            this.resize();
+            this.insert(traverser, hash);
+        } else {
+            this.traversers[this.tail] = traverser;
+            this.hashes[this.tail] = hash;
+            this.table[free] = ++this.tail;
+            this.size++;
+        }
+        return true;
+    }
+
+    @Override
+    public Traverser.Admin<S> remove() {  // pop, exception if empty
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        while (null == this.traversers[this.head]) {
+            this.head++;
+        }
+        final Traverser.Admin<S> traverser = this.traversers[this.head];
+        this.removeAt(this.head);
+        return traverser;
+    }
+
+    @Override
+    public Traverser.Admin<S> poll() {  // pop, null if empty
+        return 0 == this.size ? null : this.remove();
+    }
+
+    @Override
+    public Traverser.Admin<S> element() { // peek, exception if empty
+        if (0 == this.size)
+            throw new NoSuchElementException();
+        return this.peek();
+    }
+
+    @Override
+    public Traverser.Admin<S> peek() { // peek, null if empty
+        if (0 == this.size)
+            return null;
+        while (null == this.traversers[this.head]) {
+            this.head++;
+        }
+        return this.traversers[this.head];
+    }
+
+    @Override
+    public boolean remove(final Object traverser) {
+        final int index = this.indexOf(traverser);
+        if (index < 0)
+            return false;
+        this.removeAt(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (this.traversers.length > MIN_CAPACITY)
+            this.allocate(MIN_CAPACITY);
+        else {
+            Arrays.fill(this.traversers, null);
+            Arrays.fill(this.table, EMPTY);
+        }
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public Spliterator<Traverser.Admin<S>> spliterator() {
+        return Spliterators.spliterator(this.iterator(), this.size, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i]) {
+                if (builder.length() > 1) builder.append(", ");
+                builder.append(this.traversers[i]);
+            }
+        }
+        return builder.append("]").toString();
+    }
+
+    @Override
+    public void sort(final Comparator<Traverser<S>> comparator) {
+        final List<Traverser.Admin<S>> list = this.drain();
+        Collections.sort(list, comparator);
+        list.forEach(traverser -> this.insert(traverser, traverser.hashCode()));
+    }
+
+    @Override
+    public void shuffle() {
+        final List<Traverser.Admin<S>> list = this.drain();
+        Collections.shuffle(list);
+        list.forEach(traverser -> this.insert(traverser, traverser.hashCode()));
+    }
+
+    /**
+     * Removes every traverser and sizes the set to hold them again without resizing.
+     */
+    private List<Traverser.Admin<S>> drain() {
+        final List<Traverser.Admin<S>> list = new ArrayList<>(this.size);
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                list.add(this.traversers[i]);
+        }
+        this.allocate(capacityFor(list.size()));
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+        return list;
+    }
+
+    private int indexOf(final Object traverser) {
+        if (null == traverser)
+            return -1;
+        final int hash = traverser.hashCode();
+        final int mask = this.table.length - 1;
+        for (int slot = slotFor(hash, mask); ; slot = (slot + 1) & mask) {
+            final int position = this.table[slot];
+            if (EMPTY == position)
+                return -1;
+            else if (DELETED != position && this.hashes[position - 1] == hash && this.traversers[position - 1].equals(traverser))
+                return position - 1;
+        }
+    }
+
+    private void removeAt(final int index) {
+        final int mask = this.table.length - 1;
+        for (int slot = slotFor(this.hashes[index], mask); ; slot = (slot + 1) & mask) {
+            if (this.table[slot] == index + 1) {
+                this.table[slot] = DELETED;
+                break;
+            }
+        }
+        this.traversers[index] = null;
+        this.size--;
+        if (index == this.head) this.head++;
+    }
+
+    /**
+     * Appends a traverser known to be absent from the set and known to fit in it.
+     */
+    private void insert(final Traverser.Admin<S> traverser, final int hash) {
+        final int mask = this.table.length - 1;
+        int slot = slotFor(hash, mask);
+        while (EMPTY != this.table[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        this.traversers[this.tail] = traverser;
+        this.hashes[this.tail] = hash;
+        this.table[slot] = ++this.tail;
+        this.size++;
+    }
+
+    /**
+     * Makes room past the tail by compacting the present traversers to the front of arrays sized for them, which
+     * also discards the deleted slots of the table.
+     */
+    private void resize() {
+        final Traverser.Admin<S>[] oldTraversers = this.traversers;
+        final int[] oldHashes = this.hashes;
+        final int oldHead = this.head;
+        final int oldTail = this.tail;
+
+        final int capacity = capacityFor(this.size + 1);
+        if (capacity == oldTraversers.length) {
+            // a set that is drained as fast as it is filled keeps reusing its arrays
+            int present = 0;
+            for (int i = oldHead; i < oldTail; i++) {
+                if (null != oldTraversers[i]) {
+                    oldTraversers[present] = oldTraversers[i];
+                    oldHashes[present] = oldHashes[i];
+                    present++;
+                }
+            }
+            Arrays.fill(oldTraversers, present, oldTail, null);
+            Arrays.fill(this.table, EMPTY);
+            this.head = 0;
+            this.tail = 0;
+            this.size = 0;
+            for (int i = 0; i < present; i++) {
+                this.insert(oldTraversers[i], oldHashes[i]);
+            }
+        } else {
+            this.allocate(capacity);
+            this.head = 0;
+            this.tail = 0;
+            this.size = 0;
+            for (int i = oldHead; i < oldTail; i++) {
+                if (null != oldTraversers[i])
+                    this.insert(oldTraversers[i], oldHashes[i]);
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        this.traversers = new Traverser.Admin[capacity];
+        this.hashes = new int[capacity];
+        this.table = new int[capacity << 1];
+    }
+
+    private static int capacityFor(final int size) {
+        // leave as much room again as is used so that a compaction is paid for by the appends that follow it
+        int capacity = MIN_CAPACITY;
+        while (capacity < size << 1) {
+            capacity = capacity << 1;
+        }
+        return capacity;
+    }
+
+    private static int slotFor(final int hash, final int mask) {
+        final int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private final class TraverserIterator implements Iterator<Traverser.Admin<S>> {
+
+        private int next = head;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            while (this.next < tail && null == traversers[this.next]) {
+                this.next++;
+            }
+            return this.next < tail;
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            this.last = this.next++;
+            return traversers[this.last];
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0 || null == traversers[this.last])
+                throw new IllegalStateException();
+            removeAt(this.last);
+            this.last = -1;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.DefaultTraverserGeneratorFactory;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.EmptyTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserPool;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
@@ -109,10 +110,15 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
 
     @Override
     public TraverserGenerator getTraverserGenerator() {
-        if (null == this.generator)
-            this.generator = (this.parent instanceof EmptyStep) ?
-                    DefaultTraverserGeneratorFactory.instance().getTraverserGenerator(this.getTraverserRequirements()) :
-                    TraversalHelper.getRootTraversal(this).getTraverserGenerator();
+        if (null == this.generator) {
+            if (this.parent instanceof EmptyStep) {
+                final int poolSize = TraverserPool.getCapacity(this);
+                this.generator = poolSize > 0 ?
+                        DefaultTraverserGeneratorFactory.instance().getTraverserGenerator(this.getTraverserRequirements(), new TraverserPool(poolSize)) :
+                        DefaultTraverserGeneratorFactory.instance().getTraverserGenerator(this.getTraverserRequirements());
+            } else
+                this.generator = TraversalHelper.getRootTraversal(this).getTraverserGenerator();
+        }
         return this.generator;
     }
 
@@ -248,6 +254,8 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
         try {
             final DefaultTraversal<S, E> clone = (DefaultTraversal<S, E>) super.clone();
             clone.lastTraverser = EmptyTraverser.instance();
+            // the generator may hold a traverser pool which is not to be shared with the clone
+            clone.generator = null;
             clone.steps = new ArrayList<>();
             clone.unmodifiableSteps = Collections.unmodifiableList(clone.steps);
             clone.sideEffects = this.sideEffects.clone();
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeOtherVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.GraphStatistics;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * Estimates from the {@link GraphStatistics} of a graph the fraction of elements a filter lets through and the
+ * number of objects a traversal yields per start, for strategies that order filters and patterns so that the ones
+ * most likely to remove a traverser come first.
+ *
+ * @author agent (agent@local)
+ */
+public final class SelectivityEstimator {
+
+    private SelectivityEstimator() {
+    }
+
+    /**
+     * Gets the statistics of the graph the traversal runs against, if it keeps any.
+     */
+    public static Optional<GraphStatistics> getStatistics(final Traversal.Admin<?, ?> traversal) {
+        return TraversalHelper.getRootTraversal(traversal).getGraph().flatMap(Graph::statistics);
+    }
+
+    /**
+     * Gets the class of the elements that enter the step, which is known when the filters before it follow a step
+     * that starts from the graph or walks its adjacency.
+     */
+    public static Optional<Class<? extends Element>> getElementClass(final Step<?, ?> step) {
+        Step<?, ?> previousStep = step.getPreviousStep();
+        while (previousStep instanceof FilterStep) {
+            previousStep = previousStep.getPreviousStep();
+        }
+        if (previousStep instanceof GraphStep)
+            return Optional.of(((GraphStep) previousStep).returnsVertex() ? Vertex.class : Edge.class);
+        else if (previousStep instanceof VertexStep)
+            return Optional.of(((VertexStep) previousStep).returnsVertex() ? Vertex.class : Edge.class);
+        else if (previousStep instanceof EdgeVertexStep || previousStep instanceof EdgeOtherVertexStep)
+            return Optional.of(Vertex.class);
+        else
+            return Optional.empty();
+    }
+
+    /**
+     * Estimates the fraction of the elements of the class that pass all the {@link HasContainer} of the step.
+     */
+    public static double estimate(final GraphStatistics statistics, final Class<? extends Element> elementClass, final HasStep<?> step) {
+        double selectivity = 1.0d;
+        for (final HasContainer hasContainer : step.getHasContainers()) {
+            selectivity = selectivity * estimate(statistics, elementClass, hasContainer);
+        }
+        return selectivity;
+    }
+
+    /**
+     * Estimates the fraction of the elements of the class that pass the {@link HasContainer}. Only equality and
+     * {@code within()} are estimated from the values themselves, while any other predicate on a property is taken to
+     * pass every element that has the property.
+     */
+    public static double estimate(final GraphStatistics statistics, final Class<? extends Element> elementClass, final HasContainer hasContainer) {
+        final String key = hasContainer.getKey();
+        final boolean eq = hasContainer.getBiPredicate() == Compare.eq;
+        final boolean within = hasContainer.getBiPredicate() == Contains.within && hasContainer.getValue() instanceof Collection;
+        if (!eq && !within)
+            return key.equals(T.label.getAccessor()) || key.equals(T.id.getAccessor()) ?
+                    1.0d :
+                    statistics.propertySelectivity(elementClass, key, null);
+
+        double selectivity = 0.0d;
+        for (final Object value : eq ? Collections.singleton(hasContainer.getValue()) : (Collection<?>) hasContainer.getValue()) {
+            if (key.equals(T.label.getAccessor()))
+                selectivity = selectivity + (value instanceof String ? statistics.labelSelectivity(elementClass, (String) value) : 0.0d);
+            else if (key.equals(T.id.getAccessor())) {
+                final long count = statistics.count(elementClass);
+                selectivity = selectivity + (0 == count ? 0.0d : 1.0d / count);
+            } else
+                selectivity = selectivity + statistics.propertySelectivity(elementClass, key, value);
+        }
+        return Math.min(1.0d, selectivity);
+    }
+
+    /**
+     * Estimates the number of objects the traversal yields for every vertex it starts from by multiplying the
+     * average degree of the edges it walks with the selectivity of its {@link HasStep} filters, as for the patterns
+     * of a {@link MatchStep}. Steps that are neither are taken to yield one object for every object they are given.
+     */
+    public static double estimate(final GraphStatistics statistics, final Traversal.Admin<?, ?> traversal) {
+        double estimate = 1.0d;
+        Class<? extends Element> elementClass = Vertex.class;
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof HasStep && null != elementClass)
+                estimate = estimate * estimate(statistics, elementClass, (HasStep<?>) step);
+            else if (step instanceof VertexStep) {
+                final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                double degree = 0.0d;
+                if (0 == vertexStep.getEdgeLabels().length)
+                    degree = statistics.averageDegree(null);
+                else {
+                    for (final String edgeLabel : vertexStep.getEdgeLabels()) {
+                        degree = degree + statistics.averageDegree(edgeLabel);
+                    }
+                }
+                estimate = estimate * (vertexStep.getDirection() == Direction.BOTH ? 2.0d * degree : degree);
+                elementClass = vertexStep.returnsVertex() ? Vertex.class : Edge.class;
+            } else if (step instanceof EdgeVertexStep) {
+                if (((EdgeVertexStep) step).getDirection() == Direction.BOTH)
+                    estimate = estimate * 2.0d;
+                elementClass = Vertex.class;
+            } else if (step instanceof EdgeOtherVertexStep)
+                elementClass = Vertex.class;
+            else if (!(step instanceof FilterStep || step instanceof MatchStep.MatchStartStep || step instanceof MatchStep.MatchEndStep))
+                elementClass = null;
+        }
+        return estimate;
+    }
+}
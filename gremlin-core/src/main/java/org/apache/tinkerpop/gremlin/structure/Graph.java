@@ -399,6 +399,14 @@ public interface Graph extends AutoCloseable, Host {
         };
     }
 
+    /**
+     * Gets the {@link GraphStatistics} the underlying {@code Graph} keeps about its elements, which traversal
+     * strategies use to order filters by how selective they are. By default a graph keeps no statistics.
+     */
+    public default Optional<GraphStatistics> statistics() {
+        return Optional.empty();
+    }
+
     /**
      * An interface that represents the capabilities of a {@code Graph} implementation.  By default all methods
      * of features return {@code true} and it is up to implementers to disable feature they don't support.  Users
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure;
+
+/**
+ * Counts of the elements of a {@link Graph} that traversal strategies use to estimate how many elements a filter
+ * lets through, so that the filters most likely to remove an element can be tested first. A {@code Graph} that keeps
+ * statistics exposes them through {@link Graph#statistics()}. The counts are estimates and may lag behind the graph,
+ * so they must only ever be used to choose between equivalent ways of evaluating a traversal.
+ *
+ * @author agent (agent@local)
+ */
+public interface GraphStatistics {
+
+    /**
+     * Gets the number of vertices or edges in the graph.
+     *
+     * @param elementClass either {@link Vertex} or {@link Edge}
+     */
+    public long count(final Class<? extends Element> elementClass);
+
+    /**
+     * Gets the number of vertices or edges in the graph with the label.
+     *
+     * @param elementClass either {@link Vertex} or {@link Edge}
+     */
+    public long count(final Class<? extends Element> elementClass, final String label);
+
+    /**
+     * Gets the number of properties of vertices or edges with the key and value, or with the key and any value if the
+     * value is {@code null}.
+     *
+     * @param elementClass either {@link Vertex} or {@link Edge}
+     */
+    public long count(final Class<? extends Element> elementClass, final String key, final Object value);
+
+    /**
+     * Gets the fraction of the vertices or edges that have the label.
+     */
+    public default double labelSelectivity(final Class<? extends Element> elementClass, final String label) {
+        final long total = this.count(elementClass);
+        return 0 == total ? 0.0d : Math.min(1.0d, (double) this.count(elementClass, label) / (double) total);
+    }
+
+    /**
+     * Gets the fraction of the vertices or edges that have a property with the key and value, or with the key and
+     * any value if the value is {@code null}.
+     */
+    public default double propertySelectivity(final Class<? extends Element> elementClass, final String key, final Object value) {
+        final long total = this.count(elementClass);
+        return 0 == total ? 0.0d : Math.min(1.0d, (double) this.count(elementClass, key, value) / (double) total);
+    }
+
+    /**
+     * Gets the average number of edges with the label, or of any label if the label is {@code null}, that a vertex
+     * has in one direction, which is the same for outgoing and incoming edges.
+     */
+    public default double averageDegree(final String edgeLabel) {
+        final long vertices = this.count(Vertex.class);
+        if (0 == vertices)
+            return 0.0d;
+        return (double) (null == edgeLabel ? this.count(Edge.class) : this.count(Edge.class, edgeLabel)) / (double) vertices;
+    }
+}
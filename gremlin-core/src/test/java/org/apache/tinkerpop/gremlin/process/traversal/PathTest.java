@@ -501,4 +501,47 @@ public class PathTest {
             assertEquals(1, subPath.labels().get(2).size());
         });
     }
+
+    @Test
+    public void shouldRetractOnlyTheSectionsThatChange() {
+        PATH_SUPPLIERS.forEach(supplier -> {
+            Path path = supplier.get();
+            path = path.extend("marko", Collections.singleton("a"));
+            path = path.extend("stephen", new LinkedHashSet<>(Arrays.asList("b", "c")));
+            path = path.extend("matthias", Collections.singleton("d"));
+            path = path.extend("bob", new LinkedHashSet<>(Arrays.asList("e", "f")));
+            assertEquals(path.objects().hashCode(), path.hashCode());
+            assertEquals("stephen", path.get(1));
+            assertEquals("bob", path.get(3));
+            assertEquals(path, path.retract(Collections.singleton("x")));
+
+            final Path retractedPath = path.retract(new HashSet<>(Arrays.asList("c", "d", "e")));
+            assertEquals(3, retractedPath.size());
+            assertEquals(Arrays.asList("marko", "stephen", "bob"), retractedPath.objects());
+            assertEquals(Collections.singleton("a"), retractedPath.labels().get(0));
+            assertEquals(Collections.singleton("b"), retractedPath.labels().get(1));
+            assertEquals(Collections.singleton("f"), retractedPath.labels().get(2));
+            assertEquals(retractedPath.objects().hashCode(), retractedPath.hashCode());
+            assertEquals("bob", retractedPath.get(2));
+            assertFalse(retractedPath.hasLabel("c"));
+            assertTrue(path.hasLabel("c"));
+        });
+    }
+
+    @Test
+    public void shouldNotGetObjectsOutsideOfThePath() {
+        PATH_SUPPLIERS.forEach(supplier -> {
+            Path path = supplier.get();
+            path = path.extend("marko", Collections.singleton("a"));
+            path = path.extend("stephen", Collections.singleton("b"));
+            for (final int index : new int[]{-1, 2}) {
+                try {
+                    path.get(index);
+                    fail("Index " + index + " is outside of the path");
+                } catch (IndexOutOfBoundsException ex) {
+                    // expected
+                }
+            }
+        });
+    }
 }
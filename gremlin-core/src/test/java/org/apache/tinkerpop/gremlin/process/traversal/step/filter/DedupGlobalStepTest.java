@@ -19,12 +19,23 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BarrierSpill;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
  */
@@ -37,4 +48,41 @@ public class DedupGlobalStepTest extends StepTest {
                 __.dedup().by("name")
         );
     }
+
+    @Test
+    public void shouldSpillToDiskAndEmitEachObjectOnce() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i % 300);
+        }
+
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        final List<Integer> deduped = g.with(BarrierSpill.BARRIER_SPILL_THRESHOLD, 10).inject(list).unfold().dedup().toList();
+        assertEquals(300, deduped.size());
+        assertEquals(g.inject(list).unfold().dedup().toSet(), new HashSet<>(deduped));
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesWhenClosedBeforeIterated() throws Exception {
+        final File directory = Files.createTempDirectory("gremlin-barrier-").toFile();
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i % 300);
+        }
+
+        // the dedup() is nested so that closing the traversal has to reach the steps of its children
+        final Traversal<List<Integer>, Integer> traversal = EmptyGraph.instance().traversal()
+                .with(BarrierSpill.BARRIER_SPILL_THRESHOLD, 10)
+                .with(BarrierSpill.BARRIER_SPILL_DIRECTORY, directory.getAbsolutePath())
+                .inject(list).flatMap(__.<List<Integer>>unfold().dedup());
+        // the first eleven objects pass before the step spills and the twelfth leaves a partition open for reading
+        for (int i = 0; i < 12; i++) {
+            traversal.next();
+        }
+        assertNotEquals(0, directory.listFiles().length);
+
+        traversal.close();
+        assertEquals(0, directory.listFiles().length);
+        directory.delete();
+    }
 }
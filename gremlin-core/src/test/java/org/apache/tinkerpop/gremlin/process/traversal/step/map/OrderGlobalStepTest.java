@@ -20,15 +20,30 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BarrierSpill;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.util.function.MultiComparator;
 import org.junit.Test;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -70,4 +85,70 @@ public class OrderGlobalStepTest extends StepTest {
             __.inject(list).unfold().order().by(__.identity(), Order.shuffle).by().iterate();
         }
     }
+
+    @Test
+    public void shouldKeepOnlyTheFirstTraversersUpToTheLimit() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add((i * 7919) % 1000);
+        }
+
+        for (final long limit : Arrays.asList(0L, 1L, 10L, 999L, 1000L, 2000L)) {
+            final Traversal.Admin<Integer, Integer> traversal = __.inject(list).unfold().order().by(__.math("_ % 10"), Order.desc).asAdmin();
+            final Traversal.Admin<Integer, Integer> unbounded = traversal.clone();
+            TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal).get().setLimit(limit);
+
+            // ties on the comparator must resolve the same way as they do in a sort of every traverser
+            final List<Integer> all = unbounded.toList();
+            assertEquals(all.subList(0, (int) Math.min(limit, all.size())), traversal.toList());
+        }
+    }
+
+    @Test
+    public void shouldMergeBarriersUpToTheLimit() {
+        final OrderGlobalStep.OrderBiOperator<Integer> operator = new OrderGlobalStep.OrderBiOperator<>(3, new MultiComparator<>(Collections.singletonList(Order.asc)));
+        final TraverserSet<Integer> setA = new TraverserSet<>();
+        final TraverserSet<Integer> setB = new TraverserSet<>();
+        for (int i = 0; i < 10; i++) {
+            final int value = 9 - i;
+            (i % 2 == 0 ? setA : setB).add(new ProjectedTraverser<>(new B_O_Traverser<>(value, 1L).asAdmin(), Collections.singletonList(value)));
+        }
+
+        final TraverserSet<Integer> merged = operator.apply(setA, setB);
+        assertEquals(3, merged.bulkSize());
+        assertEquals(Arrays.asList(0, 1, 2), merged.stream().map(Traverser::get).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldSpillToDiskAndMergeInOrder() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add((i * 7919) % 1000);
+        }
+
+        // a threshold of 10 writes 100 runs which also merges runs early to bound the files open at once
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        assertEquals(g.inject(list).unfold().order().by(__.math("_ % 10"), Order.desc).toList(),
+                g.with(BarrierSpill.BARRIER_SPILL_THRESHOLD, 10).inject(list).unfold().order().by(__.math("_ % 10"), Order.desc).toList());
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesWhenClosedBeforeIterated() throws Exception {
+        final File directory = Files.createTempDirectory("gremlin-barrier-").toFile();
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+
+        final Traversal<Integer, Integer> traversal = EmptyGraph.instance().traversal()
+                .with(BarrierSpill.BARRIER_SPILL_THRESHOLD, 10)
+                .with(BarrierSpill.BARRIER_SPILL_DIRECTORY, directory.getAbsolutePath())
+                .inject(list).unfold().order();
+        assertEquals(0, traversal.next().intValue());
+        assertNotEquals(0, directory.listFiles().length);
+
+        traversal.close();
+        assertEquals(0, directory.listFiles().length);
+        directory.delete();
+    }
 }
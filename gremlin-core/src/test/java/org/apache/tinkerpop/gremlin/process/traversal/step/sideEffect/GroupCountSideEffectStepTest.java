@@ -21,9 +21,14 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -41,4 +46,28 @@ public class GroupCountSideEffectStepTest extends StepTest {
                 __.groupCount("y").by("age")
         );
     }
+
+    @Test
+    public void shouldCountIntoTheSideEffectWhenItIsOnlyReadAfterwards() {
+        final Map<Object, Long> expected = new HashMap<>();
+        expected.put(1, 2L);
+        expected.put(2, 1L);
+        assertEquals(expected, __.inject(1, 2, 1).groupCount("a").cap("a").next());
+
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(1, 2, 1).groupCount("a").asAdmin();
+        traversal.iterate();
+        assertEquals(expected, traversal.getSideEffects().get("a"));
+    }
+
+    @Test
+    public void shouldCountIntoTheSideEffectAsTraversersPass() {
+        final Map<Object, Long> first = new HashMap<>();
+        first.put(1, 1L);
+        final Map<Object, Long> second = new HashMap<>(first);
+        second.put(2, 1L);
+        final Map<Object, Long> third = new HashMap<>(second);
+        third.put(1, 2L);
+        assertEquals(Arrays.asList(first, second, third),
+                __.inject(1, 2, 1).groupCount("a").select("a").map(t -> new HashMap<>((Map<?, ?>) t.get())).toList());
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author agent (agent@local)
+ */
+public class AbstractStepTest {
+
+    @Test
+    public void shouldProduceTheSameTraversersInBatches() {
+        final Integer[] numbers = IntStream.range(0, 1000).map(i -> i % 37).boxed().toArray(Integer[]::new);
+        final Traversal.Admin<Integer, Integer> unbatched = __.inject(numbers).is(P.gt(10))
+                .flatMap(t -> Arrays.asList(t.get(), -t.get()).iterator()).map(t -> t.get() * 2).asAdmin();
+        final Traversal.Admin<Integer, Integer> batched = unbatched.clone();
+        // a size that does not divide the input evenly so that batches end part way through a flatMap
+        batched.getSteps().stream().skip(1).forEach(step -> ((AbstractStep) step).setBatchSize(7));
+
+        final List<Integer> expected = unbatched.toList();
+        assertEquals(IntStream.range(0, 1000).map(i -> i % 37).filter(i -> i > 10)
+                .flatMap(i -> IntStream.of(i * 2, -i * 2)).boxed().collect(Collectors.toList()), expected);
+        assertEquals(expected, batched.toList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptABatchSizeBelowOne() {
+        ((AbstractStep) __.identity().asAdmin().getStartStep()).setBatchSize(0);
+    }
+}
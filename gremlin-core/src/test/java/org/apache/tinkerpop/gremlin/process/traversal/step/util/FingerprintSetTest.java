@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class FingerprintSetTest {
+
+    @Test
+    public void shouldTellElementsApartByKindAndId() {
+        final FingerprintSet set = new FingerprintSet();
+        assertTrue(set.add(new ReferenceVertex(1L, "person")));
+        assertFalse(set.add(new DetachedVertex(1L, "person", Collections.emptyMap())));
+        assertTrue(set.add(new DetachedEdge(1L, "knows", Collections.emptyMap(), 2L, "person", 3L, "person")));
+        assertTrue(set.add(new ReferenceVertex(1, "person")));
+        assertTrue(set.add(1L));
+        assertTrue(set.add(1));
+        assertFalse(set.add(1L));
+        assertTrue(set.add(new ReferenceVertex(0L, "person")));
+        assertFalse(set.add(new ReferenceVertex(0L, "person")));
+        assertTrue(set.add(new ReferenceVertex("a", "person")));
+        assertFalse(set.add(new ReferenceVertex("a", "person")));
+        assertTrue(set.add("a"));
+        assertEquals(8, set.size());
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(1L));
+    }
+
+    @Test
+    public void shouldRestoreFromEntries() {
+        final Random random = new Random(42L);
+        final FingerprintSet set = new FingerprintSet();
+        final List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            final Object object = random.nextBoolean() ?
+                    new ReferenceVertex((long) random.nextInt(5000), "person") :
+                    "v" + random.nextInt(5000);
+            objects.add(object);
+            set.add(object);
+        }
+        set.add(0L);
+
+        final FingerprintSet restored = new FingerprintSet();
+        final List<Object> entries = new ArrayList<>();
+        set.forEachEntry(entries::add);
+        entries.forEach(restored::addEntry);
+        assertEquals(set.size(), entries.size());
+        assertEquals(set.size(), restored.size());
+        for (final Object object : objects) {
+            assertFalse(restored.add(object));
+        }
+        assertFalse(restored.add(0L));
+
+        final List<Integer> hashes = new ArrayList<>();
+        final List<Integer> entryHashes = new ArrayList<>();
+        for (final Object object : objects) {
+            final FingerprintSet single = new FingerprintSet();
+            single.add(object);
+            single.forEachEntry(entry -> entryHashes.add(FingerprintSet.entryHash(entry)));
+            hashes.add(FingerprintSet.hash(object));
+        }
+        assertEquals(hashes, entryHashes);
+    }
+}
@@ -56,9 +56,17 @@ public class OrderLimitStrategyTest {
 
     @Test
     public void doTest() {
-        traversal.asAdmin().setParent(new TraversalVertexProgramStep(EmptyTraversal.instance(), EmptyTraversal.instance())); // trick it
-        applyOrderLimitStrategyStrategy(traversal);
-        assertEquals(limit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal.asAdmin()).get().getLimit());
+        final Traversal.Admin<?, ?> computer = traversal.asAdmin().clone();
+        computer.setParent(new TraversalVertexProgramStep(EmptyTraversal.instance(), EmptyTraversal.instance())); // trick it
+        applyOrderLimitStrategyStrategy(computer);
+        assertEquals(limit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, computer).get().getLimit());
+    }
+
+    @Test
+    public void doTestStandard() {
+        final Traversal.Admin<?, ?> standard = traversal.asAdmin().clone();
+        applyOrderLimitStrategyStrategy(standard);
+        assertEquals(limit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, standard).get().getLimit());
     }
 
     @Parameterized.Parameters(name = "{0}")
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_S_SE_SL_TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_TraverserGenerator;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author agent (agent@local)
+ */
+public class TraverserPoolTest {
+
+    @Test
+    public void shouldReuseReleasedTraversersWhenSplitting() {
+        final TraverserPool pool = new TraverserPool(4);
+        final Traverser.Admin<String> traverser = B_O_S_SE_SL_TraverserGenerator.pooled(pool).generate("marko", EmptyStep.instance(), 2L);
+        traverser.incrLoops();
+        final Traverser.Admin<String> released = traverser.split();
+        released.release();
+        released.release();
+        assertEquals(1, pool.size());
+
+        final Traverser.Admin<Integer> split = traverser.split(29, EmptyStep.instance());
+        assertSame(released, split);
+        assertEquals(0, pool.size());
+        assertEquals(29, split.get().intValue());
+        assertEquals(2L, split.bulk());
+        assertEquals(1, split.loops());
+        assertNotSame(traverser, traverser.split());
+    }
+
+    @Test
+    public void shouldNotPoolTraversersOfAGeneratorWithoutAPool() {
+        final TraverserPool pool = new TraverserPool(4);
+        final Traverser.Admin<String> traverser = B_O_TraverserGenerator.instance().generate("marko", EmptyStep.instance(), 1L);
+        traverser.split().release();
+        assertEquals(0, pool.size());
+        assertEquals("marko", traverser.split().get());
+    }
+
+    @Test
+    public void shouldOnlyPoolOnTheThreadThatCreatedThePool() throws Exception {
+        final TraverserPool pool = new TraverserPool(4);
+        final Traverser.Admin<String> traverser = B_O_TraverserGenerator.pooled(pool).generate("marko", EmptyStep.instance(), 1L);
+        final Thread thread = new Thread(() -> traverser.split().release());
+        thread.start();
+        thread.join();
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void shouldProduceTheSameResultsWithAPool() {
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        final List<Function<GraphTraversalSource, Traversal<?, ?>>> traversals = Arrays.asList(
+                s -> s.inject(1, 2, 3, 1, 2, 3, 4).is(P.gt(1)).barrier().map(t -> t.get() + 1).is(P.lt(5)),
+                s -> s.inject(1, 2, 3, 1, 2, 3, 4).not(__.is(3)).barrier().is(P.neq(4)).order(),
+                s -> s.inject(1, 2, 3).repeat(__.<Integer, Integer>map(t -> t.get() - 1)).until(__.is(P.lte(0))).is(0).count(),
+                s -> s.withSack(1).inject(1, 2, 3, 1).sack(Operator.sum).barrier().is(P.gt(1)).sack());
+        for (final Function<GraphTraversalSource, Traversal<?, ?>> traversal : traversals) {
+            assertEquals(traversal.apply(g).toList(), traversal.apply(g.with(TraverserPool.TRAVERSER_POOL_SIZE, 16)).toList());
+        }
+    }
+
+    @Test
+    public void shouldNotPoolTraversersOfATraversalWithALambdaStep() {
+        final List<Traverser<Integer>> kept = new ArrayList<>();
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().with(TraverserPool.TRAVERSER_POOL_SIZE, 16);
+        final Traversal.Admin<Integer, Integer> traversal = g.inject(1, 2, 3, 4).sideEffect(kept::add).is(P.gt(2)).asAdmin();
+        assertEquals(Arrays.asList(3, 4), traversal.toList());
+        assertEquals(0, TraverserPool.getCapacity(traversal));
+        assertEquals(Arrays.asList(1, 2, 3, 4), kept.stream().map(Traverser::get).collect(Collectors.toList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptANegativePoolSize() {
+        EmptyGraph.instance().traversal().with(TraverserPool.TRAVERSER_POOL_SIZE, -1).inject(1).iterate();
+    }
+}
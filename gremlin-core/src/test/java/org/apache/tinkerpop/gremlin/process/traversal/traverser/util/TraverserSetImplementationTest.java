@@ -43,7 +43,8 @@ public class TraverserSetImplementationTest {
     public static Iterable<Object[]> data() {
         return Arrays.asList(new Object[][]{
                 {TraverserSet.class.getSimpleName(), (Supplier) TraverserSet::new},
-                {IndexedTraverserSet.class.getSimpleName(), (Supplier) () -> new IndexedTraverserSet<String,String>(x -> x.substring(0,1))}});
+                {IndexedTraverserSet.class.getSimpleName(), (Supplier) () -> new IndexedTraverserSet<String,String>(x -> x.substring(0,1))},
+                {UnsynchronizedTraverserSet.class.getSimpleName(), (Supplier) UnsynchronizedTraverserSet::new}});
     }
 
     @Parameterized.Parameter(value = 0)
@@ -191,6 +192,25 @@ public class TraverserSetImplementationTest {
         assertEquals(3, ts.bulkSize());
     }
 
+    @Test
+    public void shouldKeepInsertionOrderAcrossManyAddsAndRemoves() {
+        final TraverserSet<String> ts = traverserSetMaker.get();
+        for (int i = 0; i < 1000; i++) {
+            ts.add(makeTraverser("a" + i, 1));
+            ts.add(makeTraverser("a" + i, 1));
+            if (i % 3 == 0) assertEquals("a" + (i / 3), ts.remove().get());
+        }
+
+        assertEquals(666, ts.size());
+        assertEquals(1332, ts.bulkSize());
+        int expected = 334;
+        for (final Traverser.Admin<String> traverser : ts) {
+            assertEquals("a" + expected++, traverser.get());
+        }
+        assertThat(ts.contains(makeTraverser("a333", 1)), is(false));
+        assertThat(ts.contains(makeTraverser("a999", 1)), is(true));
+    }
+
     private TraverserSet<String> makeStringTraversers() {
         final TraverserSet<String> ts = traverserSetMaker.get();
         ts.add(makeTraverser("a", 1));
@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.ser.binary.GraphBinaryIo;
 import org.apache.tinkerpop.gremlin.driver.ser.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.driver.ser.binary.GraphBinaryResponseResultWriter;
 import org.apache.tinkerpop.gremlin.driver.ser.binary.GraphBinaryWriter;
 import org.apache.tinkerpop.gremlin.driver.ser.binary.RequestMessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.ser.binary.ResponseMessageSerializer;
@@ -40,7 +41,7 @@ import java.util.Map;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer {
+public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer implements StreamingMessageSerializer {
     public static final String TOKEN_CUSTOM = "custom";
     public static final String TOKEN_BUILDER = "builder";
     private static final String MIME_TYPE = SerTokens.MIME_GRAPHBINARY_V1D0;
@@ -131,6 +132,11 @@ public class GraphBinaryMessageSerializerV1 extends AbstractMessageSerializer {
         return buffer;
     }
 
+    @Override
+    public ResponseResultWriter createResponseResultWriter(final ByteBufAllocator allocator) {
+        return new GraphBinaryResponseResultWriter(allocator, writer, responseSerializer);
+    }
+
     @Override
     public ByteBuf serializeRequestAsBinary(final RequestMessage requestMessage, final ByteBufAllocator allocator) throws SerializationException {
         final ByteBuf buffer = allocator.buffer().writeByte(HEADER.length).writeBytes(HEADER);
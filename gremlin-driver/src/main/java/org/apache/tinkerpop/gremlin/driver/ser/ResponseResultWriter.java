@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+
+/**
+ * Serializes the results of a single response message as they are written and completes the message around them
+ * once the last one is written. A writer holds buffers until it is either completed or released.
+ *
+ * @see StreamingMessageSerializer
+ *
+ * @author agent (agent@local)
+ */
+public interface ResponseResultWriter {
+
+    /**
+     * Serializes the next result of the response.
+     */
+    public void write(final Object result) throws SerializationException;
+
+    /**
+     * Gets the number of results written so far.
+     */
+    public int getResultCount();
+
+    /**
+     * Gets the number of bytes taken by the results written so far.
+     */
+    public int getResultBytes();
+
+    /**
+     * Serializes the response message with the results written so far as its result data, ignoring any result data
+     * of the message itself. The caller becomes responsible for releasing the returned buffer and the writer may not
+     * be written to afterward.
+     */
+    public ByteBuf complete(final ResponseMessage responseMessage) throws SerializationException;
+
+    /**
+     * Releases the results written so far without completing the response message. Releasing a writer that was
+     * already completed or released does nothing.
+     */
+    public void release();
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser;
+
+import io.netty.buffer.ByteBufAllocator;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+
+/**
+ * An extension to the {@link MessageSerializer} interface for binary formats that can serialize the results of a
+ * response one at a time as they are iterated, rather than all at once after the whole batch of results has been
+ * collected. Gremlin Server uses it where it is available to avoid holding both the results and their serialized
+ * form in memory and to avoid copying the serialized form as it grows.
+ *
+ * @author agent (agent@local)
+ */
+public interface StreamingMessageSerializer extends MessageSerializer {
+
+    /**
+     * Creates a writer of the results of a single response message, which allocates its buffers from the allocator.
+     */
+    public ResponseResultWriter createResponseResultWriter(final ByteBufAllocator allocator);
+}
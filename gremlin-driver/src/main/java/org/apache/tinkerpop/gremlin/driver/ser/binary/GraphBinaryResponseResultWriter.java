@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser.binary;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.ser.ResponseResultWriter;
+import org.apache.tinkerpop.gremlin.driver.ser.SerializationException;
+
+/**
+ * Writes the results of a GraphBinary response message into a {@code CompositeByteBuf} that grows by adding buffers
+ * from the allocator rather than by copying, and adds the header of the message and of the {@code List} that holds
+ * the results in front of them once the response is complete. The completed message is the same as the one
+ * {@link ResponseMessageSerializer} writes for a response whose result data is a {@code List} of the results.
+ *
+ * @author agent (agent@local)
+ */
+public class GraphBinaryResponseResultWriter implements ResponseResultWriter {
+
+    private final ByteBufAllocator allocator;
+    private final GraphBinaryWriter writer;
+    private final ResponseMessageSerializer responseSerializer;
+    private CompositeByteBuf results;
+    private int resultCount = 0;
+
+    public GraphBinaryResponseResultWriter(final ByteBufAllocator allocator, final GraphBinaryWriter writer,
+                                           final ResponseMessageSerializer responseSerializer) {
+        this.allocator = allocator;
+        this.writer = writer;
+        this.responseSerializer = responseSerializer;
+        this.results = allocator.compositeBuffer(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void write(final Object result) throws SerializationException {
+        if (null == results)
+            throw new IllegalStateException("The response was already completed or released");
+
+        // a result that fails part way leaves nothing behind so the response remains well formed
+        final int writerIndex = results.writerIndex();
+        try {
+            writer.write(result, results);
+        } catch (Exception ex) {
+            results.writerIndex(writerIndex);
+            throw ex;
+        }
+
+        resultCount++;
+    }
+
+    @Override
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    @Override
+    public int getResultBytes() {
+        return null == results ? 0 : results.readableBytes();
+    }
+
+    @Override
+    public ByteBuf complete(final ResponseMessage responseMessage) throws SerializationException {
+        if (null == results)
+            throw new IllegalStateException("The response was already completed or released");
+
+        final ByteBuf header = allocator.buffer();
+        try {
+            responseSerializer.writeHeader(responseMessage, header, writer);
+
+            // the fully qualified List of results
+            header.writeByte(DataType.LIST.getCodeByte());
+            writer.writeValueFlagNone(header);
+            header.writeInt(resultCount);
+        } catch (Exception ex) {
+            header.release();
+            release();
+            throw ex;
+        }
+
+        final CompositeByteBuf buffer = results;
+        results = null;
+        return buffer.addComponent(true, 0, header);
+    }
+
+    @Override
+    public void release() {
+        if (null == results) return;
+        results.release();
+        results = null;
+    }
+}
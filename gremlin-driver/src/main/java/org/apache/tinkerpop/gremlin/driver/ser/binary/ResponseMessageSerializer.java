@@ -49,6 +49,15 @@ public class ResponseMessageSerializer {
     }
 
     public void writeValue(final ResponseMessage value, final ByteBuf buffer, final GraphBinaryWriter context) throws SerializationException {
+        writeHeader(value, buffer, context);
+        // Fully-qualified value
+        context.write(value.getResult().getData(), buffer);
+    }
+
+    /**
+     * Writes everything of the response message that comes before its result data.
+     */
+    public void writeHeader(final ResponseMessage value, final ByteBuf buffer, final GraphBinaryWriter context) throws SerializationException {
         final ResponseResult result = value.getResult();
         final ResponseStatus status = value.getStatus();
 
@@ -64,7 +73,5 @@ public class ResponseMessageSerializer {
         context.writeValue(status.getAttributes(), buffer, false);
         // Result meta
         context.writeValue(result.getMeta(), buffer, false);
-        // Fully-qualified value
-        context.write(result.getData(), buffer);
     }
 }
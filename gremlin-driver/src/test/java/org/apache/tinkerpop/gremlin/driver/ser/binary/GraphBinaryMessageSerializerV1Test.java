@@ -20,21 +20,28 @@ package org.apache.tinkerpop.gremlin.driver.ser.binary;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.driver.ser.GraphBinaryMessageSerializerV1;
+import org.apache.tinkerpop.gremlin.driver.ser.ResponseResultWriter;
 import org.apache.tinkerpop.gremlin.driver.ser.SerializationException;
 import org.junit.Test;
 import org.mockito.internal.matchers.apachecommons.ReflectionEquals;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 public class GraphBinaryMessageSerializerV1Test {
     private final ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
@@ -134,6 +141,78 @@ public class GraphBinaryMessageSerializerV1Test {
         assertResponseEquals(response, deserialized);
     }
 
+    @Test
+    public void shouldStreamResponseResultsAsTheSameBytes() throws SerializationException {
+        final List<Object> results = new ArrayList<>();
+        for (int ix = 0; ix < 1000; ix++) {
+            results.add(ix % 10 == 0 ? null : "result-" + ix);
+        }
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.PARTIAL_CONTENT)
+                .statusAttribute("k1", 1)
+                .responseMetaData("m1", "v1")
+                .result(results)
+                .create();
+
+        final ResponseResultWriter writer = serializer.createResponseResultWriter(allocator);
+        for (Object result : results) {
+            writer.write(result);
+        }
+        assertEquals(results.size(), writer.getResultCount());
+
+        final ByteBuf expected = serializer.serializeResponseAsBinary(response, allocator);
+        final ByteBuf streamed = writer.complete(response);
+        try {
+            assertArrayEquals(ByteBufUtil.getBytes(expected), ByteBufUtil.getBytes(streamed));
+            assertResponseEquals(response, serializer.deserializeResponse(streamed));
+        } finally {
+            expected.release();
+            streamed.release();
+        }
+    }
+
+    @Test
+    public void shouldStreamResponseWithoutResults() throws SerializationException {
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.SUCCESS)
+                .result(new ArrayList<>())
+                .create();
+
+        final ByteBuf streamed = serializer.createResponseResultWriter(allocator).complete(response);
+        try {
+            assertResponseEquals(response, serializer.deserializeResponse(streamed));
+        } finally {
+            streamed.release();
+        }
+    }
+
+    @Test
+    public void shouldLeaveNothingOfAStreamedResultThatFailsToSerialize() throws SerializationException {
+        final ResponseResultWriter writer = serializer.createResponseResultWriter(allocator);
+        writer.write("a");
+        final int bytes = writer.getResultBytes();
+        try {
+            writer.write(Arrays.asList("b", new Object()));
+            fail("Should have failed to serialize an Object");
+        } catch (SerializationException ignored) {
+            // expected
+        }
+        assertEquals(1, writer.getResultCount());
+        assertEquals(bytes, writer.getResultBytes());
+
+        writer.write("c");
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
+                .code(ResponseStatusCode.SUCCESS)
+                .result(Arrays.asList("a", "c"))
+                .create();
+        final ByteBuf streamed = writer.complete(response);
+        try {
+            assertResponseEquals(response, serializer.deserializeResponse(streamed));
+        } finally {
+            streamed.release();
+        }
+    }
+
     @Test
     public void shouldSupportConfigurationOfRegistryBuilder() {
         final GraphBinaryMessageSerializerV1 serializer = new GraphBinaryMessageSerializerV1();
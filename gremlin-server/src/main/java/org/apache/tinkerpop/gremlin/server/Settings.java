@@ -93,6 +93,13 @@ public class Settings {
      */
     public int gremlinPool = 0;
 
+    /**
+     * Run Gremlin evaluation on a new virtual thread for each request rather than on a fixed pool of platform
+     * threads, in which case {@link #gremlinPool} is the number of requests that may evaluate at once. Each session
+     * also runs on a virtual thread of its own. Requires Java 21 or later.
+     */
+    public boolean useVirtualThreads = false;
+
     /**
      * Size of the boss thread pool.  Defaults to 1 and should likely stay at 1.  The bossy thread accepts incoming
      * connections on a port until it is unbound. Once a connection is accepted successfully, the boss thread
@@ -111,6 +118,22 @@ public class Settings {
      */
     public int resultIterationBatchSize = 64;
 
+    /**
+     * When greater than zero, the number of results in each message sent back to the client adapts so that each
+     * message takes about this many serialized bytes, starting from {@link #resultIterationBatchSize} and learning
+     * from the size of the messages already sent for the request. A request that sets its own batch size is not
+     * adapted. Defaults to 0 which keeps the batch size fixed.
+     */
+    public int resultIterationBatchBytes = 0;
+
+    /**
+     * When {@link #resultIterationBatchBytes} is enabled and this value is greater than zero, the time in
+     * milliseconds after which a message is sent back to the client with the results iterated so far even though
+     * it has not reached its size. The time is checked as each result is iterated, so a message is not sent while
+     * waiting on a slow result. Defaults to 0 which does not limit that time.
+     */
+    public long resultIterationBatchLatency = 0;
+
     /**
      * The maximum length of the initial line (e.g. {@code "GET / HTTP/1.0"}) processed in a request, which essentially
      * controls the maximum length of the submitted URI. This setting ties to the Netty {@code HttpRequestDecoder}.
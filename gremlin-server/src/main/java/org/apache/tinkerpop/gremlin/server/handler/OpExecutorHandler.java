@@ -83,4 +83,17 @@ public class OpExecutorHandler extends SimpleChannelInboundHandler<Pair<RequestM
             ReferenceCountUtil.release(objects);
         }
     }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) WritabilityMonitor.resume(ctx.channel());
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        // let any paused responses find out that there is no one left to write them to
+        WritabilityMonitor.resume(ctx.channel());
+        super.channelInactive(ctx);
+    }
 }
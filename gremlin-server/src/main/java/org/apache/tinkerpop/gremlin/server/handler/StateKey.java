@@ -24,6 +24,8 @@ import org.apache.tinkerpop.gremlin.server.auth.Authenticator;
 import org.apache.tinkerpop.gremlin.server.op.session.Session;
 import io.netty.util.AttributeKey;
 
+import java.util.Queue;
+
 /**
  * Keys used in the various handlers to store state in the pipeline.
  *
@@ -57,4 +59,9 @@ public final class StateKey {
      * The key for the current request.
      */
     public static final AttributeKey<RequestMessage> REQUEST_MESSAGE = AttributeKey.valueOf("request");
+
+    /**
+     * The key for the tasks that resume writing responses once the channel is writable again.
+     */
+    public static final AttributeKey<Queue<Runnable>> PAUSED_WRITES = AttributeKey.valueOf("pausedWrites");
 }
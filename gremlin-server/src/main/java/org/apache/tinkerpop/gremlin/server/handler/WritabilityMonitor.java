@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.Channel;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Holds the tasks that resume writing responses to a {@code Channel} that stopped being writable because its client
+ * is reading them more slowly than they are produced, so that the threads that produce them need not wait for the
+ * client. The tasks are run by the {@link OpExecutorHandler} when the channel becomes writable again or is closed.
+ *
+ * @author agent (agent@local)
+ */
+public final class WritabilityMonitor {
+
+    private WritabilityMonitor() {
+    }
+
+    /**
+     * Runs the task once the channel is writable or is closed, which may be right away. The task is run on a Netty
+     * event loop thread, so it must do no more than hand the remaining work to another thread.
+     */
+    public static void whenWritable(final Channel channel, final Runnable task) {
+        Queue<Runnable> tasks = channel.attr(StateKey.PAUSED_WRITES).get();
+        if (null == tasks) {
+            final Queue<Runnable> newTasks = new ConcurrentLinkedQueue<>();
+            tasks = channel.attr(StateKey.PAUSED_WRITES).setIfAbsent(newTasks);
+            if (null == tasks) tasks = newTasks;
+        }
+        tasks.add(task);
+
+        // the channel may have become writable or been closed before the task was added, in which case there will
+        // be no event to run it
+        if (channel.isWritable() || !channel.isActive())
+            resume(channel);
+    }
+
+    /**
+     * Removes a task that no longer needs to run, such as one whose request timed out before the channel became
+     * writable, so that the channel does not hold on to it.
+     */
+    public static void cancel(final Channel channel, final Runnable task) {
+        final Queue<Runnable> tasks = channel.attr(StateKey.PAUSED_WRITES).get();
+        if (null != tasks) tasks.remove(task);
+    }
+
+    static void resume(final Channel channel) {
+        final Queue<Runnable> tasks = channel.attr(StateKey.PAUSED_WRITES).get();
+        if (null == tasks) return;
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server.op;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
@@ -25,25 +26,31 @@ import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.driver.ser.MessageTextSerializer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.ResponseHandlerContext;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
-import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityMonitor;
 import org.apache.tinkerpop.gremlin.server.util.ExceptionHelper;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A base {@link OpProcessor} implementation that processes an {@code Iterator} of results in a generalized way while
@@ -84,9 +91,6 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         final ChannelHandlerContext ctx = context.getChannelHandlerContext();
         final RequestMessage msg = context.getRequestMessage();
         final Settings settings = context.getSettings();
-        final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
-        final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
-        boolean warnOnce = false;
 
         // sessionless requests are always transaction managed, but in-session requests are configurable.
         final boolean managedTransactionsForRequest = manageTransactions ?
@@ -105,14 +109,39 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         }
 
         // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        final ResultBatchSizer sizer = ResultBatchSizer.create(msg, settings);
+        iterateResults(rhc, itty, new ResultBatch(ctx, sizer.getBatchSize()), sizer, false, System.currentTimeMillis());
+    }
+
+    /**
+     * Writes the results of a non-empty iterator back to the client, starting with those already aggregated when
+     * the iteration resumes after the channel was not writable, and releases the results of the batch in progress
+     * should iteration fail.
+     */
+    private void iterateResults(final ResponseHandlerContext rhc, final Iterator itty, final ResultBatch aggregate,
+                                final ResultBatchSizer sizer, final boolean warned, final long started) throws InterruptedException {
+        try {
+            iterateBatches(rhc, itty, aggregate, sizer, warned, started);
+        } catch (Exception ex) {
+            aggregate.release();
+            throw ex;
+        }
+    }
 
+    private void iterateBatches(final ResponseHandlerContext rhc, final Iterator itty, final ResultBatch aggregate,
+                                final ResultBatchSizer sizer, final boolean warned, final long started) throws InterruptedException {
+        final Context context = rhc.getContext();
+        final ChannelHandlerContext ctx = context.getChannelHandlerContext();
+        final RequestMessage msg = context.getRequestMessage();
+        final Settings settings = context.getSettings();
+        boolean warnOnce = warned;
+
+        final boolean managedTransactionsForRequest = manageTransactions ?
+                true : (Boolean) msg.getArgs().getOrDefault(Tokens.ARGS_MANAGE_TRANSACTION, false);
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
-        // the loop on calls to hasNext().
-        boolean hasMore = itty.hasNext();
+        // the loop on calls to hasNext(). iteration only starts or resumes while there is something left to write.
+        boolean hasMore = true;
 
         while (hasMore) {
             if (Thread.interrupted()) throw new InterruptedException();
@@ -134,12 +163,12 @@ public abstract class AbstractOpProcessor implements OpProcessor {
             // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
             // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
             // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+            if (!sizer.isFull(aggregate) && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
 
             // send back a page of results if batch size is met or if it's the end of the results being iterated.
             // also check writeability of the channel to prevent OOME for slow clients.
             if (ctx.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
+                if (forceFlush || sizer.isFull(aggregate) || !itty.hasNext()) {
                     final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
 
                     // serialize here because in sessionless requests the serialization must occur in the same
@@ -147,13 +176,14 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                     // thread that processed the eval of the script so, we have to push serialization down into that
                     Frame frame = null;
                     try {
-                        frame = makeFrame(rhc, msg, serializer, useBinary, aggregate, code,
+                        frame = makeFrame(rhc, msg, aggregate, code,
                                 generateResultMetaData(ctx, msg, code, itty, settings),
                                 generateStatusAttributes(ctx, msg, code, itty, settings));
                     } catch (Exception ex) {
                         // a frame may use a Bytebuf which is a countable release - if it does not get written
                         // downstream it needs to be released here
                         if (frame != null) frame.tryRelease();
+                        aggregate.release();
 
                         // exception is handled in makeFrame() - serialization error gets written back to driver
                         // at that point
@@ -161,6 +191,8 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                         break;
                     }
 
+                    sizer.sent(aggregate, frame);
+
                     // track whether there is anything left in the iterator because it needs to be accessed after
                     // the transaction could be closed - in that case a call to hasNext() could open a new transaction
                     // unintentionally
@@ -169,7 +201,7 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                     try {
                         // only need to reset the aggregation list if there's more stuff to write
                         if (moreInIterator)
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
+                            aggregate.reset();
                         else {
                             // iteration and serialization are both complete which means this finished successfully. note that
                             // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
@@ -206,6 +238,26 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                     warnOnce = true;
                 }
 
+                // where the results can be written from another thread, stop iterating and resume once the client
+                // has caught up so that no worker is held by a slow client
+                if (isSuspendable(context)) {
+                    resumeWhenWritable(rhc, started, new Continuation() {
+                        @Override
+                        public void resume() throws Exception {
+                            sizer.resumed();
+                            iterateResults(rhc, itty, aggregate, sizer, true, started);
+                        }
+
+                        @Override
+                        public void abandon() {
+                            aggregate.release();
+                            CloseableIterator.closeIterator(itty);
+                            if (managedTransactionsForRequest) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
+                        }
+                    });
+                    return;
+                }
+
                 // since the client is lagging we can hold here for a period of time for the client to catch up.
                 // this isn't blocking the IO thread - just a worker.
                 TimeUnit.MILLISECONDS.sleep(10);
@@ -213,6 +265,148 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         }
     }
 
+    /**
+     * Determines if the iteration of results for the request may stop while the channel is not writable and resume
+     * on another thread of the {@code gremlinPool} once it is, rather than holding its thread until the client has
+     * caught up. That is only safe when the results need not be iterated or committed on the thread that evaluated
+     * the request, as is the case for transactions bound to threads, so by default iteration is never suspended.
+     */
+    protected boolean isSuspendable(final Context context) {
+        return false;
+    }
+
+    /**
+     * Runs the continuation of a suspended result iteration on the {@code gremlinPool} once the channel is writable
+     * again. The time the iteration was suspended counts towards the evaluation timeout of the request, which ends
+     * the iteration with a timeout if the client does not catch up before it expires or if the resumed iteration
+     * runs past it. The continuation is abandoned if the channel is closed, the request times out or resuming it
+     * fails, so that it may release the results and resources it holds.
+     */
+    protected void resumeWhenWritable(final ResponseHandlerContext rhc, final long started, final Continuation continuation) {
+        final Context context = rhc.getContext();
+        final Channel channel = context.getChannelHandlerContext().channel();
+        final long timeout = getTimeout(context.getRequestMessage(), context.getSettings());
+
+        final AtomicBoolean resumed = new AtomicBoolean(false);
+        final AtomicReference<ScheduledFuture<?>> deadline = new AtomicReference<>();
+        final Runnable resume = new Runnable() {
+            @Override
+            public void run() {
+                if (!resumed.compareAndSet(false, true)) return;
+
+                // the deadline no longer needs to hold on to the iteration once it resumed, but if it is what
+                // resumed the iteration then the channel no longer needs to
+                final ScheduledFuture<?> scheduled = deadline.getAndSet(null);
+                if (scheduled != null) scheduled.cancel(false);
+                WritabilityMonitor.cancel(channel, this);
+
+                submitContinuation(rhc, started, timeout, continuation);
+            }
+        };
+
+        WritabilityMonitor.whenWritable(channel, resume);
+        if (timeout > 0 && !resumed.get()) {
+            deadline.set(context.getScheduledExecutorService().schedule(resume,
+                    Math.max(0, started + timeout - System.currentTimeMillis()), TimeUnit.MILLISECONDS));
+
+            // the iteration may have resumed before the deadline was set, in which case it was not cancelled
+            if (resumed.get()) {
+                final ScheduledFuture<?> scheduled = deadline.getAndSet(null);
+                if (scheduled != null) scheduled.cancel(false);
+            }
+        }
+    }
+
+    private void submitContinuation(final ResponseHandlerContext rhc, final long started, final long timeout,
+                                    final Continuation continuation) {
+        final Context context = rhc.getContext();
+        final Channel channel = context.getChannelHandlerContext().channel();
+        final RequestMessage msg = context.getRequestMessage();
+
+        // either the continuation or the timeout gets to end the iteration if it times out before it starts
+        final AtomicBoolean claimed = new AtomicBoolean(false);
+        final AtomicReference<ScheduledFuture<?>> timer = new AtomicReference<>();
+        final Future<?> future = context.getGremlinExecutor().getExecutorService().submit(() -> {
+            if (!claimed.compareAndSet(false, true)) return;
+            try {
+                if (!channel.isActive()) {
+                    logger.debug("Dropping the remaining results of {} as the channel was closed", msg);
+                    continuation.abandon();
+                } else if (timeout > 0 && System.currentTimeMillis() - started >= timeout) {
+                    writeTimeout(rhc, msg, null);
+                    continuation.abandon();
+                } else {
+                    continuation.resume();
+                }
+            } catch (Exception ex) {
+                Throwable t = ex;
+                if (ex instanceof UndeclaredThrowableException)
+                    t = t.getCause();
+
+                if (t instanceof InterruptedException || t instanceof TraversalInterruptedException) {
+                    writeTimeout(rhc, msg, ex);
+                } else {
+                    logger.warn(String.format("Exception resuming the iteration of results for request [%s].", msg.getRequestId()), ex);
+                    rhc.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
+                            .statusMessage(ex.getMessage())
+                            .statusAttributeException(ex).create());
+                }
+                continuation.abandon();
+            } finally {
+                final ScheduledFuture<?> scheduled = timer.getAndSet(null);
+                if (scheduled != null) scheduled.cancel(false);
+            }
+        });
+
+        if (timeout > 0 && !future.isDone()) {
+            timer.set(context.getScheduledExecutorService().schedule(() -> {
+                if (claimed.compareAndSet(false, true)) {
+                    writeTimeout(rhc, msg, null);
+                    continuation.abandon();
+                } else {
+                    future.cancel(true);
+                }
+            }, Math.max(0, started + timeout - System.currentTimeMillis()), TimeUnit.MILLISECONDS));
+
+            // the continuation may have finished before the timer was set, in which case it was not cancelled
+            if (future.isDone()) {
+                final ScheduledFuture<?> scheduled = timer.getAndSet(null);
+                if (scheduled != null) scheduled.cancel(false);
+            }
+        }
+    }
+
+    private static void writeTimeout(final ResponseHandlerContext rhc, final RequestMessage msg, final Exception ex) {
+        final String errorMessage = String.format("A timeout occurred while iterating the results of [%s] - consider increasing the limit given to scriptEvaluationTimeout", msg);
+        logger.warn(errorMessage);
+        final ResponseMessage.Builder builder = ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_TIMEOUT)
+                .statusMessage(errorMessage);
+        if (ex != null) builder.statusAttributeException(ex);
+        rhc.writeAndFlush(builder.create());
+    }
+
+    private static long getTimeout(final RequestMessage msg, final Settings settings) {
+        return msg.getArgs().containsKey(Tokens.ARGS_SCRIPT_EVAL_TIMEOUT) ?
+                ((Number) msg.getArgs().get(Tokens.ARGS_SCRIPT_EVAL_TIMEOUT)).longValue() :
+                settings.scriptEvaluationTimeout;
+    }
+
+    /**
+     * The remainder of a result iteration that was suspended while the channel was not writable.
+     */
+    protected interface Continuation {
+        /**
+         * Iterates the remaining results.
+         */
+        public void resume() throws Exception;
+
+        /**
+         * Releases the results and resources held by the iteration when it ends without being resumed or when
+         * resuming it fails.
+         */
+        public void abandon();
+    }
+
     /**
      * Called when iteration within {@link #handleIterator(Context, Iterator)} is on its final pass and the final
      * frame is about to be sent back to the client. This method only gets called on successful iteration of the
@@ -313,16 +507,43 @@ public abstract class AbstractOpProcessor implements OpProcessor {
             }
         } catch (Exception ex) {
             logger.warn("The result [{}] in the request {} could not be serialized and returned.", aggregate, msg.getRequestId(), ex);
-            final String errorMessage = String.format("Error during serialization: %s", ExceptionHelper.getMessageFromExceptionOrCause(ex));
-            final ResponseMessage error = ResponseMessage.build(msg.getRequestId())
-                    .statusMessage(errorMessage)
-                    .statusAttributeException(ex)
-                    .code(ResponseStatusCode.SERVER_ERROR_SERIALIZATION).create();
-            rhc.writeAndFlush(error);
+            writeSerializationError(rhc, msg, ex);
             throw ex;
         }
     }
 
+    /**
+     * Makes a {@link Frame} of the results of a {@link ResultBatch}, completing the response message around them
+     * if they were already serialized as they were added to the batch.
+     */
+    protected static Frame makeFrame(final ResponseHandlerContext rhc, final RequestMessage msg, final ResultBatch batch,
+                                     final ResponseStatusCode code, final Map<String,Object> responseMetaData,
+                                     final Map<String,Object> statusAttributes) throws Exception {
+        if (!batch.isStreamed())
+            return makeFrame(rhc, msg, batch.getSerializer(), batch.useBinary(), batch.getResults(), code,
+                    responseMetaData, statusAttributes);
+
+        try {
+            return new Frame(batch.complete(ResponseMessage.build(msg)
+                    .code(code)
+                    .statusAttributes(statusAttributes)
+                    .responseMetaData(responseMetaData).create()));
+        } catch (Exception ex) {
+            logger.warn("The result [{}] in the request {} could not be serialized and returned.", batch.getFailedResult(), msg.getRequestId(), ex);
+            writeSerializationError(rhc, msg, ex);
+            throw ex;
+        }
+    }
+
+    private static void writeSerializationError(final ResponseHandlerContext rhc, final RequestMessage msg, final Exception ex) {
+        final String errorMessage = String.format("Error during serialization: %s", ExceptionHelper.getMessageFromExceptionOrCause(ex));
+        final ResponseMessage error = ResponseMessage.build(msg.getRequestId())
+                .statusMessage(errorMessage)
+                .statusAttributeException(ex)
+                .code(ResponseStatusCode.SERVER_ERROR_SERIALIZATION).create();
+        rhc.writeAndFlush(error);
+    }
+
     protected static void attemptCommit(final RequestMessage msg, final GraphManager graphManager, final boolean strict) {
         if (strict) {
             if (msg.getArgs().containsKey(Tokens.ARGS_ALIASES)) {
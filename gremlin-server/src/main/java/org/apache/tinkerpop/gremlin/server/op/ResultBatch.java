@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.ser.ResponseResultWriter;
+import org.apache.tinkerpop.gremlin.driver.ser.StreamingMessageSerializer;
+import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The results of a request that are written back to the client in a single response message. When the channel
+ * serializes to binary with a {@link StreamingMessageSerializer} each result is serialized as soon as it is added,
+ * so that the results themselves need not be held and their serialized form becomes part of the response without
+ * being copied. Otherwise the results are collected and serialized all at once when the frame is made.
+ *
+ * @author agent (agent@local)
+ */
+public final class ResultBatch {
+
+    private final ChannelHandlerContext ctx;
+    private final MessageSerializer serializer;
+    private final boolean useBinary;
+    private final int resultIterationBatchSize;
+    private List<Object> results;
+    private ResponseResultWriter writer;
+    private Exception failure;
+    private Object failedResult;
+    private int size;
+
+    public ResultBatch(final ChannelHandlerContext ctx, final int resultIterationBatchSize) {
+        this.ctx = ctx;
+        this.serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
+        this.useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
+        this.resultIterationBatchSize = resultIterationBatchSize;
+        reset();
+    }
+
+    /**
+     * Empties the batch so that it can collect the results of the next response message once the results added so
+     * far were written.
+     */
+    public void reset() {
+        if (useBinary && serializer instanceof StreamingMessageSerializer)
+            writer = ((StreamingMessageSerializer) serializer).createResponseResultWriter(ctx.alloc());
+        else
+            results = new ArrayList<>(resultIterationBatchSize);
+        failure = null;
+        failedResult = null;
+        size = 0;
+    }
+
+    /**
+     * Adds a result to the batch. A result that cannot be serialized is not reported until the frame is made, so
+     * that it is handled like any other serialization error, and the results that follow it are ignored.
+     */
+    public void add(final Object result) {
+        size++;
+        if (!isStreamed())
+            results.add(result);
+        else if (null == failure) {
+            try {
+                writer.write(result);
+            } catch (Exception ex) {
+                failure = ex;
+                failedResult = result;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of results added to the batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of bytes taken by the results serialized so far, which is only known when results are
+     * serialized as they are added and is otherwise {@code -1}.
+     */
+    public int getSerializedBytes() {
+        return isStreamed() ? writer.getResultBytes() : -1;
+    }
+
+    /**
+     * Releases the results serialized so far if the batch is not going to be written. Releasing a batch that was
+     * already written does nothing.
+     */
+    public void release() {
+        if (isStreamed()) writer.release();
+    }
+
+    boolean isStreamed() {
+        return writer != null;
+    }
+
+    MessageSerializer getSerializer() {
+        return serializer;
+    }
+
+    boolean useBinary() {
+        return useBinary;
+    }
+
+    List<Object> getResults() {
+        return results;
+    }
+
+    Object getFailedResult() {
+        return failedResult;
+    }
+
+    /**
+     * Completes the response message around the serialized results, which must only be called when they are
+     * serialized as they are added.
+     */
+    ByteBuf complete(final ResponseMessage responseMessage) throws Exception {
+        if (failure != null) {
+            writer.release();
+            throw failure;
+        }
+        return writer.complete(responseMessage);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op;
+
+import com.codahale.metrics.Histogram;
+import io.netty.buffer.ByteBuf;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Decides when a {@link ResultBatch} is full and is to be sent back to the client. By default a batch is full once
+ * it holds the {@code resultIterationBatchSize} of the request. When {@link Settings#resultIterationBatchBytes} is
+ * enabled the batch size adapts to the average serialized size of the results in the messages already sent for the
+ * request, so that each message takes about that many bytes, and a batch whose results are serialized as they are
+ * added is also full once they reach that many bytes. {@link Settings#resultIterationBatchLatency} further limits
+ * the time spent filling one batch, though as it is checked whenever a result is added, a batch waiting on a slow
+ * result is only sent once that result arrives. The time a suspended iteration waits for the client does not count
+ * towards it. The sizes of adapted batches are reported as the {@code op.batchSize} and {@code op.batchBytes}
+ * metrics.
+ *
+ * @author agent (agent@local)
+ */
+public final class ResultBatchSizer {
+
+    private static final Histogram batchSizeHistogram = MetricManager.INSTANCE.getHistogram(name(GremlinServer.class, "op", "batchSize"));
+    private static final Histogram batchBytesHistogram = MetricManager.INSTANCE.getHistogram(name(GremlinServer.class, "op", "batchBytes"));
+
+    /**
+     * The weight of the latest message in the average size of a result, which favors recent messages so that the
+     * batch size follows a change in the kind of results a traversal produces.
+     */
+    private static final double WEIGHT = 0.5d;
+
+    private final int targetBytes;
+    private final long maxLatency;
+    private int batchSize;
+    private double bytesPerResult = -1.0d;
+    private long batchStarted = System.nanoTime();
+
+    private ResultBatchSizer(final int batchSize, final int targetBytes, final long maxLatency) {
+        this.batchSize = batchSize;
+        this.targetBytes = targetBytes;
+        this.maxLatency = maxLatency;
+    }
+
+    /**
+     * Creates the sizer of the batches of a request, which only adapts if the request does not set its own batch
+     * size.
+     */
+    public static ResultBatchSizer create(final RequestMessage msg, final Settings settings) {
+        final Optional<Integer> requestedBatchSize = msg.optionalArgs(Tokens.ARGS_BATCH_SIZE);
+        if (requestedBatchSize.isPresent() || settings.resultIterationBatchBytes <= 0)
+            return new ResultBatchSizer(requestedBatchSize.orElse(settings.resultIterationBatchSize), 0, 0);
+
+        return new ResultBatchSizer(Math.max(1, settings.resultIterationBatchSize), settings.resultIterationBatchBytes,
+                TimeUnit.MILLISECONDS.toNanos(Math.max(0, settings.resultIterationBatchLatency)));
+    }
+
+    /**
+     * Gets the number of results the next batch is to hold at most.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Determines if the batch is to be sent back to the client before more results are added to it.
+     */
+    public boolean isFull(final ResultBatch batch) {
+        if (batch.size() >= batchSize)
+            return true;
+        if (targetBytes <= 0 || batch.size() == 0)
+            return false;
+        return batch.getSerializedBytes() >= targetBytes ||
+                (maxLatency > 0 && System.nanoTime() - batchStarted >= maxLatency);
+    }
+
+    /**
+     * Restarts the time spent filling the batch in progress when a suspended iteration resumes, so that the time
+     * spent waiting for the client to catch up does not send it early.
+     */
+    public void resumed() {
+        batchStarted = System.nanoTime();
+    }
+
+    /**
+     * Learns from the size of the frame made of the batch, which must be called before the batch is reset or the
+     * frame is written.
+     */
+    public void sent(final ResultBatch batch, final Frame frame) {
+        batchStarted = System.nanoTime();
+        if (targetBytes <= 0 || batch.size() == 0)
+            return;
+
+        final Object msg = frame.getMsg();
+        final int bytes = msg instanceof ByteBuf ? ((ByteBuf) msg).readableBytes() : msg.toString().length();
+        batchSizeHistogram.update(batch.size());
+        batchBytesHistogram.update(bytes);
+
+        final double measured = (double) bytes / batch.size();
+        bytesPerResult = bytesPerResult < 0 ? measured : WEIGHT * measured + (1.0d - WEIGHT) * bytesPerResult;
+        batchSize = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, Math.round(targetBytes / bytesPerResult)));
+    }
+}
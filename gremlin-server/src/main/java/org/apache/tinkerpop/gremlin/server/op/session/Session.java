@@ -79,13 +79,16 @@ public class Session {
      */
     private final GremlinExecutor gremlinExecutor;
 
-    private final ThreadFactory threadFactoryWorker = ThreadFactoryUtil.create("session-%d");
+    /**
+     * The thread factories are shared by all sessions so that each session thread gets its own number.
+     */
+    private static final ThreadFactory threadFactoryWorker = ThreadFactoryUtil.create("session-%d");
 
     /**
      * By binding the session to run ScriptEngine evaluations in a specific thread, each request will respect
      * the ThreadLocal nature of Graph implementations.
      */
-    private final ExecutorService executor = Executors.newSingleThreadExecutor(threadFactoryWorker);
+    private final ExecutorService executor;
 
     private final ConcurrentHashMap<String, Session> sessions;
 
@@ -97,6 +100,8 @@ public class Session {
         this.graphManager = context.getGraphManager();
         this.scheduledExecutorService = context.getScheduledExecutorService();
         this.sessions = sessions;
+        this.executor = Executors.newSingleThreadExecutor(settings.useVirtualThreads ?
+                VirtualThreadFactoryWorker.INSTANCE : threadFactoryWorker);
 
         final Settings.ProcessorSettings processorSettings = this.settings.optionalProcessor(SessionOpProcessor.class).
                 orElse(SessionOpProcessor.DEFAULT_SETTINGS);
@@ -252,4 +257,12 @@ public class Session {
         final GremlinScriptEngine engine = gremlinExecutor.getScriptEngineManager().getEngineByName(engineName);
         MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "session", session, "class-cache");
     }
+
+    /**
+     * Holds the factory of virtual session threads, which is only created on first use as it requires a JVM that
+     * supports them.
+     */
+    private static final class VirtualThreadFactoryWorker {
+        private static final ThreadFactory INSTANCE = ThreadFactoryUtil.createVirtual("session-%d");
+    }
 }
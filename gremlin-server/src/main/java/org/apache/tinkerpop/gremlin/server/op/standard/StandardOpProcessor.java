@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
@@ -93,6 +94,20 @@ public class StandardOpProcessor extends AbstractEvalOpProcessor {
         // do nothing = no resources to release
     }
 
+    /**
+     * Sessionless results may be iterated on another thread when none of the graphs the script could have used
+     * support transactions, as there is then no transaction bound to the thread that evaluated it.
+     */
+    @Override
+    protected boolean isSuspendable(final Context context) {
+        final GraphManager graphManager = context.getGraphManager();
+        for (final String graphName : graphManager.getGraphNames()) {
+            if (graphManager.getGraph(graphName).features().graph().supportsTransactions())
+                return false;
+        }
+        return true;
+    }
+
     private void evalOp(final Context context) throws OpProcessorException {
         if (logger.isDebugEnabled()) {
             final RequestMessage msg = context.getRequestMessage();
@@ -18,11 +18,11 @@
  */
 package org.apache.tinkerpop.gremlin.server.op.traversal;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Timer;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.netty.channel.ChannelHandlerContext;
-import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
@@ -38,36 +38,39 @@ import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
+import org.apache.tinkerpop.gremlin.server.ResponseHandlerContext;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
-import org.apache.tinkerpop.gremlin.server.handler.StateKey;
 import org.apache.tinkerpop.gremlin.server.op.AbstractOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
+import org.apache.tinkerpop.gremlin.server.op.ResultBatch;
+import org.apache.tinkerpop.gremlin.server.op.ResultBatchSizer;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.server.util.SideEffectIterator;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.script.Bindings;
 import javax.script.SimpleBindings;
 import java.lang.reflect.UndeclaredThrowableException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.codahale.metrics.MetricRegistry.name;
 
@@ -81,6 +84,8 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
     private static final ObjectMapper mapper = GraphSONMapper.build().version(GraphSONVersion.V2_0).create().createMapper();
     public static final String OP_PROCESSOR_NAME = "traversal";
     public static final Timer traversalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "traversal"));
+    public static final Counter planCacheHits = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "traversal", "plan-cache-hit-count"));
+    public static final Counter planCacheMisses = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "traversal", "plan-cache-miss-count"));
 
     public static final Settings.ProcessorSettings DEFAULT_SETTINGS = new Settings.ProcessorSettings();
 
@@ -104,16 +109,35 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
      */
     public static final long DEFAULT_CACHE_MAX_SIZE = 1000;
 
+    /**
+     * Configuration setting for the maximum number of compiled traversals kept for reuse by requests that send the
+     * same bytecode to the same traversal source.
+     */
+    public static final String CONFIG_PLAN_CACHE_MAX_SIZE = "planCacheMaxSize";
+
+    /**
+     * Default size of the compiled traversal cache, which is disabled when zero.
+     */
+    public static final long DEFAULT_PLAN_CACHE_MAX_SIZE = 0;
+
     static {
         DEFAULT_SETTINGS.className = TraversalOpProcessor.class.getCanonicalName();
         DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
             put(CONFIG_CACHE_EXPIRATION_TIME, DEFAULT_CACHE_EXPIRATION_TIME);
             put(CONFIG_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+            put(CONFIG_PLAN_CACHE_MAX_SIZE, DEFAULT_PLAN_CACHE_MAX_SIZE);
         }};
     }
 
     protected static Cache<UUID, TraversalSideEffects> cache = null;
 
+    /**
+     * Traversals with their strategies applied, keyed on the traversal source and the bytecode they were translated
+     * from, which are cloned for requests that send the same bytecode rather than being translated and compiled
+     * again. It is {@code null} when {@link #CONFIG_PLAN_CACHE_MAX_SIZE} is zero.
+     */
+    protected static Cache<Pair<TraversalSource, Bytecode>, Traversal.Admin<?, ?>> planCache = null;
+
     private static final Bindings EMPTY_BINDINGS = new SimpleBindings();
 
     public TraversalOpProcessor() {
@@ -145,6 +169,18 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
         logger.info("Initialized cache for {} with size {} and expiration time of {} ms",
                 TraversalOpProcessor.class.getSimpleName(), maxSize, expirationTime);
+
+        final long planCacheMaxSize = Long.parseLong(processorSettings.config.getOrDefault(
+                TraversalOpProcessor.CONFIG_PLAN_CACHE_MAX_SIZE, TraversalOpProcessor.DEFAULT_PLAN_CACHE_MAX_SIZE).toString());
+        if (planCacheMaxSize > 0) {
+            planCache = Caffeine.newBuilder()
+                    .maximumSize(planCacheMaxSize)
+                    .build();
+            logger.info("Initialized compiled traversal cache for {} with size {}",
+                    TraversalOpProcessor.class.getSimpleName(), planCacheMaxSize);
+        } else {
+            planCache = null;
+        }
     }
 
     @Override
@@ -353,10 +389,21 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final String traversalSourceName = aliases.entrySet().iterator().next().getValue();
         final TraversalSource g = graphManager.getTraversalSource(traversalSourceName);
 
+        final Pair<TraversalSource, Bytecode> planKey = null != planCache && isCacheable(bytecode) ? Pair.with(g, bytecode) : null;
+        final Traversal.Admin<?, ?> plan = null == planKey ? null : planCache.getIfPresent(planKey);
+        if (null != planKey) {
+            if (null != plan)
+                planCacheHits.inc();
+            else
+                planCacheMisses.inc();
+        }
+
         final Traversal.Admin<?, ?> traversal;
         try {
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
-            if (!lambdaLanguage.isPresent())
+            if (null != plan)
+                traversal = plan.clone();
+            else if (!lambdaLanguage.isPresent())
                 traversal = JavaTranslator.of(g).translate(bytecode);
             else
                 traversal = context.getGremlinExecutor().eval(bytecode, EMPTY_BINDINGS, lambdaLanguage.get(), traversalSourceName);
@@ -369,6 +416,13 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         }
 
         final Timer.Context timerContext = traversalOpTimer.time();
+
+        // the timer is stopped once the iteration of the results ends, which may be on another thread if it is
+        // suspended while the client catches up
+        final AtomicBoolean timerStopped = new AtomicBoolean(false);
+        final Runnable stopTimer = () -> {
+            if (timerStopped.compareAndSet(false, true)) timerContext.stop();
+        };
         final FutureTask<Void> evalFuture = new FutureTask<>(() -> {
             final ChannelHandlerContext ctx = context.getChannelHandlerContext();
             final Graph graph = g.getGraph();
@@ -377,10 +431,16 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                 beforeProcessing(graph, context);
 
                 try {
-                    // compile the traversal - without it getEndStep() has nothing in it
-                    traversal.applyStrategies();
-                    handleIterator(context, new TraverserIterator(traversal), graph);
+                    // compile the traversal - without it getEndStep() has nothing in it. a traversal cloned from
+                    // the plan cache is already compiled and a newly compiled one is cloned into the cache before it
+                    // is iterated
+                    if (!traversal.isLocked()) {
+                        traversal.applyStrategies();
+                        if (null != planKey) planCache.put(planKey, traversal.clone());
+                    }
+                    handleIterator(context, new TraverserIterator(traversal), graph, stopTimer);
                 } catch (Exception ex) {
+                    stopTimer.run();
                     Throwable t = ex;
                     if (ex instanceof UndeclaredThrowableException)
                         t = t.getCause();
@@ -406,8 +466,7 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                         .statusMessage(ex.getMessage())
                         .statusAttributeException(ex).create());
                 onError(graph, context);
-            } finally {
-                timerContext.stop();
+                stopTimer.run();
             }
 
             return null;
@@ -420,6 +479,22 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         }
     }
 
+    /**
+     * Determines if the traversal compiled from the bytecode may be reused by other requests, which is not the case
+     * when it holds lambdas or when its side-effects, sacks or graph computer are configured by the traversal source
+     * with values that the clones of the traversal would share.
+     */
+    private static boolean isCacheable(final Bytecode bytecode) {
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            final String operator = instruction.getOperator();
+            if (operator.equals(TraversalSource.Symbols.withSideEffect) ||
+                    operator.equals(TraversalSource.Symbols.withSack) ||
+                    operator.equals(TraversalSource.Symbols.withComputer))
+                return false;
+        }
+        return !BytecodeHelper.getLambdaLanguage(bytecode).isPresent();
+    }
+
     @Override
     protected void iterateComplete(final ChannelHandlerContext ctx, final RequestMessage msg, final Iterator itty) {
         if (itty instanceof TraverserIterator) {
@@ -472,12 +547,19 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
     }
 
     protected void handleIterator(final Context context, final Iterator itty, final Graph graph) throws InterruptedException {
+        handleIterator(context, itty, graph, () -> {});
+    }
+
+    /**
+     * A variant of {@link #handleIterator(Context, Iterator, Graph)} that runs a callback once the iteration of the
+     * results ends, whether it completed or was abandoned, which may be after this method returned if the iteration
+     * was suspended while the channel was not writable. The callback is not run if this method throws.
+     */
+    protected void handleIterator(final Context context, final Iterator itty, final Graph graph,
+                                  final Runnable onIterationEnd) throws InterruptedException {
         final ChannelHandlerContext ctx = context.getChannelHandlerContext();
         final RequestMessage msg = context.getRequestMessage();
         final Settings settings = context.getSettings();
-        final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
-        final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
-        boolean warnOnce = false;
 
         // we have an empty iterator - happens on stuff like: g.V().iterate()
         if (!itty.hasNext()) {
@@ -493,18 +575,50 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                     .code(ResponseStatusCode.NO_CONTENT)
                     .statusAttributes(generateStatusAttributes(ctx, msg, ResponseStatusCode.NO_CONTENT, itty, settings))
                     .create());
+            onIterationEnd.run();
             return;
         }
 
         // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        final ResultBatchSizer sizer = ResultBatchSizer.create(msg, settings);
+        iterateResults(context, itty, graph, new ResultBatch(ctx, sizer.getBatchSize()), sizer, onIterationEnd,
+                false, System.currentTimeMillis());
+    }
+
+    /**
+     * Determines if the iteration of the results of a traversal may be suspended while the channel is not writable,
+     * which is the case when the graph does not support transactions that would be bound to the iterating thread.
+     *
+     * @see #isSuspendable(Context)
+     */
+    protected boolean isSuspendable(final Context context, final Graph graph) {
+        return !graph.features().graph().supportsTransactions();
+    }
+
+    private void iterateResults(final Context context, final Iterator itty, final Graph graph, final ResultBatch aggregate,
+                                final ResultBatchSizer sizer, final Runnable onIterationEnd, final boolean warned,
+                                final long started) throws InterruptedException {
+        try {
+            iterateBatches(context, itty, graph, aggregate, sizer, onIterationEnd, warned, started);
+        } catch (Exception ex) {
+            aggregate.release();
+            throw ex;
+        }
+    }
+
+    private void iterateBatches(final Context context, final Iterator itty, final Graph graph, final ResultBatch aggregate,
+                                final ResultBatchSizer sizer, final Runnable onIterationEnd, final boolean warned,
+                                final long started) throws InterruptedException {
+        final ChannelHandlerContext ctx = context.getChannelHandlerContext();
+        final RequestMessage msg = context.getRequestMessage();
+        final Settings settings = context.getSettings();
+        final ResponseHandlerContext rhc = new ResponseHandlerContext(context);
+        boolean warnOnce = warned;
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
-        // the loop on calls to hasNext().
-        boolean hasMore = itty.hasNext();
+        // the loop on calls to hasNext(). iteration only starts or resumes while there is something left to write.
+        boolean hasMore = true;
 
         while (hasMore) {
             if (Thread.interrupted()) throw new InterruptedException();
@@ -526,12 +640,12 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
             // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
             // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
             // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+            if (!sizer.isFull(aggregate) && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
 
             // send back a page of results if batch size is met or if it's the end of the results being iterated.
             // also check writeability of the channel to prevent OOME for slow clients.
             if (ctx.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
+                if (forceFlush || sizer.isFull(aggregate) || !itty.hasNext()) {
                     final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
 
                     // serialize here because in sessionless requests the serialization must occur in the same
@@ -539,13 +653,14 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                     // thread that processed the eval of the script so, we have to push serialization down into that
                     Frame frame = null;
                     try {
-                        frame = makeFrame(ctx, msg, serializer, useBinary, aggregate, code,
+                        frame = makeFrame(rhc, msg, aggregate, code,
                                 generateResultMetaData(ctx, msg, code, itty, settings),
                                 generateStatusAttributes(ctx, msg, code, itty, settings));
                     } catch (Exception ex) {
                         // a frame may use a Bytebuf which is a countable release - if it does not get written
                         // downstream it needs to be released here
                         if (frame != null) frame.tryRelease();
+                        aggregate.release();
 
                         // exception is handled in makeFrame() - serialization error gets written back to driver
                         // at that point
@@ -553,10 +668,12 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                         break;
                     }
 
+                    sizer.sent(aggregate, frame);
+
                     try {
                         // only need to reset the aggregation list if there's more stuff to write
                         if (itty.hasNext())
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
+                            aggregate.reset();
                         else {
                             // iteration and serialization are both complete which means this finished successfully. note that
                             // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
@@ -592,10 +709,36 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                     warnOnce = true;
                 }
 
+                // where the results can be written from another thread, stop iterating and resume once the client
+                // has caught up so that no worker is held by a slow client
+                if (isSuspendable(context, graph)) {
+                    resumeWhenWritable(rhc, started, new Continuation() {
+                        @Override
+                        public void resume() throws Exception {
+                            sizer.resumed();
+                            iterateResults(context, itty, graph, aggregate, sizer, onIterationEnd, true, started);
+                        }
+
+                        @Override
+                        public void abandon() {
+                            try {
+                                aggregate.release();
+                                CloseableIterator.closeIterator(itty);
+                                onError(graph, context);
+                            } finally {
+                                onIterationEnd.run();
+                            }
+                        }
+                    });
+                    return;
+                }
+
                 // since the client is lagging we can hold here for a period of time for the client to catch up.
                 // this isn't blocking the IO thread - just a worker.
                 TimeUnit.MILLISECONDS.sleep(10);
             }
         }
+
+        onIterationEnd.run();
     }
 }
@@ -68,7 +68,9 @@ public class ServerGremlinExecutor {
      * Create a new object from {@link Settings} where thread pools are externally assigned. Note that if the
      * {@code scheduleExecutorServiceClass} is set to {@code null} it will be created via
      * {@link Executors#newScheduledThreadPool(int, ThreadFactory)}.  If either of the {@link ExecutorService}
-     * instances are supplied, the {@link Settings#gremlinPool} value will be ignored for the pool size.
+     * instances are supplied, the {@link Settings#gremlinPool} value will be ignored for the pool size. When
+     * {@link Settings#useVirtualThreads} is enabled and no {@code gremlinExecutorService} is supplied, each request
+     * runs on its own virtual thread and {@link Settings#gremlinPool} limits how many run at once.
      */
     public ServerGremlinExecutor(final Settings settings, final ExecutorService gremlinExecutorService,
                                  final ScheduledExecutorService scheduledExecutorService) {
@@ -92,8 +94,12 @@ public class ServerGremlinExecutor {
         }
 
         if (null == gremlinExecutorService) {
-            final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
-            this.gremlinExecutorService = Executors.newFixedThreadPool(settings.gremlinPool, threadFactoryGremlin);
+            if (settings.useVirtualThreads) {
+                this.gremlinExecutorService = new VirtualThreadExecutorService("exec-%d", settings.gremlinPool);
+            } else {
+                final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
+                this.gremlinExecutorService = Executors.newFixedThreadPool(settings.gremlinPool, threadFactoryGremlin);
+            }
         } else {
             this.gremlinExecutorService = gremlinExecutorService;
         }
@@ -105,7 +111,10 @@ public class ServerGremlinExecutor {
             this.scheduledExecutorService = scheduledExecutorService;
         }
 
-        logger.info("Initialized Gremlin thread pool.  Threads in pool named with pattern gremlin-*");
+        if (settings.useVirtualThreads && null == gremlinExecutorService)
+            logger.info("Initialized Gremlin virtual threads limited to {} at once.  Threads named with pattern gremlin-*", settings.gremlinPool);
+        else
+            logger.info("Initialized Gremlin thread pool.  Threads in pool named with pattern gremlin-*");
 
         final GremlinExecutor.Builder gremlinExecutorBuilder = GremlinExecutor.build()
                 .scriptEvaluationTimeout(settings.scriptEvaluationTimeout)
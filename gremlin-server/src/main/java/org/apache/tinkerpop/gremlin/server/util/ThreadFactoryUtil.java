@@ -32,4 +32,32 @@ public final class ThreadFactoryUtil {
     public static ThreadFactory create(final String pattern) {
         return new BasicThreadFactory.Builder().namingPattern(SERVER_THREAD_PREFIX + pattern).build();
     }
+
+    /**
+     * Creates a {@code ThreadFactory} of virtual threads named with the pattern, which is only possible on Java 21
+     * or later.
+     *
+     * @throws IllegalStateException if the JVM does not support virtual threads
+     */
+    public static ThreadFactory createVirtual(final String pattern) {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final ThreadFactory factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+            return new BasicThreadFactory.Builder().wrappedFactory(factory).namingPattern(SERVER_THREAD_PREFIX + pattern).build();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Virtual threads are not supported by this JVM - Java 21 or later is required", ex);
+        }
+    }
+
+    /**
+     * Determines if the JVM supports virtual threads.
+     */
+    public static boolean supportsVirtualThreads() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException nsme) {
+            return false;
+        }
+    }
 }
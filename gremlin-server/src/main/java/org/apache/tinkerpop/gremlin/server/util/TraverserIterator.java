@@ -30,7 +30,7 @@ import java.util.Iterator;
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
-public class TraverserIterator implements Iterator<Object> {
+public class TraverserIterator implements Iterator<Object>, AutoCloseable {
 
     private final Traversal.Admin traversal;
     private final HaltedTraverserStrategy haltedTraverserStrategy;
@@ -65,6 +65,14 @@ public class TraverserIterator implements Iterator<Object> {
         return new DefaultRemoteTraverser<>(t.get(), t.bulk());
     }
 
+    /**
+     * Closes the traversal so that the resources opened by its steps are released when it is not fully iterated.
+     */
+    @Override
+    public void close() throws Exception {
+        this.traversal.close();
+    }
+
     private final void fillBulker() {
         while (this.traversal.hasNext() && this.bulker.size() < this.barrierSize) {
             this.bulker.add(this.traversal.nextTraverser());
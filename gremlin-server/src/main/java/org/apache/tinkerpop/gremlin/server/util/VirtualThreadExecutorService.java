@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@code ExecutorService} that runs each task on a new virtual thread and allows no more than a fixed number of
+ * tasks to run at once. Tasks beyond that limit wait on their own virtual thread for a running task to finish, so
+ * that a task which blocks on I/O holds neither a platform thread nor a place in a queue of other tasks. Timeouts
+ * cancel tasks as they would on a thread pool, by interrupting the thread that runs them.
+ *
+ * @author agent (agent@local)
+ */
+public final class VirtualThreadExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    /**
+     * Creates the executor, which is only possible on Java 21 or later.
+     *
+     * @param pattern the naming pattern of the threads
+     * @param maxConcurrency the number of tasks that may run at once
+     * @throws IllegalStateException if the JVM does not support virtual threads
+     */
+    public VirtualThreadExecutorService(final String pattern, final int maxConcurrency) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("maxConcurrency must be greater than zero");
+
+        final ThreadFactory threadFactory = ThreadFactoryUtil.createVirtual(pattern);
+        try {
+            this.executor = (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        executor.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException ie) {
+                // the executor was shutdown while the task waited for its turn
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return executor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+}
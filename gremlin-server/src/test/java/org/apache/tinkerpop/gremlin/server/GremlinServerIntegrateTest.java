@@ -56,6 +56,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.server.handler.OpSelectorHandler;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.standard.StandardOpProcessor;
+import org.apache.tinkerpop.gremlin.server.op.traversal.TraversalOpProcessor;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -301,6 +302,16 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldTimeOutRemoteTraversal":
                 settings.scriptEvaluationTimeout = 500;
                 break;
+            case "shouldReuseCompiledTraversalsWithPlanCache":
+                final Settings.ProcessorSettings processorSettingsPlanCache = new Settings.ProcessorSettings();
+                processorSettingsPlanCache.className = TraversalOpProcessor.class.getName();
+                processorSettingsPlanCache.config = new HashMap<String,Object>() {{
+                    put(TraversalOpProcessor.CONFIG_CACHE_EXPIRATION_TIME, TraversalOpProcessor.DEFAULT_CACHE_EXPIRATION_TIME);
+                    put(TraversalOpProcessor.CONFIG_CACHE_MAX_SIZE, TraversalOpProcessor.DEFAULT_CACHE_MAX_SIZE);
+                    put(TraversalOpProcessor.CONFIG_PLAN_CACHE_MAX_SIZE, 100);
+                }};
+                settings.processors.add(processorSettingsPlanCache);
+                break;
             case "shouldPingChannelIfClientDies":
                 settings.keepAliveInterval = 1000;
                 break;
@@ -1164,6 +1175,31 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldReuseCompiledTraversalsWithPlanCache() throws Exception {
+        final GraphTraversalSource g = traversal().withRemote(conf);
+        g.addV("person").property("age", 20).iterate();
+        final long hits = TraversalOpProcessor.planCacheHits.getCount();
+        final long misses = TraversalOpProcessor.planCacheMisses.getCount();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1L, g.V().has("age", 20).count().next().longValue());
+            assertEquals(0L, g.V().has("age", 10).count().next().longValue());
+
+            // every request gets its own side-effects even though they are iterated from clones of one traversal
+            final GraphTraversal<Vertex, Long> traversal = g.V().aggregate("a").count();
+            assertEquals(1L, traversal.next().longValue());
+            assertEquals(1, ((BulkSet) traversal.asAdmin().getSideEffects().get("a")).size());
+        }
+
+        // each of the three traversals is compiled on the first pass and reused from the cache on the other two
+        assertEquals(hits + 6, TraversalOpProcessor.planCacheHits.getCount());
+        assertEquals(misses + 3, TraversalOpProcessor.planCacheMisses.getCount());
+
+        g.addV("person").property("age", 10).iterate();
+        assertEquals(1L, g.V().has("age", 10).count().next().longValue());
+        assertEquals(2L, g.V().aggregate("a").count().next().longValue());
+    }
+
     @Test
     public void shouldSupportLambdasUsingWithRemote() throws Exception {
         final GraphTraversalSource g = traversal().withRemote(conf);
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class WritabilityMonitorTest {
+
+    @Test
+    public void shouldRunTaskRightAwayWhenChannelIsWritable() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new OpExecutorHandler(null, null, null, null));
+        final AtomicInteger runs = new AtomicInteger(0);
+        WritabilityMonitor.whenWritable(channel, runs::incrementAndGet);
+        assertEquals(1, runs.get());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldRunTaskOnceChannelIsWritableAgain() {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final AtomicInteger runs = new AtomicInteger(0);
+        WritabilityMonitor.whenWritable(channel, runs::incrementAndGet);
+        assertEquals(0, runs.get());
+
+        channel.flush();
+        channel.runPendingTasks();
+        assertTrue(channel.isWritable());
+        assertEquals(1, runs.get());
+
+        // tasks only ever run once
+        channel.write(Unpooled.wrappedBuffer(new byte[32]));
+        channel.flush();
+        channel.runPendingTasks();
+        assertEquals(1, runs.get());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldRunTaskWhenChannelCloses() {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final AtomicInteger runs = new AtomicInteger(0);
+        WritabilityMonitor.whenWritable(channel, runs::incrementAndGet);
+        assertEquals(0, runs.get());
+
+        channel.close();
+        channel.runPendingTasks();
+        assertEquals(1, runs.get());
+        channel.finishAndReleaseAll();
+    }
+
+    private static EmbeddedChannel createUnwritableChannel() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new OpExecutorHandler(null, null, null, null));
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        channel.write(Unpooled.wrappedBuffer(new byte[32]));
+        assertFalse(channel.isWritable());
+        return channel;
+    }
+}
@@ -18,15 +18,37 @@
  */
 package org.apache.tinkerpop.gremlin.server.op;
 
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerV3d0;
+import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.handler.OpExecutorHandler;
+import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class AbstractOpProcessorTest {
@@ -50,4 +72,157 @@ public class AbstractOpProcessorTest {
         assertEquals(request.getRequestId(), responseCaptor.getValue().getRequestId());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldResumeSuspendedIterationOnceChannelIsWritable() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountingIterator itty = new CountingIterator(10);
+
+        new SuspendingOpProcessor().handleIterator(createContext(channel, executor, null, 0), itty);
+
+        // iteration stopped on the calling thread as soon as the channel was found to not be writable
+        assertEquals(1, itty.iterated);
+        assertTrue(channel.outboundMessages().isEmpty());
+
+        channel.flush();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        ReferenceCountUtil.release(channel.readOutbound());
+        int frames = 0;
+        Object written;
+        while ((written = channel.readOutbound()) != null) {
+            assertTrue(written instanceof Frame);
+            ((Frame) written).tryRelease();
+            frames++;
+        }
+
+        assertEquals(10, itty.iterated);
+        assertEquals(5, frames);
+        assertFalse(itty.isClosed());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldAbandonSuspendedIterationWhenChannelCloses() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountingIterator itty = new CountingIterator(10);
+
+        new SuspendingOpProcessor().handleIterator(createContext(channel, executor, null, 0), itty);
+        assertFalse(itty.isClosed());
+
+        channel.close();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, itty.iterated);
+        assertTrue(itty.isClosed());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldTimeoutSuspendedIterationWhenChannelStaysUnwritable() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final ScheduledExecutorService scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        final CountingIterator itty = new CountingIterator(10);
+
+        try {
+            new SuspendingOpProcessor().handleIterator(createContext(channel, executor, scheduledExecutor, 100), itty);
+            assertTrue(itty.awaitClose(10, TimeUnit.SECONDS));
+
+            ReferenceCountUtil.release(channel.readOutbound());
+            final Object written = channel.readOutbound();
+            assertTrue(written instanceof ResponseMessage);
+            assertEquals(ResponseStatusCode.SERVER_ERROR_TIMEOUT, ((ResponseMessage) written).getStatus().getCode());
+            assertEquals(1, itty.iterated);
+        } finally {
+            executor.shutdownNow();
+            scheduledExecutor.shutdownNow();
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private static EmbeddedChannel createUnwritableChannel() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new OpExecutorHandler(null, null, null, null));
+        channel.attr(StateKey.SERIALIZER).set(new GraphSONMessageSerializerV3d0());
+        channel.attr(StateKey.USE_BINARY).set(false);
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        channel.write(Unpooled.wrappedBuffer(new byte[32]));
+        assertFalse(channel.isWritable());
+        return channel;
+    }
+
+    private static Context createContext(final EmbeddedChannel channel, final ExecutorService executor,
+                                         final ScheduledExecutorService scheduledExecutor, final long timeout) {
+        final Settings settings = new Settings();
+        settings.resultIterationBatchSize = 2;
+        settings.scriptEvaluationTimeout = timeout;
+
+        final GremlinExecutor gremlinExecutor = Mockito.mock(GremlinExecutor.class);
+        Mockito.when(gremlinExecutor.getExecutorService()).thenReturn(executor);
+
+        return new Context(RequestMessage.build("test").create(), channel.pipeline().firstContext(), settings,
+                null, gremlinExecutor, scheduledExecutor);
+    }
+
+    private static class SuspendingOpProcessor extends AbstractOpProcessor {
+        SuspendingOpProcessor() {
+            super(false);
+        }
+
+        @Override
+        protected boolean isSuspendable(final Context context) {
+            return true;
+        }
+
+        @Override
+        public String getName() {
+            return "suspending";
+        }
+
+        @Override
+        public ThrowingConsumer<Context> select(final Context ctx) {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class CountingIterator implements Iterator<Object>, AutoCloseable {
+        private final int size;
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile int iterated = 0;
+
+        CountingIterator(final int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterated < size;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return "result-" + iterated++;
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        boolean isClosed() {
+            return closed.getCount() == 0;
+        }
+
+        boolean awaitClose(final long time, final TimeUnit unit) throws InterruptedException {
+            return closed.await(time, unit);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphBinaryMessageSerializerV1;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class ResultBatchSizerTest {
+
+    private EmbeddedChannel channel;
+    private ChannelHandlerContext ctx;
+
+    @Before
+    public void setup() {
+        channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        channel.attr(StateKey.SERIALIZER).set(new GraphBinaryMessageSerializerV1());
+        channel.attr(StateKey.USE_BINARY).set(true);
+        ctx = channel.pipeline().firstContext();
+    }
+
+    @After
+    public void teardown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldKeepBatchSizeFixedByDefault() {
+        final Settings settings = new Settings();
+        settings.resultIterationBatchSize = 2;
+        final ResultBatchSizer sizer = ResultBatchSizer.create(RequestMessage.build("eval").create(), settings);
+        final ResultBatch batch = new ResultBatch(ctx, sizer.getBatchSize());
+
+        batch.add("a");
+        assertFalse(sizer.isFull(batch));
+        batch.add("b");
+        assertTrue(sizer.isFull(batch));
+
+        sizer.sent(batch, new Frame(Unpooled.buffer().writeZero(100000)));
+        assertEquals(2, sizer.getBatchSize());
+        batch.release();
+    }
+
+    @Test
+    public void shouldNotAdaptBatchSizeSetByRequest() {
+        final Settings settings = new Settings();
+        settings.resultIterationBatchBytes = 10;
+        final ResultBatchSizer sizer = ResultBatchSizer.create(
+                RequestMessage.build("eval").addArg(Tokens.ARGS_BATCH_SIZE, 3).create(), settings);
+        final ResultBatch batch = new ResultBatch(ctx, sizer.getBatchSize());
+
+        batch.add("aaaaaaaaaaaaaaaaaaaa");
+        batch.add("bbbbbbbbbbbbbbbbbbbb");
+        assertFalse(sizer.isFull(batch));
+        batch.add("cccccccccccccccccccc");
+        assertTrue(sizer.isFull(batch));
+        batch.release();
+    }
+
+    @Test
+    public void shouldFillBatchToTargetBytes() {
+        final Settings settings = new Settings();
+        settings.resultIterationBatchBytes = 100;
+        final ResultBatchSizer sizer = ResultBatchSizer.create(RequestMessage.build("eval").create(), settings);
+        final ResultBatch batch = new ResultBatch(ctx, sizer.getBatchSize());
+
+        int added = 0;
+        while (!sizer.isFull(batch)) {
+            batch.add("0123456789012345678901234567890123456789");
+            added++;
+        }
+
+        assertTrue(added < settings.resultIterationBatchSize);
+        assertTrue(batch.getSerializedBytes() >= settings.resultIterationBatchBytes);
+        batch.release();
+    }
+
+    @Test
+    public void shouldLearnBatchSizeFromSentFrames() {
+        final Settings settings = new Settings();
+        settings.resultIterationBatchBytes = 1000;
+        final ResultBatchSizer sizer = ResultBatchSizer.create(RequestMessage.build("eval").create(), settings);
+        assertEquals(settings.resultIterationBatchSize, sizer.getBatchSize());
+
+        final ResultBatch batch = new ResultBatch(ctx, sizer.getBatchSize());
+        for (int ix = 0; ix < 10; ix++) {
+            batch.add(ix);
+        }
+
+        // ten results took 500 bytes so twenty should take the target
+        sizer.sent(batch, new Frame(Unpooled.buffer().writeZero(500)));
+        assertEquals(20, sizer.getBatchSize());
+
+        // the next ten took 1000 bytes which averages to 75 bytes a result
+        sizer.sent(batch, new Frame(Unpooled.buffer().writeZero(1000)));
+        assertEquals(13, sizer.getBatchSize());
+        batch.release();
+    }
+
+    @Test
+    public void shouldSendBatchAfterMaxLatency() throws Exception {
+        final Settings settings = new Settings();
+        settings.resultIterationBatchBytes = 1000000;
+        settings.resultIterationBatchLatency = 1;
+        final ResultBatchSizer sizer = ResultBatchSizer.create(RequestMessage.build("eval").create(), settings);
+        final ResultBatch batch = new ResultBatch(ctx, sizer.getBatchSize());
+
+        assertFalse(sizer.isFull(batch));
+        batch.add("a");
+        Thread.sleep(10);
+        assertTrue(sizer.isFull(batch));
+        batch.release();
+    }
+
+    @Test
+    public void shouldRestartLatencyWhenResumed() throws Exception {
+        final Settings settings = new Settings();
+        settings.resultIterationBatchBytes = 1000000;
+        settings.resultIterationBatchLatency = 100;
+        final ResultBatchSizer sizer = ResultBatchSizer.create(RequestMessage.build("eval").create(), settings);
+        final ResultBatch batch = new ResultBatch(ctx, sizer.getBatchSize());
+
+        batch.add("a");
+        Thread.sleep(150);
+        assertTrue(sizer.isFull(batch));
+        sizer.resumed();
+        assertFalse(sizer.isFull(batch));
+        batch.release();
+    }
+}
@@ -51,6 +51,11 @@ public class GraphTraversalBenchmark extends AbstractGraphBenchmark {
         return g.V().out().out().out().toList();
     }
 
+    @Benchmark
+    public List<Vertex> g_V_out_barrier_out_barrier_out() throws Exception {
+        return g.V().out().barrier().out().barrier().out().toList();
+    }
+
     @Benchmark
     public List<Path> g_V_out_out_out_path() throws Exception {
         return g.V().out().out().out().path().toList();
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserPool;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.util.List;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+
+/**
+ * Compares traversals against a {@link org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph} loaded with the
+ * Grateful Dead data set with and without a pool of traversers to reuse. Run with {@code -prof gc} to compare the
+ * allocation rate of each.
+ *
+ * @author agent (agent@local)
+ */
+@LoadGraphWith(LoadGraphWith.GraphData.GRATEFUL)
+public class TraverserPoolBenchmark extends AbstractGraphBenchmark {
+
+    @Param({"0", "1024"})
+    public int traverserPoolSize;
+
+    private GraphTraversalSource source() {
+        return 0 == this.traverserPoolSize ? g : g.with(TraverserPool.TRAVERSER_POOL_SIZE, this.traverserPoolSize);
+    }
+
+    @Benchmark
+    public List<Vertex> g_V_out_barrier_out_barrier_out() throws Exception {
+        return source().V().out().barrier().out().barrier().out().toList();
+    }
+
+    @Benchmark
+    public List<Vertex> g_V_out_hasXperformances_gtX100XX_out_hasLabelXsongX() throws Exception {
+        return source().V().out().has("performances", P.gt(100)).out().hasLabel("song").toList();
+    }
+
+    @Benchmark
+    public Long g_V_out_out_out_notXhasXsongType_originalXX_count() throws Exception {
+        return source().V().out().out().out().not(out().has("songType", "original")).count().next();
+    }
+
+    @Benchmark
+    public List<Vertex> g_V_repeatXoutX_timesX3X() throws Exception {
+        return source().V().repeat(out()).times(3).toList();
+    }
+}
@@ -37,6 +37,8 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
 import java.util.HashSet;
@@ -62,6 +64,8 @@ public final class TinkerGraphComputer implements GraphComputer {
                 TraversalStrategies.GlobalCache.getStrategies(GraphComputer.class).clone().removeStrategies(GraphFilterStrategy.class));
     }
 
+    private static final Logger logger = LoggerFactory.getLogger(TinkerGraphComputer.class);
+
     private ResultGraph resultGraph = null;
     private Persist persist = null;
 
@@ -179,6 +183,7 @@ public final class TinkerGraphComputer implements GraphComputer {
                             vertexProgram.workerIterationEnd(workerMemory.asImmutable());
                             workerMemory.complete();
                         });
+                        logWorkerTimes(workers, "iteration " + this.memory.getIteration());
                         this.messageBoard.completeIteration();
                         this.memory.completeSubRound();
                         if (this.vertexProgram.terminate(this.memory)) {
@@ -194,18 +199,16 @@ public final class TinkerGraphComputer implements GraphComputer {
                 // execute mapreduce jobs
                 for (final MapReduce mapReduce : mapReducers) {
                     final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                    final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
                     workers.setMapReduce(mapReduce);
-                    workers.executeMapReduce(workerMapReduce -> {
+                    workers.executeMap((vertices, workerMapReduce) -> {
                         workerMapReduce.workerStart(MapReduce.Stage.MAP);
-                        while (true) {
+                        while (vertices.hasNext()) {
                             if (Thread.interrupted()) throw new TraversalInterruptedException();
-                            final Vertex vertex = vertices.next();
-                            if (null == vertex) break;
-                            workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
+                            workerMapReduce.map(ComputerGraph.mapReduce(vertices.next()), mapEmitter);
                         }
                         workerMapReduce.workerEnd(MapReduce.Stage.MAP);
                     });
+                    logWorkerTimes(workers, mapReduce.getMemoryKey() + " map");
                     // sort results if a map output sort is defined
                     mapEmitter.complete(mapReduce);
 
@@ -255,6 +258,19 @@ public final class TinkerGraphComputer implements GraphComputer {
         return StringFactory.graphComputerString(this);
     }
 
+    private static void logWorkerTimes(final TinkerWorkerPool workers, final String phase) {
+        if (logger.isDebugEnabled()) {
+            final long[] times = workers.getWorkerTimes();
+            final long[] counts = workers.getWorkerVertexCounts();
+            final StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < times.length; i++) {
+                if (i > 0) builder.append(", ");
+                builder.append(times[i] / 1000000).append("ms/").append(counts[i]);
+            }
+            logger.debug("Worker times and vertex counts for {}: [{}]", phase, builder);
+        }
+    }
+
     private static class SynchronizedIterator<V> {
 
         private final Iterator<V> iterator;
@@ -22,7 +22,6 @@ import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
 import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -45,13 +44,21 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * The view of a {@link TinkerGraph} seen by a {@link TinkerGraphComputer}, which filters the graph and holds the
+ * values of the {@link VertexComputeKey}s apart from the graph. Each compute key is stored as a column indexed by the
+ * ordinal of the vertex rather than in maps held per vertex. A column holds a {@code double[]} or {@code long[]} when
+ * the first value written to it is a {@code Double} or {@code Long}, so programs such as PageRank that rewrite one
+ * number per vertex on every iteration do not allocate to store it. A vertex with several values for a key, a value
+ * with meta-properties or a value of a type the column cannot hold is kept in a list of properties for that vertex.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerGraphComputerView {
 
     private final TinkerGraph graph;
     protected final Map<String, VertexComputeKey> computeKeys;
-    private Map<Element, Map<String, List<VertexProperty<?>>>> computeProperties;
+    private final Map<String, ComputeColumn> computeColumns;
+    private final TinkerVertex[] vertices;
     private final Set<Object> legalVertices = new HashSet<>();
     private final Map<Object, Set<Object>> legalEdges = new HashMap<>();
     private final GraphFilter graphFilter;
@@ -60,8 +67,19 @@ public final class TinkerGraphComputerView {
         this.graph = graph;
         this.computeKeys = new HashMap<>();
         computeKeys.forEach(key -> this.computeKeys.put(key.getKey(), key));
-        this.computeProperties = new ConcurrentHashMap<>();
         this.graphFilter = graphFilter;
+
+        final List<TinkerVertex> vertexList = new ArrayList<>(TinkerHelper.getVertices(graph).size());
+        graph.vertices().forEachRemaining(vertex -> {
+            TinkerHelper.setComputeOrdinal((TinkerVertex) vertex, vertexList.size());
+            vertexList.add((TinkerVertex) vertex);
+        });
+        this.vertices = vertexList.toArray(new TinkerVertex[vertexList.size()]);
+        this.computeColumns = new HashMap<>();
+        for (final String key : this.computeKeys.keySet()) {
+            this.computeColumns.put(key, new ComputeColumn(key, this.computeColumns.size()));
+        }
+
         if (this.graphFilter.hasFilter()) {
             graph.vertices().forEachRemaining(vertex -> {
                 boolean legalVertex = false;
@@ -78,27 +96,18 @@ public final class TinkerGraphComputerView {
         }
     }
 
-    public <V> Property<V> addProperty(final TinkerVertex vertex, final String key, final V value) {
+    public <V> VertexProperty<V> addProperty(final TinkerVertex vertex, final String key, final V value, final Object... keyValues) {
         ElementHelper.validateProperty(key, value);
-        if (isComputeKey(key)) {
-            final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) vertex, key, value) {
-                @Override
-                public void remove() {
-                    removeProperty(vertex, key, this);
-                }
-            };
-            this.addValue(vertex, key, property);
-            return property;
-        } else {
+        final ComputeColumn column = this.computeColumns.get(key);
+        if (null == column)
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
-        }
+        return column.add(vertex, value, keyValues);
     }
 
     public List<VertexProperty<?>> getProperty(final TinkerVertex vertex, final String key) {
         // if the vertex property is already on the vertex, use that.
         final List<VertexProperty<?>> vertexProperty = this.getValue(vertex, key);
         return vertexProperty.isEmpty() ? (List) TinkerHelper.getProperties(vertex).getOrDefault(key, Collections.emptyList()) : vertexProperty;
-        //return isComputeKey(key) ? this.getValue(vertex, key) : (List) TinkerHelper.getProperties(vertex).getOrDefault(key, Collections.emptyList());
     }
 
     public List<Property> getProperties(final TinkerVertex vertex) {
@@ -106,18 +115,18 @@ public final class TinkerGraphComputerView {
         for (final List<VertexProperty> properties : TinkerHelper.getProperties(vertex).values()) {
             list.addAll(properties);
         }
-        for (final List<VertexProperty<?>> properties : this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).values()) {
-            list.addAll(properties);
+        final int ordinal = TinkerHelper.getComputeOrdinal(vertex);
+        for (final ComputeColumn column : this.computeColumns.values()) {
+            list.addAll(column.get(ordinal));
         }
         return list;
     }
 
     public void removeProperty(final TinkerVertex vertex, final String key, final VertexProperty property) {
-        if (isComputeKey(key)) {
-            this.removeValue(vertex, key, property);
-        } else {
+        final ComputeColumn column = this.computeColumns.get(key);
+        if (null == column)
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
-        }
+        column.remove(TinkerHelper.getComputeOrdinal(vertex), property);
     }
 
     public boolean legalVertex(final Vertex vertex) {
@@ -131,11 +140,8 @@ public final class TinkerGraphComputerView {
     protected void complete() {
         // remove all transient properties from the vertices
         for (final VertexComputeKey computeKey : this.computeKeys.values()) {
-            if (computeKey.isTransient()) {
-                for (final Map<String, List<VertexProperty<?>>> properties : this.computeProperties.values()) {
-                    properties.remove(computeKey.getKey());
-                }
-            }
+            if (computeKey.isTransient())
+                this.computeColumns.get(computeKey.getKey()).clear();
         }
     }
 
@@ -193,39 +199,207 @@ public final class TinkerGraphComputerView {
 
     private void addPropertiesToOriginalGraph() {
         TinkerHelper.dropGraphComputerView(this.graph);
-        this.computeProperties.forEach((element, properties) -> {
-            properties.forEach((key, vertexProperties) -> {
-                vertexProperties.forEach(vertexProperty -> {
-                    final VertexProperty<?> newVertexProperty = ((Vertex) element).property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
+        for (final ComputeColumn column : this.computeColumns.values()) {
+            for (int ordinal = 0; ordinal < this.vertices.length; ordinal++) {
+                for (final VertexProperty<?> vertexProperty : column.get(ordinal)) {
+                    // the ids of compute properties are local to the view so the graph assigns new ones
+                    final VertexProperty<?> newVertexProperty = this.vertices[ordinal].property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value());
                     vertexProperty.properties().forEachRemaining(property -> {
                         newVertexProperty.property(property.key(), property.value());
                     });
-                });
-            });
-        });
-        this.computeProperties.clear();
+                }
+            }
+            column.clear();
+        }
     }
 
     //////////////////////
 
-    private boolean isComputeKey(final String key) {
-        return this.computeKeys.containsKey(key);
+    private List<VertexProperty<?>> getValue(final TinkerVertex vertex, final String key) {
+        final ComputeColumn column = this.computeColumns.get(key);
+        return null == column ? Collections.emptyList() : column.get(TinkerHelper.getComputeOrdinal(vertex));
     }
 
-    private void addValue(final Vertex vertex, final String key, final VertexProperty property) {
-        final Map<String, List<VertexProperty<?>>> elementProperties = this.computeProperties.computeIfAbsent(vertex, k -> new HashMap<>());
-        elementProperties.compute(key, (k, v) -> {
-            if (null == v) v = new ArrayList<>();
-            v.add(property);
-            return v;
-        });
-    }
+    /**
+     * The values of one compute key for every vertex of the view. Each vertex is only written by the worker that is
+     * executing it and iterations are separated by the completion of all workers, so the slots of a vertex need no
+     * synchronization beyond the choice of storage when the first value arrives.
+     */
+    private final class ComputeColumn {
+        private static final byte UNKNOWN = 0;
+        private static final byte DOUBLE = 1;
+        private static final byte LONG = 2;
+        private static final byte OBJECT = 3;
+
+        private static final byte EMPTY = 0;
+        private static final byte VALUE = 1;
+        private static final byte LIST = 2;
 
-    private void removeValue(final Vertex vertex, final String key, final VertexProperty property) {
-        this.computeProperties.<List<Map<String, VertexProperty<?>>>>getOrDefault(vertex, Collections.emptyMap()).get(key).remove(property);
+        private final String key;
+        private final long keyIndex;
+        private volatile byte kind = UNKNOWN;
+        private double[] doubles;
+        private long[] longs;
+        private Object[] objects;
+        private byte[] states;
+        private final Map<Integer, List<VertexProperty<?>>> lists = new ConcurrentHashMap<>();
+
+        private ComputeColumn(final String key, final int keyIndex) {
+            this.key = key;
+            this.keyIndex = keyIndex;
+            this.states = new byte[vertices.length];
+        }
+
+        public <V> VertexProperty<V> add(final TinkerVertex vertex, final V value, final Object... keyValues) {
+            final int ordinal = TinkerHelper.getComputeOrdinal(vertex);
+            if (0 == keyValues.length && EMPTY == this.states[ordinal] && this.store(ordinal, value)) {
+                this.states[ordinal] = VALUE;
+                return new ComputeVertexProperty<>(this, this.idOf(ordinal), vertex, this.key, value);
+            }
+
+            final List<VertexProperty<?>> list = this.toList(ordinal);
+            final TinkerVertexProperty<V> vertexProperty = new ComputeVertexProperty<>(vertex, this.key, value);
+            ElementHelper.attachProperties(vertexProperty, keyValues);
+            list.add(vertexProperty);
+            return vertexProperty;
+        }
+
+        public List<VertexProperty<?>> get(final int ordinal) {
+            switch (this.states[ordinal]) {
+                case VALUE:
+                    return Collections.singletonList(new ComputeVertexProperty<>(this, this.idOf(ordinal), vertices[ordinal], this.key, this.load(ordinal)));
+                case LIST:
+                    return this.lists.get(ordinal);
+                default:
+                    return Collections.emptyList();
+            }
+        }
+
+        public void remove(final int ordinal, final VertexProperty<?> vertexProperty) {
+            if (VALUE == this.states[ordinal]) {
+                if (this.idOf(ordinal).equals(vertexProperty.id())) {
+                    if (OBJECT == this.kind) this.objects[ordinal] = null;
+                    this.states[ordinal] = EMPTY;
+                }
+            } else if (LIST == this.states[ordinal]) {
+                final List<VertexProperty<?>> list = this.lists.get(ordinal);
+                list.remove(vertexProperty);
+                if (list.isEmpty()) {
+                    this.lists.remove(ordinal);
+                    this.states[ordinal] = EMPTY;
+                }
+            }
+        }
+
+        public void clear() {
+            this.kind = UNKNOWN;
+            this.doubles = null;
+            this.longs = null;
+            this.objects = null;
+            this.states = new byte[vertices.length];
+            this.lists.clear();
+        }
+
+        private boolean store(final int ordinal, final Object value) {
+            if (UNKNOWN == this.kind) this.initialize(value);
+            switch (this.kind) {
+                case DOUBLE:
+                    if (!(value instanceof Double)) return false;
+                    this.doubles[ordinal] = (Double) value;
+                    return true;
+                case LONG:
+                    if (!(value instanceof Long)) return false;
+                    this.longs[ordinal] = (Long) value;
+                    return true;
+                default:
+                    this.objects[ordinal] = value;
+                    return true;
+            }
+        }
+
+        private Object load(final int ordinal) {
+            switch (this.kind) {
+                case DOUBLE:
+                    return this.doubles[ordinal];
+                case LONG:
+                    return this.longs[ordinal];
+                default:
+                    return this.objects[ordinal];
+            }
+        }
+
+        private synchronized void initialize(final Object value) {
+            if (UNKNOWN != this.kind) return;
+            if (value instanceof Double) {
+                this.doubles = new double[vertices.length];
+                this.kind = DOUBLE;
+            } else if (value instanceof Long) {
+                this.longs = new long[vertices.length];
+                this.kind = LONG;
+            } else {
+                this.objects = new Object[vertices.length];
+                this.kind = OBJECT;
+            }
+        }
+
+        /**
+         * Moves the vertex to the list form of storage, keeping any value that is already in a slot.
+         */
+        List<VertexProperty<?>> toList(final int ordinal) {
+            if (LIST == this.states[ordinal]) return this.lists.get(ordinal);
+            final List<VertexProperty<?>> list = new ArrayList<>();
+            if (VALUE == this.states[ordinal]) {
+                list.add(new ComputeVertexProperty<>(null, this.idOf(ordinal), vertices[ordinal], this.key, this.load(ordinal)));
+                if (OBJECT == this.kind) this.objects[ordinal] = null;
+            }
+            this.lists.put(ordinal, list);
+            this.states[ordinal] = LIST;
+            return list;
+        }
+
+        /**
+         * Values held in the slots have negative identifiers that are stable for the vertex and key and so do not
+         * collide with those generated by the graph.
+         */
+        private Long idOf(final int ordinal) {
+            return -1L - ((this.keyIndex << 32) | ordinal);
+        }
     }
 
-    private List<VertexProperty<?>> getValue(final Vertex vertex, final String key) {
-        return this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
+    /**
+     * A compute property which, when it is read from a slot of a column, is a copy of the value in that slot.
+     */
+    private final class ComputeVertexProperty<V> extends TinkerVertexProperty<V> {
+        private final TinkerVertex vertex;
+        private final ComputeColumn slotColumn;
+
+        private ComputeVertexProperty(final TinkerVertex vertex, final String key, final V value) {
+            super(vertex, key, value);
+            this.vertex = vertex;
+            this.slotColumn = null;
+        }
+
+        private ComputeVertexProperty(final ComputeColumn slotColumn, final Object id, final TinkerVertex vertex,
+                                      final String key, final V value) {
+            super(id, vertex, key, value);
+            this.vertex = vertex;
+            this.slotColumn = slotColumn;
+        }
+
+        @Override
+        public <U> Property<U> property(final String key, final U value) {
+            if (null == this.slotColumn) return super.property(key, value);
+
+            // meta-properties cannot be held in a slot so the value moves to the list form of storage
+            for (final VertexProperty<?> vertexProperty : this.slotColumn.toList(TinkerHelper.getComputeOrdinal(this.vertex))) {
+                if (vertexProperty.id().equals(this.id())) return vertexProperty.property(key, value);
+            }
+            throw elementAlreadyRemoved(VertexProperty.class, this.id());
+        }
+
+        @Override
+        public void remove() {
+            removeProperty(this.vertex, this.key(), this);
+        }
     }
-}
\ No newline at end of file
+}
@@ -18,29 +18,111 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
+ * Holds the messages sent in the current iteration of a {@link TinkerGraphComputer} and those received from the
+ * previous one. Messages of a program with a {@link MessageCombiner} are folded into a single atomic slot per vertex
+ * as they are sent, so sending takes a lock-free lookup and a compare-and-set. Other messages are appended to buffers
+ * owned by the sending thread which are merged when the iteration completes, so sending takes no shared locks at all.
+ * Those buffers are emptied by the merge and reused by the same thread in the next iteration, so the board only ever
+ * holds one per thread that has sent a message.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerMessageBoard<M> {
 
-    public Map<MessageScope, Map<Vertex,Queue<M>>> sendMessages = new ConcurrentHashMap<>();
-    public Map<MessageScope, Map<Vertex, Queue<M>>> receiveMessages = new ConcurrentHashMap<>();
-    public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    private Map<MessageScope, Map<Vertex, AtomicReference<M>>> sendCombinedMessages = new ConcurrentHashMap<>();
+    private final Queue<Map<MessageScope, Map<Vertex, List<M>>>> sendBuffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Map<MessageScope, Map<Vertex, List<M>>>> sendBuffer = ThreadLocal.withInitial(() -> {
+        final Map<MessageScope, Map<Vertex, List<M>>> buffer = new HashMap<>();
+        this.sendBuffers.add(buffer);
+        return buffer;
+    });
+
+    private Map<MessageScope, Map<Vertex, AtomicReference<M>>> receiveCombinedMessages = Collections.emptyMap();
+    private Map<MessageScope, Map<Vertex, List<M>>> receiveMessages = Collections.emptyMap();
+    private Set<MessageScope> receiveMessageScopes = Collections.emptySet();
+
+    public void sendMessage(final MessageScope messageScope, final Vertex vertex, final M message, final MessageCombiner<M> combiner) {
+        if (null == combiner) {
+            this.sendBuffer.get().computeIfAbsent(messageScope, ms -> new HashMap<>())
+                    .computeIfAbsent(vertex, v -> new ArrayList<>(1)).add(message);
+        } else {
+            Map<Vertex, AtomicReference<M>> messages = this.sendCombinedMessages.get(messageScope);
+            if (null == messages)
+                messages = this.sendCombinedMessages.computeIfAbsent(messageScope, ms -> new ConcurrentHashMap<>());
+            AtomicReference<M> slot = messages.get(vertex);
+            if (null == slot)
+                slot = messages.computeIfAbsent(vertex, v -> new AtomicReference<>());
+            while (true) {
+                final M current = slot.get();
+                if (slot.compareAndSet(current, null == current ? message : combiner.combine(current, message)))
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Gets the messages sent to the vertex in the previous iteration, or {@code null} if there were none.
+     */
+    public Collection<M> receiveMessages(final MessageScope messageScope, final Vertex vertex) {
+        final Map<Vertex, AtomicReference<M>> combinedMessages = this.receiveCombinedMessages.get(messageScope);
+        if (null != combinedMessages) {
+            final AtomicReference<M> slot = combinedMessages.get(vertex);
+            if (null != slot) return Collections.singletonList(slot.get());
+        }
+        final Map<Vertex, List<M>> messages = this.receiveMessages.get(messageScope);
+        return null == messages ? null : messages.get(vertex);
+    }
+
+    public Set<MessageScope> receiveMessageScopes() {
+        return this.receiveMessageScopes;
+    }
 
+    /**
+     * Makes the messages sent in the iteration that completed available to receive. This must only be called when
+     * no messages are being sent.
+     */
     public void completeIteration() {
-        this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
-        this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
+        final Map<MessageScope, Map<Vertex, List<M>>> merged = new HashMap<>();
+        for (final Map<MessageScope, Map<Vertex, List<M>>> buffer : this.sendBuffers) {
+            for (final Map.Entry<MessageScope, Map<Vertex, List<M>>> scope : buffer.entrySet()) {
+                final Map<Vertex, List<M>> messages = merged.get(scope.getKey());
+                if (null == messages) {
+                    merged.put(scope.getKey(), scope.getValue());
+                } else {
+                    for (final Map.Entry<Vertex, List<M>> entry : scope.getValue().entrySet()) {
+                        final List<M> existing = messages.putIfAbsent(entry.getKey(), entry.getValue());
+                        if (null != existing) existing.addAll(entry.getValue());
+                    }
+                }
+            }
+            // the merged messages now belong to the receive side so the buffer is left empty for its thread to reuse
+            buffer.clear();
+        }
+
+        this.receiveCombinedMessages = this.sendCombinedMessages;
+        this.receiveMessages = merged;
+        final Set<MessageScope> scopes = new HashSet<>(this.receiveCombinedMessages.keySet());
+        scopes.addAll(this.receiveMessages.keySet());
+        this.receiveMessageScopes = scopes;
+
+        this.sendCombinedMessages = new ConcurrentHashMap<>();
     }
 }
@@ -18,70 +18,78 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
-import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.util.MapReducePool;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.util.function.TriConsumer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
+ * Runs the workers of a {@link TinkerGraphComputer} on a {@code ForkJoinPool}. The vertices of the graph are split
+ * into contiguous chunks of roughly equal cost, where the cost of a vertex is one plus its degree, and there are many
+ * more chunks than workers. Each worker claims the next unprocessed chunk whenever it finishes one, so a worker that
+ * draws a chunk holding a high degree vertex does not hold up the others, which keep claiming the remaining chunks.
+ * The time each worker spent in the last execution is kept so that any remaining skew can be observed.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 public final class TinkerWorkerPool implements AutoCloseable {
 
-    private static final BasicThreadFactory THREAD_FACTORY_WORKER = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").build();
+    private static final ForkJoinPool.ForkJoinWorkerThreadFactory THREAD_FACTORY_WORKER = pool -> {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("tinker-worker-" + thread.getPoolIndex());
+        return thread;
+    };
+
+    private static final int CHUNKS_PER_WORKER = 16;
 
     private final int numberOfWorkers;
-    private final ExecutorService workerPool;
+    private final ForkJoinPool workerPool;
     private final CompletionService<Object> completionService;
 
     private VertexProgramPool vertexProgramPool;
     private MapReducePool mapReducePool;
     private final Queue<TinkerWorkerMemory> workerMemoryPool = new ConcurrentLinkedQueue<>();
-    private final List<List<Vertex>> workerVertices = new ArrayList<>();
+    private final Vertex[] vertices;
+    private final int[] chunkStarts;
+    private final long[] workerTimes;
+    private final long[] workerVertexCounts;
 
     public TinkerWorkerPool(final TinkerGraph graph, final TinkerMemory memory, final int numberOfWorkers) {
         this.numberOfWorkers = numberOfWorkers;
-        this.workerPool = Executors.newFixedThreadPool(numberOfWorkers, THREAD_FACTORY_WORKER);
+        this.workerPool = new ForkJoinPool(numberOfWorkers, THREAD_FACTORY_WORKER, null, false);
         this.completionService = new ExecutorCompletionService<>(this.workerPool);
+        this.workerTimes = new long[numberOfWorkers];
+        this.workerVertexCounts = new long[numberOfWorkers];
         for (int i = 0; i < this.numberOfWorkers; i++) {
             this.workerMemoryPool.add(new TinkerWorkerMemory(memory));
-            this.workerVertices.add(new ArrayList<>());
-        }
-        int batchSize = TinkerHelper.getVertices(graph).size() / this.numberOfWorkers;
-        if (0 == batchSize)
-            batchSize = 1;
-        int counter = 0;
-        int index = 0;
-
-        List<Vertex> currentWorkerVertices = this.workerVertices.get(index);
-        final Iterator<Vertex> iterator = graph.vertices();
-        while (iterator.hasNext()) {
-            final Vertex vertex = iterator.next();
-            if (counter++ < batchSize || index == this.workerVertices.size() - 1) {
-                currentWorkerVertices.add(vertex);
-            } else {
-                currentWorkerVertices = this.workerVertices.get(++index);
-                currentWorkerVertices.add(vertex);
-                counter = 1;
-            }
         }
+
+        final List<Vertex> vertexList = new ArrayList<>(TinkerHelper.getVertices(graph).size());
+        graph.vertices().forEachRemaining(vertexList::add);
+        this.vertices = vertexList.toArray(new Vertex[vertexList.size()]);
+        this.chunkStarts = chunk(this.vertices, numberOfWorkers * CHUNKS_PER_WORKER);
     }
 
     public void setVertexProgram(final VertexProgram vertexProgram) {
@@ -93,15 +101,71 @@ public final class TinkerWorkerPool implements AutoCloseable {
     }
 
     public void executeVertexProgram(final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
+        final AtomicInteger nextChunk = new AtomicInteger(0);
+        this.execute(index -> {
+            final VertexProgram vp = this.vertexProgramPool.take();
+            final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
+            worker.accept(new ChunkIterator(nextChunk, index), vp, workerMemory);
+            this.vertexProgramPool.offer(vp);
+            this.workerMemoryPool.offer(workerMemory);
+        });
+    }
+
+    /**
+     * Executes the map stage with each worker given the vertices of the chunks that it claims.
+     */
+    public void executeMap(final BiConsumer<Iterator<Vertex>, MapReduce> worker) throws InterruptedException {
+        final AtomicInteger nextChunk = new AtomicInteger(0);
+        this.execute(index -> {
+            final MapReduce mr = this.mapReducePool.take();
+            worker.accept(new ChunkIterator(nextChunk, index), mr);
+            this.mapReducePool.offer(mr);
+        });
+    }
+
+    public void executeMapReduce(final Consumer<MapReduce> worker) throws InterruptedException {
+        this.execute(index -> {
+            final MapReduce mr = this.mapReducePool.take();
+            worker.accept(mr);
+            this.mapReducePool.offer(mr);
+        });
+    }
+
+    /**
+     * The number of nanoseconds that each worker spent in the last execution.
+     */
+    public long[] getWorkerTimes() {
+        return Arrays.copyOf(this.workerTimes, this.numberOfWorkers);
+    }
+
+    /**
+     * The number of vertices that each worker processed in the last execution over the vertices.
+     */
+    public long[] getWorkerVertexCounts() {
+        return Arrays.copyOf(this.workerVertexCounts, this.numberOfWorkers);
+    }
+
+    public void closeNow() throws Exception {
+        this.workerPool.shutdownNow();
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.workerPool.shutdown();
+    }
+
+    private void execute(final Consumer<Integer> work) throws InterruptedException {
+        Arrays.fill(this.workerTimes, 0L);
+        Arrays.fill(this.workerVertexCounts, 0L);
         for (int i = 0; i < this.numberOfWorkers; i++) {
             final int index = i;
             this.completionService.submit(() -> {
-                final VertexProgram vp = this.vertexProgramPool.take();
-                final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
-                final List<Vertex> vertices = this.workerVertices.get(index);
-                worker.accept(vertices.iterator(), vp, workerMemory);
-                this.vertexProgramPool.offer(vp);
-                this.workerMemoryPool.offer(workerMemory);
+                final long start = System.nanoTime();
+                try {
+                    work.accept(index);
+                } finally {
+                    this.workerTimes[index] = System.nanoTime() - start;
+                }
                 return null;
             });
         }
@@ -116,32 +180,69 @@ public final class TinkerWorkerPool implements AutoCloseable {
         }
     }
 
-    public void executeMapReduce(final Consumer<MapReduce> worker) throws InterruptedException {
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            this.completionService.submit(() -> {
-                final MapReduce mr = this.mapReducePool.take();
-                worker.accept(mr);
-                this.mapReducePool.offer(mr);
-                return null;
-            });
+    /**
+     * Splits the vertices into contiguous chunks of roughly equal cost, returning the index at which each chunk
+     * starts followed by the number of vertices. A vertex whose cost exceeds that of a chunk is a chunk by itself.
+     */
+    private static int[] chunk(final Vertex[] vertices, final int targetChunks) {
+        final long[] costs = new long[vertices.length];
+        long totalCost = 0;
+        for (int i = 0; i < vertices.length; i++) {
+            costs[i] = 1L + TinkerHelper.getDegree((TinkerVertex) vertices[i], Direction.BOTH);
+            totalCost += costs[i];
         }
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            try {
-                this.completionService.take().get();
-            } catch (InterruptedException ie) {
-                throw ie;
-            } catch (final Exception e) {
-                throw new IllegalStateException(e.getMessage(), e);
+        final long chunkCost = Math.max(1L, totalCost / targetChunks);
+
+        final List<Integer> starts = new ArrayList<>(targetChunks + 1);
+        starts.add(0);
+        long cost = 0;
+        for (int i = 0; i < vertices.length; i++) {
+            if (cost > 0 && cost + costs[i] > chunkCost) {
+                starts.add(i);
+                cost = 0;
             }
+            cost += costs[i];
         }
+        if (vertices.length > 0) starts.add(vertices.length);
+        return starts.stream().mapToInt(Integer::intValue).toArray();
     }
 
-    public void closeNow() throws Exception {
-        this.workerPool.shutdownNow();
-    }
+    /**
+     * Iterates the vertices of one chunk at a time, claiming the next chunk from those shared by all workers when the
+     * current one is exhausted.
+     */
+    private final class ChunkIterator implements Iterator<Vertex> {
+        private final AtomicInteger nextChunk;
+        private final int worker;
+        private int position = 0;
+        private int end = 0;
+        private boolean exhausted = false;
 
-    @Override
-    public void close() throws Exception {
-        this.workerPool.shutdown();
+        private ChunkIterator(final AtomicInteger nextChunk, final int worker) {
+            this.nextChunk = nextChunk;
+            this.worker = worker;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.position == this.end) {
+                if (this.exhausted) return false;
+                final int chunk = this.nextChunk.getAndIncrement();
+                if (chunk >= chunkStarts.length - 1) {
+                    this.exhausted = true;
+                    return false;
+                }
+                this.position = chunkStarts[chunk];
+                this.end = chunkStarts[chunk + 1];
+            }
+            return true;
+        }
+
+        @Override
+        public Vertex next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            workerVertexCounts[this.worker]++;
+            return vertices[this.position++];
+        }
     }
-}
\ No newline at end of file
+}
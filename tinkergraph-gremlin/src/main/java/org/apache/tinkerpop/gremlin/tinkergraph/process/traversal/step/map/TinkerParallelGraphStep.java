@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stands in for the {@link TinkerGraphStep} that starts a traversal and runs the steps between it and the first
+ * {@link ReducingBarrierStep} of the traversal on several threads. The elements of the graph step are split into
+ * contiguous partitions and each partition is pushed through its own clone of those steps, reducing barrier
+ * included, on the common {@link ForkJoinPool}, with the calling thread taking the first partition itself. The
+ * partial barriers are then added to the reducing barrier of the traversal in partition order, just as the barriers
+ * of the workers of a {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer} are merged, so this step
+ * emits no traversers of its own.
+ * <p/>
+ * Note that all of the traversers of the graph step are collected into a single list on the calling thread before
+ * they are partitioned, so the scan of the graph itself is not parallel and holds one traverser per element in memory
+ * until the partitions are reduced.
+ *
+ * @author agent (agent@local)
+ */
+public final class TinkerParallelGraphStep<S, E extends Element> extends AbstractStep<S, E> {
+
+    // partitions smaller than this cost more to hand to another thread than they take to process
+    private static final int MIN_PARTITION_SIZE = 1024;
+    // the number of traversers a partition pushes through its steps between checks for cancellation
+    private static final int CHUNK_SIZE = 256;
+
+    private TinkerGraphStep<S, E> graphStep;
+    private final int parallelism;
+    private boolean done = false;
+
+    public TinkerParallelGraphStep(final TinkerGraphStep<S, E> graphStep, final int parallelism) {
+        super(graphStep.getTraversal());
+        this.graphStep = graphStep;
+        this.parallelism = parallelism;
+        graphStep.getLabels().forEach(this::addLabel);
+    }
+
+    public TinkerGraphStep<S, E> getGraphStep() {
+        return this.graphStep;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (!this.done) {
+            this.done = true;
+            this.reducePartitions();
+        }
+        throw FastNoSuchElementException.instance();
+    }
+
+    private void reducePartitions() {
+        final List<Step> steps = this.getTraversal().getSteps();
+        final List<Step> partitionSteps = new ArrayList<>();
+        ReducingBarrierStep<?, Object> reducingBarrierStep = null;
+        for (int i = steps.indexOf(this) + 1; i < steps.size() && null == reducingBarrierStep; i++) {
+            final Step<?, ?> step = steps.get(i);
+            if (step instanceof ProfileStep)
+                continue;
+            partitionSteps.add(step);
+            if (step instanceof ReducingBarrierStep)
+                reducingBarrierStep = (ReducingBarrierStep<?, Object>) step;
+        }
+        if (null == reducingBarrierStep)
+            throw new IllegalStateException("A traversal that is partitioned must end its partitioned steps in a reducing barrier: " + this.getTraversal());
+
+        // the graph step is detached from the steps that follow it so the traversers it produces are prepared here
+        this.graphStep.reset();
+        this.graphStep.setNextStep(EmptyStep.instance());
+        final List<Traverser.Admin<E>> starts = new ArrayList<>();
+        while (this.graphStep.hasNext()) {
+            starts.add(this.prepareTraversalForNextStep(this.graphStep.next()));
+        }
+
+        // every partition holds at least MIN_PARTITION_SIZE starts unless there are fewer than that altogether
+        final int partitions = starts.isEmpty() ? 0 : Math.max(1, Math.min(this.parallelism, starts.size() / MIN_PARTITION_SIZE));
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+        final List<ForkJoinTask<Object>> tasks = new ArrayList<>(partitions);
+        final List<Object> barriers = new ArrayList<>(partitions);
+        try {
+            for (int i = 1; i < partitions; i++) {
+                final List<Traverser.Admin<E>> partition = starts.subList(partitionBound(starts.size(), i, partitions),
+                        partitionBound(starts.size(), i + 1, partitions));
+                final Traversal.Admin<E, Object> traversal = this.createPartitionTraversal(partitionSteps);
+                tasks.add(ForkJoinPool.commonPool().submit(() -> reducePartition(traversal, partition, cancelled)));
+            }
+            if (partitions > 0)
+                barriers.add(reducePartition(this.createPartitionTraversal(partitionSteps), starts.subList(0, partitionBound(starts.size(), 1, partitions)), cancelled));
+            for (final ForkJoinTask<Object> task : tasks) {
+                barriers.add(task.join());
+            }
+        } catch (final RuntimeException e) {
+            cancelled.set(true);
+            throw e;
+        }
+
+        for (final Object barrier : barriers) {
+            if (null != barrier)
+                reducingBarrierStep.addBarrier(barrier);
+        }
+    }
+
+    private static int partitionBound(final int size, final int partition, final int partitions) {
+        // computed in long arithmetic as size * partitions can exceed the range of an int on large graphs
+        return (int) ((long) size * partition / partitions);
+    }
+
+    private Traversal.Admin<E, Object> createPartitionTraversal(final List<Step> partitionSteps) {
+        final Traversal.Admin<E, Object> traversal = new DefaultTraversal<>(this.getTraversal().getGraph().get());
+        traversal.setSideEffects(this.getTraversal().getSideEffects());
+        for (final Step step : partitionSteps) {
+            traversal.addStep(step.clone());
+        }
+        return traversal;
+    }
+
+    private static <E> Object reducePartition(final Traversal.Admin<E, Object> traversal, final List<Traverser.Admin<E>> partition,
+                                              final AtomicBoolean cancelled) {
+        final Step<E, ?> startStep = traversal.getStartStep();
+        final ReducingBarrierStep<?, Object> reducingBarrierStep = (ReducingBarrierStep<?, Object>) traversal.getEndStep();
+        for (int i = 0; i < partition.size(); i = i + CHUNK_SIZE) {
+            if (cancelled.get())
+                throw new TraversalInterruptedException();
+            startStep.addStarts(partition.subList(i, Math.min(i + CHUNK_SIZE, partition.size())).iterator());
+            reducingBarrierStep.processAllStarts();
+        }
+        return reducingBarrierStep.hasNextBarrier() ? reducingBarrierStep.nextBarrier() : null;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> traversal) {
+        super.setTraversal(traversal);
+        this.graphStep.setTraversal(traversal);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.graphStep.getRequirements();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.graphStep, this.parallelism);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.graphStep.hashCode() ^ Integer.hashCode(this.parallelism);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.done = false;
+    }
+
+    @Override
+    public TinkerParallelGraphStep<S, E> clone() {
+        final TinkerParallelGraphStep<S, E> clone = (TinkerParallelGraphStep<S, E>) super.clone();
+        clone.graphStep = this.graphStep.clone();
+        clone.done = false;
+        return clone;
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
@@ -26,6 +27,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
@@ -34,10 +36,16 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
 /**
@@ -61,42 +69,124 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Edge> edges() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
         // ids are present, filter on them first
         if (null == this.ids)
             return Collections.emptyIterator();
         else if (this.ids.length > 0)
             return this.iteratorList(graph.edges(this.ids));
-        else
-            return null == indexedContainer ?
+        else {
+            final List<? extends Edge> indexedEdges = this.queryIndex(graph, Edge.class);
+            return null == indexedEdges ?
                     this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
+                    indexedEdges.stream()
                             .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
                             .collect(Collectors.<Edge>toList()).iterator();
+        }
     }
 
     private Iterator<? extends Vertex> vertices() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
         // ids are present, filter on them first
         if (null == this.ids)
             return Collections.emptyIterator();
         else if (this.ids.length > 0)
             return this.iteratorList(graph.vertices(this.ids));
-        else
-            return null == indexedContainer ?
+        else {
+            final List<? extends Vertex> indexedVertices = this.queryIndex(graph, Vertex.class);
+            return null == indexedVertices ?
                     this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
-                            vertex -> HasContainer.testAll(vertex, this.hasContainers));
+                    IteratorUtils.filter(indexedVertices.iterator(), vertex -> HasContainer.testAll(vertex, this.hasContainers));
+        }
     }
 
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((TinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
+    /**
+     * Looks up candidate elements from the index using the most selective {@link HasContainer}s it can answer, which
+     * are a label with equalities on a composite index, then an equality, then a {@code within}, then the
+     * combined range predicates of a single key and finally the label.
+     *
+     * @return the candidates or {@code null} if no index applies and the graph has to be scanned
+     */
+    private <R extends Element> List<R> queryIndex(final TinkerGraph graph, final Class<R> indexedClass) {
+        final List<R> compositeElements = this.queryCompositeIndex(graph, indexedClass);
+        if (null != compositeElements) return compositeElements;
+
+        final Set<String> indexedKeys = graph.getIndexedKeys(indexedClass);
+        if (indexedKeys.isEmpty()) return this.queryLabelIndex(graph, indexedClass);
+
+        for (final BiPredicate<?, ?> biPredicate : Arrays.<BiPredicate<?, ?>>asList(Compare.eq, Contains.within)) {
+            for (final HasContainer hasContainer : this.hasContainers) {
+                if (hasContainer.getPredicate().getBiPredicate() == biPredicate && indexedKeys.contains(hasContainer.getKey())) {
+                    final List<R> elements = this.queryIndex(graph, indexedClass, hasContainer.getKey(),
+                            Collections.singletonList(hasContainer.getPredicate()));
+                    if (null != elements) return elements;
+                }
+            }
+        }
 
-        final Iterator<HasContainer> itty = IteratorUtils.filter(hasContainers.iterator(),
-                c -> c.getPredicate().getBiPredicate() == Compare.eq && indexedKeys.contains(c.getKey()));
-        return itty.hasNext() ? itty.next() : null;
+        final Map<String, List<P<?>>> ranges = new LinkedHashMap<>();
+        for (final HasContainer hasContainer : this.hasContainers) {
+            final BiPredicate<?, ?> biPredicate = hasContainer.getPredicate().getBiPredicate();
+            if ((biPredicate == Compare.gt || biPredicate == Compare.gte || biPredicate == Compare.lt || biPredicate == Compare.lte) &&
+                    indexedKeys.contains(hasContainer.getKey()))
+                ranges.computeIfAbsent(hasContainer.getKey(), k -> new ArrayList<>()).add(hasContainer.getPredicate());
+        }
+        for (final Map.Entry<String, List<P<?>>> range : ranges.entrySet()) {
+            final List<R> elements = this.queryIndex(graph, indexedClass, range.getKey(), range.getValue());
+            if (null != elements) return elements;
+        }
+        return this.queryLabelIndex(graph, indexedClass);
+    }
+
+    private <R extends Element> List<R> queryLabelIndex(final TinkerGraph graph, final Class<R> indexedClass) {
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (!hasContainer.getKey().equals(T.label.getAccessor())) continue;
+
+            final BiPredicate<?, ?> biPredicate = hasContainer.getPredicate().getBiPredicate();
+            final Object value = hasContainer.getPredicate().getValue();
+            final Collection<?> labels;
+            if (biPredicate == Compare.eq && value instanceof String)
+                labels = Collections.singleton(value);
+            else if (biPredicate == Contains.within && value instanceof Collection)
+                labels = new LinkedHashSet<>((Collection<?>) value);
+            else
+                continue;
+
+            final List<R> elements = new ArrayList<>();
+            for (final Object label : labels) {
+                if (label instanceof String)
+                    elements.addAll((Collection<R>) (Vertex.class.isAssignableFrom(indexedClass) ?
+                            TinkerHelper.getVerticesByLabel(graph, (String) label) :
+                            TinkerHelper.getEdgesByLabel(graph, (String) label)));
+            }
+            return elements;
+        }
+        return null;
+    }
+
+    private <R extends Element> List<R> queryCompositeIndex(final TinkerGraph graph, final Class<R> indexedClass) {
+        String label = null;
+        final Map<String, Object> values = new HashMap<>();
+        for (final HasContainer hasContainer : this.hasContainers) {
+            final Object value = hasContainer.getPredicate().getValue();
+            if (hasContainer.getPredicate().getBiPredicate() != Compare.eq || null == value)
+                continue;
+            if (hasContainer.getKey().equals(T.label.getAccessor())) {
+                if (null == label && value instanceof String) label = (String) value;
+            } else
+                values.putIfAbsent(hasContainer.getKey(), value);
+        }
+        if (null == label || values.isEmpty()) return null;
+
+        return (List<R>) (Vertex.class.isAssignableFrom(indexedClass) ?
+                TinkerHelper.queryVertexCompositeIndex(graph, label, values) :
+                TinkerHelper.queryEdgeCompositeIndex(graph, label, values));
+    }
 
+    private <R extends Element> List<R> queryIndex(final TinkerGraph graph, final Class<R> indexedClass,
+                                                   final String key, final List<P<?>> predicates) {
+        return (List<R>) (Vertex.class.isAssignableFrom(indexedClass) ?
+                TinkerHelper.queryVertexIndex(graph, key, predicates) :
+                TinkerHelper.queryEdgeIndex(graph, key, predicates));
     }
 
     @Override
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.IsStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeOtherVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupCountStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.LabelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MaxGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MeanGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MinGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyKeyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyValueStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.SumGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerParallelGraphStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This strategy runs the steps of a traversal up to its first reducing barrier on several threads when the traversal
+ * is given a {@link #PARALLELISM} greater than one with the {@link OptionsStrategy}. The traversal must start from
+ * the graph, only filter and map elements on the way to the barrier and reduce with a barrier whose partial results
+ * can be merged. Every other traversal is left to run on the calling thread.
+ *
+ * @example <pre>
+ * g.with("parallelism", 8).V().has('age', gt(30)).out().count()    // is partitioned by TinkerParallelGraphStep
+ * g.with("parallelism", 8).V().out().groupCount().by(label)        // is partitioned by TinkerParallelGraphStep
+ * g.with("parallelism", 8).V().out().order()                       // is not partitioned
+ * </pre>
+ *
+ * @author agent (agent@local)
+ */
+public final class TinkerGraphParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    /**
+     * The option naming the number of partitions a traversal may be split into.
+     */
+    public static final String PARALLELISM = "parallelism";
+
+    private static final TinkerGraphParallelStrategy INSTANCE = new TinkerGraphParallelStrategy();
+
+    private static final Set<Class<? extends Step>> PARTITIONABLE_STEPS = new HashSet<>(Arrays.asList(
+            HasStep.class,
+            IsStep.class,
+            IdentityStep.class,
+            NoOpBarrierStep.class,
+            VertexStep.class,
+            EdgeVertexStep.class,
+            EdgeOtherVertexStep.class,
+            PropertiesStep.class,
+            PropertyKeyStep.class,
+            PropertyValueStep.class,
+            IdStep.class,
+            LabelStep.class));
+
+    private static final Set<Class<? extends Step>> MERGEABLE_STEPS = new HashSet<>(Arrays.asList(
+            CountGlobalStep.class,
+            SumGlobalStep.class,
+            MinGlobalStep.class,
+            MaxGlobalStep.class,
+            MeanGlobalStep.class,
+            GroupCountStep.class,
+            GroupStep.class));
+
+    private TinkerGraphParallelStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!(traversal.getParent() instanceof EmptyStep) || TraversalHelper.onGraphComputer(traversal))
+            return;
+        final List<Step> steps = traversal.getSteps();
+        if (steps.size() < 2 ||
+                !(steps.get(0) instanceof TinkerGraphStep) ||
+                !((TinkerGraphStep) steps.get(0)).isStartStep())
+            return;
+        final int parallelism = getParallelism(traversal);
+        if (parallelism < 2)
+            return;
+
+        for (int i = 1; i < steps.size(); i++) {
+            final Step current = steps.get(i);
+            if (MERGEABLE_STEPS.contains(current.getClass())) {
+                // the by() modulators of the barrier run on every partition at once
+                if (current instanceof TraversalParent &&
+                        TraversalHelper.anyStepRecursively(s -> s instanceof SideEffectStep || s instanceof SideEffectCapable ||
+                                s instanceof Mutating || s instanceof LambdaHolder, (TraversalParent) current))
+                    return;
+                final TinkerGraphStep<?, ?> graphStep = (TinkerGraphStep<?, ?>) steps.get(0);
+                TraversalHelper.replaceStep(graphStep, new TinkerParallelGraphStep<>(graphStep, parallelism), traversal);
+                return;
+            } else if (!PARTITIONABLE_STEPS.contains(current.getClass()))
+                return;
+        }
+    }
+
+    private static int getParallelism(final Traversal.Admin<?, ?> traversal) {
+        final Object parallelism = traversal.getStrategies().getStrategy(OptionsStrategy.class)
+                .map(strategy -> strategy.getOptions().get(PARALLELISM))
+                .orElse(null);
+        if (null == parallelism)
+            return 1;
+        final int value = parallelism instanceof Number ? ((Number) parallelism).intValue() : Integer.parseInt(parallelism.toString());
+        if (value <= 0)
+            throw new IllegalArgumentException(String.format("The %s option must be greater than zero: %s", PARALLELISM, parallelism));
+        return value;
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPrior() {
+        return new HashSet<>(Arrays.asList(TinkerGraphStepStrategy.class, TinkerGraphCountStrategy.class));
+    }
+
+    public static TinkerGraphParallelStrategy instance() {
+        return INSTANCE;
+    }
+}
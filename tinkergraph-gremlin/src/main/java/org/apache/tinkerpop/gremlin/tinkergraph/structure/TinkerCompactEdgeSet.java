@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A growable array of {@link Edge} objects that is used as the per-label adjacency container of a
+ * {@link TinkerVertex} when {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY} is enabled. It costs a single
+ * array slot per edge rather than a full hash entry and iterates in insertion order. Edges are only ever added once by
+ * {@link TinkerHelper#addEdge}, so {@link #add(Edge)} does not check for duplicates. Each {@link TinkerEdge} keeps the
+ * slot it holds in the set of its out-vertex and in the set of its in-vertex, so that it is found without a scan.
+ * A removed edge leaves an empty slot behind, and the remaining edges are moved down over the empty slots once they
+ * outnumber the edges, which keeps the insertion order while the cost of moving them adds up to no more than the
+ * removals.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerCompactEdgeSet extends AbstractSet<Edge> {
+
+    private static final Edge[] EMPTY = new Edge[0];
+    private static final int INITIAL_CAPACITY = 2;
+
+    private final boolean out;
+    private Edge[] edges = EMPTY;
+
+    /**
+     * The number of slots in use, including the empty slots left by removed edges.
+     */
+    private int length = 0;
+    private int size = 0;
+    private int modCount = 0;
+
+    /**
+     * @param out whether the set holds the out edges of its vertex rather than its in edges, which tells which of
+     *            the slots kept by a {@link TinkerEdge} is the one in this set
+     */
+    TinkerCompactEdgeSet(final boolean out) {
+        this.out = out;
+    }
+
+    @Override
+    public boolean add(final Edge edge) {
+        if (this.length == this.edges.length)
+            this.edges = Arrays.copyOf(this.edges, 0 == this.length ? INITIAL_CAPACITY : this.length + (this.length >> 1) + 1);
+        this.setSlot(edge, this.length);
+        this.edges[this.length++] = edge;
+        this.size++;
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object object) {
+        final int index = this.indexOf(object);
+        if (index < 0) return false;
+        this.removeAt(index);
+        this.compact();
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        return this.indexOf(object) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void clear() {
+        this.edges = EMPTY;
+        this.length = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        final Object[] array = new Object[this.size];
+        int i = 0;
+        for (int slot = 0; slot < this.length; slot++) {
+            if (null != this.edges[slot]) array[i++] = this.edges[slot];
+        }
+        return array;
+    }
+
+    @Override
+    public void forEach(final Consumer<? super Edge> action) {
+        final Edge[] snapshot = this.edges;
+        final int length = this.length;
+        for (int i = 0; i < length; i++) {
+            if (null != snapshot[i]) action.accept(snapshot[i]);
+        }
+    }
+
+    @Override
+    public Iterator<Edge> iterator() {
+        return new Iterator<Edge>() {
+            private int cursor = this.skipEmpty(0);
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return this.cursor < length;
+            }
+
+            @Override
+            public Edge next() {
+                if (this.expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (this.cursor >= length) throw new NoSuchElementException();
+                this.last = this.cursor;
+                this.cursor = this.skipEmpty(this.cursor + 1);
+                return edges[this.last];
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0) throw new IllegalStateException();
+                if (this.expectedModCount != modCount) throw new ConcurrentModificationException();
+                // the set is not compacted while it is iterated as that would move the edges still to be visited
+                TinkerCompactEdgeSet.this.removeAt(this.last);
+                this.last = -1;
+                this.expectedModCount = modCount;
+            }
+
+            private int skipEmpty(final int from) {
+                int slot = from;
+                while (slot < length && null == edges[slot]) {
+                    slot++;
+                }
+                return slot;
+            }
+        };
+    }
+
+    private void removeAt(final int index) {
+        this.setSlot(this.edges[index], -1);
+        this.edges[index] = null;
+        this.size--;
+        this.modCount++;
+        // slots left empty at the end are reused straight away
+        while (this.length > 0 && null == this.edges[this.length - 1]) {
+            this.length--;
+        }
+    }
+
+    /**
+     * Moves the edges down over the empty slots once these outnumber the edges, and gives memory back if a high
+     * degree vertex loses most of its edges, though only once the array is a quarter full so that the copies add up
+     * to no more than the removals.
+     */
+    private void compact() {
+        if (0 == this.size) {
+            this.clear();
+            return;
+        }
+        if (this.length - this.size <= this.size) return;
+
+        int target = 0;
+        for (int slot = 0; slot < this.length; slot++) {
+            final Edge edge = this.edges[slot];
+            if (null != edge) {
+                this.setSlot(edge, target);
+                this.edges[target++] = edge;
+            }
+        }
+        Arrays.fill(this.edges, target, this.length, null);
+        this.length = target;
+        if (this.edges.length > INITIAL_CAPACITY && this.length < (this.edges.length >> 2))
+            this.edges = Arrays.copyOf(this.edges, this.length << 1);
+        this.modCount++;
+    }
+
+    private int indexOf(final Object object) {
+        // a TinkerEdge knows where it is, so it is in this set only if it is found in its own slot
+        if (object instanceof TinkerEdge) {
+            final int slot = this.out ? ((TinkerEdge) object).outSlot : ((TinkerEdge) object).inSlot;
+            return slot >= 0 && slot < this.length && this.edges[slot] == object ? slot : -1;
+        }
+        if (null != object) {
+            for (int i = 0; i < this.length; i++) {
+                if (object.equals(this.edges[i])) return i;
+            }
+        }
+        return -1;
+    }
+
+    private void setSlot(final Edge edge, final int slot) {
+        if (edge instanceof TinkerEdge) {
+            if (this.out)
+                ((TinkerEdge) edge).outSlot = slot;
+            else
+                ((TinkerEdge) edge).inSlot = slot;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * An index of the elements of one label over an ordered list of property keys. Each element is stored under the
+ * tuple of its values for those keys, so a lookup that supplies equality values for a leading run of the keys is a
+ * single seek. An element that lacks one of the keys is stored under the tuple of the keys before it, which keeps it
+ * findable by lookups on that shorter prefix. Tuples are ordered with {@link TinkerIndex#compareValues} so numbers
+ * match by value regardless of their type.
+ *
+ * @param <T> the element type
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerCompositeIndex<T extends Element> {
+
+    private final String label;
+    private final List<String> keys;
+    private final ConcurrentSkipListMap<Object[], Set<T>> index = new ConcurrentSkipListMap<>(TinkerCompositeIndex::compareTuples);
+    private final Map<T, List<Object[]>> elementTuples = new ConcurrentHashMap<>();
+
+    TinkerCompositeIndex(final String label, final List<String> keys) {
+        this.label = label;
+        this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+    }
+
+    public String getLabel() {
+        return this.label;
+    }
+
+    public List<String> getKeys() {
+        return this.keys;
+    }
+
+    public boolean covers(final String key) {
+        return this.keys.contains(key);
+    }
+
+    /**
+     * Re-indexes the element from its current property values.
+     */
+    public void update(final T element) {
+        if (!this.label.equals(element.label())) return;
+        this.remove(element);
+
+        final List<Object[]> tuples = this.tuplesOf(element);
+        if (tuples.isEmpty()) return;
+        for (final Object[] tuple : tuples) {
+            this.index.computeIfAbsent(tuple, t -> ConcurrentHashMap.newKeySet()).add(element);
+        }
+        this.elementTuples.put(element, tuples);
+    }
+
+    public void remove(final T element) {
+        final List<Object[]> tuples = this.elementTuples.remove(element);
+        if (null == tuples) return;
+        for (final Object[] tuple : tuples) {
+            final Set<T> elements = this.index.get(tuple);
+            if (null != elements) {
+                elements.remove(element);
+                if (elements.isEmpty()) this.index.remove(tuple);
+            }
+        }
+    }
+
+    /**
+     * The number of leading keys of this index that have a value in the map of equality lookups, which is zero if
+     * the label does not match.
+     */
+    public int prefixLength(final String label, final Map<String, Object> values) {
+        if (!this.label.equals(label)) return 0;
+        int length = 0;
+        while (length < this.keys.size() && values.containsKey(this.keys.get(length))) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Gets the elements whose values for the leading keys of the index match those in the map.
+     */
+    public List<T> get(final Map<String, Object> values, final int prefixLength) {
+        final Object[] prefix = new Object[prefixLength];
+        for (int i = 0; i < prefixLength; i++) {
+            prefix[i] = values.get(this.keys.get(i));
+        }
+
+        final Set<T> elements = new LinkedHashSet<>();
+        for (final Map.Entry<Object[], Set<T>> entry : this.index.tailMap(prefix, true).entrySet()) {
+            if (!startsWith(entry.getKey(), prefix)) break;
+            elements.addAll(entry.getValue());
+        }
+        return new ArrayList<>(elements);
+    }
+
+    public void clear() {
+        this.index.clear();
+        this.elementTuples.clear();
+    }
+
+    private List<Object[]> tuplesOf(final T element) {
+        List<Object[]> tuples = Collections.singletonList(new Object[0]);
+        for (final String key : this.keys) {
+            final List<Object> values = new ArrayList<>();
+            final Iterator<? extends Property<Object>> properties = element.properties(key);
+            while (properties.hasNext()) {
+                final Property<Object> property = properties.next();
+                if (property.isPresent()) values.add(property.value());
+            }
+            if (values.isEmpty()) break;
+
+            // multi-properties index the element under every combination of their values
+            final List<Object[]> extended = new ArrayList<>(tuples.size() * values.size());
+            for (final Object[] tuple : tuples) {
+                for (final Object value : values) {
+                    final Object[] next = Arrays.copyOf(tuple, tuple.length + 1);
+                    next[tuple.length] = value;
+                    extended.add(next);
+                }
+            }
+            tuples = extended;
+        }
+        return tuples.get(0).length == 0 ? Collections.emptyList() : tuples;
+    }
+
+    private static boolean startsWith(final Object[] tuple, final Object[] prefix) {
+        if (tuple.length < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if (0 != TinkerIndex.compareValues(tuple[i], prefix[i])) return false;
+        }
+        return true;
+    }
+
+    private static int compareTuples(final Object[] a, final Object[] b) {
+        final int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            final int c = TinkerIndex.compareValues(a[i], b[i]);
+            if (0 != c) return c;
+        }
+        return Integer.compare(a.length, b.length);
+    }
+}
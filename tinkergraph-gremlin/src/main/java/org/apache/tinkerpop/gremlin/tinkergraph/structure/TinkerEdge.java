@@ -44,6 +44,13 @@ public final class TinkerEdge extends TinkerElement implements Edge {
     protected final Vertex inVertex;
     protected final Vertex outVertex;
 
+    /**
+     * The slots of the edge in the {@link TinkerCompactEdgeSet} of its out-vertex and of its in-vertex, which are only
+     * kept when {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY} is enabled.
+     */
+    int outSlot = -1;
+    int inSlot = -1;
+
     protected TinkerEdge(final Object id, final Vertex outVertex, final String label, final Vertex inVertex) {
         super(id, label);
         this.outVertex = outVertex;
@@ -56,11 +63,23 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         if (this.removed) throw elementAlreadyRemoved(Edge.class, id);
         ElementHelper.validateProperty(key, value);
         final Property oldProperty = super.property(key);
-        final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-        if (null == this.properties) this.properties = new HashMap<>();
-        this.properties.put(key, newProperty);
-        TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
-        return newProperty;
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        final TinkerWriteAheadLog writeAheadLog = TinkerHelper.beginMutation(graph);
+        try {
+            if (null != writeAheadLog && !TinkerHelper.inComputerMode(graph))
+                writeAheadLog.setEdgeProperty(this, key, value);
+            final Property<V> newProperty = new TinkerProperty<>(this, key, value);
+            if (null == this.properties) this.properties = new HashMap<>();
+            this.properties.put(key, newProperty);
+            TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+            if (null != graph.statistics) {
+                if (oldProperty.isPresent()) graph.statistics.removeProperty(Edge.class, key, oldProperty.value());
+                graph.statistics.addProperty(Edge.class, key, value);
+            }
+            return newProperty;
+        } finally {
+            TinkerHelper.endMutation(writeAheadLog);
+        }
 
     }
 
@@ -78,22 +97,31 @@ public final class TinkerEdge extends TinkerElement implements Edge {
     public void remove() {
         final TinkerVertex outVertex = (TinkerVertex) this.outVertex;
         final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
-
-        if (null != outVertex && null != outVertex.outEdges) {
-            final Set<Edge> edges = outVertex.outEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        final TinkerWriteAheadLog writeAheadLog = TinkerHelper.beginMutation(graph);
+        try {
+            if (null != writeAheadLog) writeAheadLog.removeEdge(this);
+
+            if (null != outVertex && null != outVertex.outEdges) {
+                final Set<Edge> edges = outVertex.outEdges.get(this.label());
+                if (null != edges)
+                    edges.remove(this);
+            }
+            if (null != inVertex && null != inVertex.inEdges) {
+                final Set<Edge> edges = inVertex.inEdges.get(this.label());
+                if (null != edges)
+                    edges.remove(this);
+            }
+
+            TinkerHelper.removeElementIndex(this);
+            if (null != graph.statistics) graph.statistics.removeProperties(this);
+            ((TinkerGraph) this.graph()).edges.remove(this.id());
+            TinkerHelper.removeLabelIndex((TinkerGraph) this.graph(), this);
+            this.properties = null;
+            this.removed = true;
+        } finally {
+            TinkerHelper.endMutation(writeAheadLog);
         }
-        if (null != inVertex && null != inVertex.inEdges) {
-            final Set<Edge> edges = inVertex.inEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
-        }
-
-        TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
-        this.properties = null;
-        this.removed = true;
     }
 
     @Override
@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -38,16 +39,20 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphCountStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphParallelStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -70,7 +75,8 @@ public final class TinkerGraph implements Graph {
     static {
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(
                 TinkerGraphStepStrategy.instance(),
-                TinkerGraphCountStrategy.instance()));
+                TinkerGraphCountStrategy.instance(),
+                TinkerGraphParallelStrategy.instance()));
     }
 
     private static final Configuration EMPTY_CONFIGURATION = new BaseConfiguration() {{
@@ -83,22 +89,33 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY = "gremlin.tinkergraph.defaultVertexPropertyCardinality";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_LOCATION = "gremlin.tinkergraph.graphLocation";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
+    public static final String GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY = "gremlin.tinkergraph.compactAdjacency";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG = "gremlin.tinkergraph.writeAheadLog";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL = "gremlin.tinkergraph.writeAheadLogSyncInterval";
+    public static final String GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL = "gremlin.tinkergraph.checkpointInterval";
+    public static final String GREMLIN_TINKERGRAPH_STATISTICS = "gremlin.tinkergraph.statistics";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
     protected AtomicLong currentId = new AtomicLong(-1L);
-    protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
-    protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
+    protected Map<Object, Vertex> vertices;
+    protected Map<Object, Edge> edges;
+    protected final Map<String, Set<Vertex>> vertexLabelIndex = new ConcurrentHashMap<>();
+    protected final Map<String, Set<Edge>> edgeLabelIndex = new ConcurrentHashMap<>();
 
     protected TinkerGraphVariables variables = null;
     protected TinkerGraphComputerView graphComputerView = null;
     protected TinkerIndex<TinkerVertex> vertexIndex = null;
     protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected TinkerWriteAheadLog writeAheadLog = null;
+    protected TinkerGraphStatistics statistics = null;
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
+    protected final boolean compactAdjacency;
+    protected final Map<String, String> labels;
 
     private final Configuration configuration;
     private final String graphLocation;
@@ -114,6 +131,10 @@ public final class TinkerGraph implements Graph {
         vertexPropertyIdManager = selectIdManager(configuration, GREMLIN_TINKERGRAPH_VERTEX_PROPERTY_ID_MANAGER, VertexProperty.class);
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
+        compactAdjacency = configuration.getBoolean(GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, false);
+        labels = compactAdjacency ? new ConcurrentHashMap<>() : null;
+        vertices = createElementMap(vertexIdManager);
+        edges = createElementMap(edgeIdManager);
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -122,7 +143,20 @@ public final class TinkerGraph implements Graph {
             throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
+        final boolean writeAheadLogEnabled = configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, false);
+        if (writeAheadLogEnabled && null == graphLocation)
+            throw new IllegalStateException(String.format("The %s must be specified to enable the %s",
+                    GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG));
+
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_STATISTICS, false))
+            statistics = new TinkerGraphStatistics(this);
+
         if (graphLocation != null) loadGraph();
+
+        if (writeAheadLogEnabled)
+            writeAheadLog = TinkerWriteAheadLog.open(this, graphLocation,
+                    configuration.getLong(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 100L),
+                    configuration.getLong(GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 1000000L));
     }
 
     /**
@@ -160,7 +194,7 @@ public final class TinkerGraph implements Graph {
     public Vertex addVertex(final Object... keyValues) {
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         Object idValue = vertexIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
-        final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
+        final String label = internLabel(ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL));
 
         if (null != idValue) {
             if (this.vertices.containsKey(idValue))
@@ -169,11 +203,18 @@ public final class TinkerGraph implements Graph {
             idValue = vertexIdManager.getNextId(this);
         }
 
-        final Vertex vertex = new TinkerVertex(idValue, label, this);
-        this.vertices.put(vertex.id(), vertex);
-
-        ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
-        return vertex;
+        final TinkerVertex vertex = new TinkerVertex(idValue, label, this);
+        final TinkerWriteAheadLog writeAheadLog = TinkerHelper.beginMutation(this);
+        try {
+            if (null != writeAheadLog) writeAheadLog.addVertex(vertex);
+            this.vertices.put(vertex.id(), vertex);
+            TinkerHelper.addLabelIndex(this, vertex);
+
+            ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
+            return vertex;
+        } finally {
+            TinkerHelper.endMutation(writeAheadLog);
+        }
     }
 
     @Override
@@ -211,23 +252,37 @@ public final class TinkerGraph implements Graph {
     }
 
     public void clear() {
-        this.vertices.clear();
-        this.edges.clear();
-        this.variables = null;
-        this.currentId.set(-1L);
-        this.vertexIndex = null;
-        this.edgeIndex = null;
-        this.graphComputerView = null;
+        final TinkerWriteAheadLog writeAheadLog = TinkerHelper.beginMutation(this);
+        try {
+            if (null != writeAheadLog) writeAheadLog.clear();
+            this.vertices.clear();
+            this.edges.clear();
+            this.vertexLabelIndex.clear();
+            this.edgeLabelIndex.clear();
+            if (null != this.labels) this.labels.clear();
+            if (null != this.statistics) this.statistics.clear();
+            this.variables = null;
+            this.currentId.set(-1L);
+            this.vertexIndex = null;
+            this.edgeIndex = null;
+            this.graphComputerView = null;
+        } finally {
+            TinkerHelper.endMutation(writeAheadLog);
+        }
     }
 
     /**
      * This method only has an effect if the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} is set, in which case the
-     * data in the graph is persisted to that location. This method may be called multiple times and does not release
-     * resources.
+     * data in the graph is persisted to that location. When the {@link #GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG} is
+     * enabled this is a checkpoint that also discards the log. This method may be called multiple times and does not
+     * release resources.
      */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (writeAheadLog != null)
+            writeAheadLog.close();
+        else if (graphLocation != null)
+            saveGraph();
     }
 
     @Override
@@ -250,6 +305,29 @@ public final class TinkerGraph implements Graph {
         return createElementIterator(Edge.class, edges, edgeIdManager, edgeIds);
     }
 
+    /**
+     * When {@link #GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY} is enabled, returns a canonical instance of the label so
+     * that the many elements sharing a label do not each hold their own copy of the {@code String}.
+     */
+    String internLabel(final String label) {
+        if (null == this.labels) return label;
+        final String existing = this.labels.putIfAbsent(label, label);
+        return null == existing ? label : existing;
+    }
+
+    /**
+     * Element stores keyed by numeric identifiers are held in a {@link TinkerNumericIdMap} so that ids are not boxed
+     * and each element does not pay for a full hash entry.
+     */
+    private static <E extends Element> Map<Object, E> createElementMap(final IdManager<?> idManager) {
+        if (idManager == DefaultIdManager.LONG)
+            return new TinkerNumericIdMap<>(Long.class);
+        else if (idManager == DefaultIdManager.INTEGER)
+            return new TinkerNumericIdMap<>(Integer.class);
+        else
+            return new ConcurrentHashMap<>();
+    }
+
     private void loadGraph() {
         final File f = new File(graphLocation);
         if (f.exists() && f.isFile()) {
@@ -260,6 +338,8 @@ public final class TinkerGraph implements Graph {
                     io(IoCore.graphson()).readGraph(graphLocation);
                 } else if (graphFormat.equals("gryo")) {
                     io(IoCore.gryo()).readGraph(graphLocation);
+                } else if (graphFormat.equals(TinkerGraphSnapshot.FORMAT)) {
+                    TinkerGraphSnapshot.read(this, f);
                 } else {
                     io(IoCore.createIoBuilder(graphFormat)).readGraph(graphLocation);
                 }
@@ -282,18 +362,43 @@ public final class TinkerGraph implements Graph {
             }
         }
 
+        writeGraph(graphLocation);
+    }
+
+    /**
+     * Writes the graph to a temporary file that then replaces the file at the graph location, so that a failure part
+     * way through leaves the previous checkpoint in place for the {@link TinkerWriteAheadLog} to replay onto.
+     */
+    void writeCheckpoint() {
+        final File f = new File(graphLocation);
+        final File parent = f.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+
+        final File temp = new File(graphLocation + ".tmp");
+        if (temp.exists()) temp.delete();
+        writeGraph(temp.getPath());
+        try {
+            Files.move(temp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception ex) {
+            throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
+        }
+    }
+
+    private void writeGraph(final String location) {
         try {
             if (graphFormat.equals("graphml")) {
-                io(IoCore.graphml()).writeGraph(graphLocation);
+                io(IoCore.graphml()).writeGraph(location);
             } else if (graphFormat.equals("graphson")) {
-                io(IoCore.graphson()).writeGraph(graphLocation);
+                io(IoCore.graphson()).writeGraph(location);
             } else if (graphFormat.equals("gryo")) {
-                io(IoCore.gryo()).writeGraph(graphLocation);
+                io(IoCore.gryo()).writeGraph(location);
+            } else if (graphFormat.equals(TinkerGraphSnapshot.FORMAT)) {
+                TinkerGraphSnapshot.write(this, new File(location));
             } else {
-                io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
+                io(IoCore.createIoBuilder(graphFormat)).writeGraph(location);
             }
         } catch (Exception ex) {
-            throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
+            throw new RuntimeException(String.format("Could not save graph at %s with %s", location, graphFormat), ex);
         }
     }
 
@@ -334,6 +439,14 @@ public final class TinkerGraph implements Graph {
         return features;
     }
 
+    /**
+     * Returns the {@link TinkerGraphStatistics} of the graph when {@link #GREMLIN_TINKERGRAPH_STATISTICS} is enabled.
+     */
+    @Override
+    public Optional<GraphStatistics> statistics() {
+        return Optional.ofNullable(this.statistics);
+    }
+
     private void validateHomogenousIds(final List<Object> ids) {
         final Iterator<Object> iterator = ids.iterator();
         Object id = iterator.next();
@@ -472,12 +585,25 @@ public final class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. A key may only have one index per element class.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -500,6 +626,67 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the elements of the
+     * label and the ordered list of property keys. A lookup with a label and equality values for a leading run of
+     * the keys, as in {@code g.V().hasLabel(label).has(k1, v1).has(k2, v2)}, is answered by a single seek. Whenever
+     * an element has one of the keys mutated, the index is updated. When the index is created, all existing elements
+     * are indexed to ensure that they are captured by the index.
+     *
+     * @param label        the label of the elements to index
+     * @param elementClass the element class to index
+     * @param keys         the ordered property keys to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final String label, final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeIndex(label, Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeIndex(label, Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}), label and keys.
+     *
+     * @param label        the label of the index to drop
+     * @param elementClass the element class of the index to drop
+     * @param keys         the ordered property keys of the index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final String label, final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(label, Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(label, Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the ordered keys of each composite index for said element class ({@link Vertex} or {@link Edge}) and
+     * label.
+     *
+     * @param label        the label to get the composite indices for
+     * @param elementClass the element class to get the composite indices for
+     * @param <E>          The type of the element class
+     * @return the key lists of the composite indices on the label
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexKeys(final String label, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeIndexKeys(label);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeIndexKeys(label);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
     /**
      * Return all the keys currently being index for said element class  ({@link Vertex} or {@link Edge}).
      *
@@ -517,6 +704,23 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * The kinds of index that {@link TinkerGraph} can maintain for a property key.
+     */
+    public enum IndexType {
+        /**
+         * A hash index which answers equality and {@code within} lookups.
+         */
+        HASH,
+
+        /**
+         * A sorted index which answers equality and {@code within} lookups as well as {@code gt}, {@code gte},
+         * {@code lt}, {@code lte} and {@code between} with a log-time seek. Numbers are ordered by value regardless
+         * of their type.
+         */
+        RANGE
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
@@ -0,0 +1,597 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reads and writes the native binary snapshot of a {@link TinkerGraph} that is used for persistence when
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT} is {@code snapshot}. The file is written in a single
+ * sequential pass and read back through {@code FileChannel.map} rather than a stream of serialized elements.
+ * <p/>
+ * The file is made up of the following sections, each written column by column, followed by a fixed size footer
+ * that holds the offsets of the sections:
+ * <ul>
+ *     <li>vertices - the id of every vertex followed by the string table index of every vertex label</li>
+ *     <li>edges - the id of every edge followed by the label, out vertex ordinal and in vertex ordinal columns</li>
+ *     <li>adjacency - offsets into the ordered out edge ordinals of each vertex and the same for in edges</li>
+ *     <li>vertex properties - one column per key of vertex ordinal, id, value and meta-properties</li>
+ *     <li>edge properties - one column per key of edge ordinal and value</li>
+ *     <li>strings - the table of labels and property keys</li>
+ * </ul>
+ * Values of common types are written natively while any other value is written with Gryo.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerGraphSnapshot {
+
+    public static final String FORMAT = "snapshot";
+
+    private static final int MAGIC = 0x544B4753;
+    private static final int VERSION = 1;
+    private static final int SECTIONS = 6;
+    private static final int FOOTER_SIZE = SECTIONS * 8 + 4 * 4;
+    private static final int END_OF_COLUMN = -1;
+
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte SHORT = 7;
+    private static final byte BYTE = 8;
+    private static final byte UUID_VALUE = 9;
+    private static final byte GRYO = 10;
+
+    private Kryo kryo;
+
+    private TinkerGraphSnapshot() {
+    }
+
+    /**
+     * Writes the graph to the file, replacing its contents.
+     */
+    public static void write(final TinkerGraph graph, final File file) throws IOException {
+        try (final CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+             final DataOutputStream out = new DataOutputStream(counter)) {
+            new TinkerGraphSnapshot().write(graph, out, counter);
+        }
+    }
+
+    /**
+     * Reads the file into the graph, which is expected to be empty.
+     */
+    public static void read(final TinkerGraph graph, final File file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+             final MappedInput in = new MappedInput(channel)) {
+            new TinkerGraphSnapshot().read(graph, in);
+        }
+    }
+
+    private void write(final TinkerGraph graph, final DataOutputStream out, final CountingOutputStream counter) throws IOException {
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        final List<TinkerVertex> vertices = new ArrayList<>(graph.vertices.size());
+        final Map<Vertex, Integer> vertexOrdinals = new IdentityHashMap<>(graph.vertices.size());
+        for (final Vertex vertex : graph.vertices.values()) {
+            vertexOrdinals.put(vertex, vertices.size());
+            vertices.add((TinkerVertex) vertex);
+        }
+        final List<TinkerEdge> edges = new ArrayList<>(graph.edges.size());
+        final Map<Edge, Integer> edgeOrdinals = new IdentityHashMap<>(graph.edges.size());
+        for (final Edge edge : graph.edges.values()) {
+            edgeOrdinals.put(edge, edges.size());
+            edges.add((TinkerEdge) edge);
+        }
+
+        final long[] offsets = new long[SECTIONS];
+
+        // vertices
+        offsets[0] = counter.count;
+        for (final TinkerVertex vertex : vertices) {
+            this.writeValue(out, vertex.id);
+        }
+        for (final TinkerVertex vertex : vertices) {
+            out.writeInt(intern(strings, vertex.label));
+        }
+
+        // edges
+        offsets[1] = counter.count;
+        for (final TinkerEdge edge : edges) {
+            this.writeValue(out, edge.id);
+        }
+        for (final TinkerEdge edge : edges) {
+            out.writeInt(intern(strings, edge.label));
+        }
+        for (final TinkerEdge edge : edges) {
+            out.writeInt(vertexOrdinals.get(edge.outVertex));
+        }
+        for (final TinkerEdge edge : edges) {
+            out.writeInt(vertexOrdinals.get(edge.inVertex));
+        }
+
+        // adjacency
+        offsets[2] = counter.count;
+        writeAdjacency(out, vertices, edgeOrdinals, true);
+        writeAdjacency(out, vertices, edgeOrdinals, false);
+
+        // vertex properties
+        offsets[3] = counter.count;
+        final Set<String> vertexKeys = new LinkedHashSet<>();
+        for (final TinkerVertex vertex : vertices) {
+            if (null != vertex.properties) vertexKeys.addAll(vertex.properties.keySet());
+        }
+        out.writeInt(vertexKeys.size());
+        for (final String key : vertexKeys) {
+            out.writeInt(intern(strings, key));
+            for (int i = 0; i < vertices.size(); i++) {
+                final TinkerVertex vertex = vertices.get(i);
+                final List<VertexProperty> list = null == vertex.properties ? null : vertex.properties.get(key);
+                if (null == list) continue;
+                for (final VertexProperty<?> vertexProperty : list) {
+                    out.writeInt(i);
+                    this.writeValue(out, vertexProperty.id());
+                    this.writeValue(out, vertexProperty.value());
+                    final Map<String, Property> metaProperties = ((TinkerVertexProperty<?>) vertexProperty).properties;
+                    if (null == metaProperties) {
+                        out.writeInt(0);
+                    } else {
+                        out.writeInt(metaProperties.size());
+                        for (final Property<?> metaProperty : metaProperties.values()) {
+                            out.writeInt(intern(strings, metaProperty.key()));
+                            this.writeValue(out, metaProperty.value());
+                        }
+                    }
+                }
+            }
+            out.writeInt(END_OF_COLUMN);
+        }
+
+        // edge properties
+        offsets[4] = counter.count;
+        final Set<String> edgeKeys = new LinkedHashSet<>();
+        for (final TinkerEdge edge : edges) {
+            if (null != edge.properties) edgeKeys.addAll(edge.properties.keySet());
+        }
+        out.writeInt(edgeKeys.size());
+        for (final String key : edgeKeys) {
+            out.writeInt(intern(strings, key));
+            for (int i = 0; i < edges.size(); i++) {
+                final TinkerEdge edge = edges.get(i);
+                final Property<?> property = null == edge.properties ? null : edge.properties.get(key);
+                if (null == property) continue;
+                out.writeInt(i);
+                this.writeValue(out, property.value());
+            }
+            out.writeInt(END_OF_COLUMN);
+        }
+
+        // strings
+        offsets[5] = counter.count;
+        out.writeInt(strings.size());
+        for (final String string : strings.keySet()) {
+            writeString(out, string);
+        }
+
+        for (final long offset : offsets) {
+            out.writeLong(offset);
+        }
+        out.writeInt(vertices.size());
+        out.writeInt(edges.size());
+        out.writeInt(VERSION);
+        out.writeInt(MAGIC);
+    }
+
+    private static void writeAdjacency(final DataOutputStream out, final List<TinkerVertex> vertices,
+                                       final Map<Edge, Integer> edgeOrdinals, final boolean outDirection) throws IOException {
+        // offsets first so that the reader can size each vertex's edges before reading the ordinals
+        int offset = 0;
+        out.writeInt(offset);
+        for (final TinkerVertex vertex : vertices) {
+            final Map<String, Set<Edge>> adjacency = outDirection ? vertex.outEdges : vertex.inEdges;
+            if (null != adjacency) {
+                for (final Set<Edge> edges : adjacency.values()) {
+                    offset += edges.size();
+                }
+            }
+            out.writeInt(offset);
+        }
+        for (final TinkerVertex vertex : vertices) {
+            final Map<String, Set<Edge>> adjacency = outDirection ? vertex.outEdges : vertex.inEdges;
+            if (null != adjacency) {
+                for (final Set<Edge> edges : adjacency.values()) {
+                    for (final Edge edge : edges) {
+                        out.writeInt(edgeOrdinals.get(edge));
+                    }
+                }
+            }
+        }
+    }
+
+    private void read(final TinkerGraph graph, final MappedInput in) {
+        if (in.size < FOOTER_SIZE)
+            throw new IllegalStateException("The file is too small to be a TinkerGraph snapshot");
+        in.seek(in.size - FOOTER_SIZE);
+        final long[] offsets = new long[SECTIONS];
+        for (int i = 0; i < SECTIONS; i++) {
+            offsets[i] = in.readLong();
+        }
+        final int vertexCount = in.readInt();
+        final int edgeCount = in.readInt();
+        final int version = in.readInt();
+        if (in.readInt() != MAGIC)
+            throw new IllegalStateException("The file is not a TinkerGraph snapshot");
+        if (version != VERSION)
+            throw new IllegalStateException(String.format("TinkerGraph snapshot version %s is not supported", version));
+
+        // strings
+        in.seek(offsets[5]);
+        final String[] strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readString();
+        }
+
+        // vertices - ids are converted as the snapshot may have been written under a different id manager
+        in.seek(offsets[0]);
+        final Object[] vertexIds = new Object[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vertexIds[i] = graph.vertexIdManager.convert(this.readValue(in));
+        }
+        final TinkerVertex[] vertices = new TinkerVertex[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            final TinkerVertex vertex = new TinkerVertex(vertexIds[i], graph.internLabel(strings[in.readInt()]), graph);
+            graph.vertices.put(vertex.id, vertex);
+            TinkerHelper.addLabelIndex(graph, vertex);
+            vertices[i] = vertex;
+        }
+
+        // edges
+        in.seek(offsets[1]);
+        final Object[] edgeIds = new Object[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            edgeIds[i] = graph.edgeIdManager.convert(this.readValue(in));
+        }
+        final String[] edgeLabels = new String[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            edgeLabels[i] = graph.internLabel(strings[in.readInt()]);
+        }
+        final int[] outVertices = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            outVertices[i] = in.readInt();
+        }
+        final TinkerEdge[] edges = new TinkerEdge[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            final TinkerEdge edge = new TinkerEdge(edgeIds[i], vertices[outVertices[i]], edgeLabels[i], vertices[in.readInt()]);
+            graph.edges.put(edge.id, edge);
+            TinkerHelper.addLabelIndex(graph, edge);
+            edges[i] = edge;
+        }
+
+        // adjacency
+        in.seek(offsets[2]);
+        readAdjacency(in, vertices, edges, true);
+        readAdjacency(in, vertices, edges, false);
+
+        // vertex properties
+        in.seek(offsets[3]);
+        final int vertexKeyCount = in.readInt();
+        for (int k = 0; k < vertexKeyCount; k++) {
+            final String key = strings[in.readInt()];
+            for (int ordinal = in.readInt(); ordinal != END_OF_COLUMN; ordinal = in.readInt()) {
+                final TinkerVertex vertex = vertices[ordinal];
+                final TinkerVertexProperty<Object> vertexProperty = new TinkerVertexProperty<>(graph.vertexPropertyIdManager.convert(this.readValue(in)), vertex, key, this.readValue(in));
+                final int metaPropertyCount = in.readInt();
+                for (int m = 0; m < metaPropertyCount; m++) {
+                    if (null == vertexProperty.properties) vertexProperty.properties = new HashMap<>();
+                    final String metaKey = strings[in.readInt()];
+                    vertexProperty.properties.put(metaKey, new TinkerProperty<>(vertexProperty, metaKey, this.readValue(in)));
+                }
+                if (null == vertex.properties) vertex.properties = new HashMap<>();
+                vertex.properties.computeIfAbsent(key, x -> new ArrayList<>()).add(vertexProperty);
+                if (null != graph.statistics) graph.statistics.addProperty(Vertex.class, key, vertexProperty.value());
+            }
+        }
+
+        // edge properties
+        in.seek(offsets[4]);
+        final int edgeKeyCount = in.readInt();
+        for (int k = 0; k < edgeKeyCount; k++) {
+            final String key = strings[in.readInt()];
+            for (int ordinal = in.readInt(); ordinal != END_OF_COLUMN; ordinal = in.readInt()) {
+                final TinkerEdge edge = edges[ordinal];
+                final Object value = this.readValue(in);
+                if (null == edge.properties) edge.properties = new HashMap<>();
+                edge.properties.put(key, new TinkerProperty<>(edge, key, value));
+                if (null != graph.statistics) graph.statistics.addProperty(Edge.class, key, value);
+            }
+        }
+    }
+
+    private static void readAdjacency(final MappedInput in, final TinkerVertex[] vertices, final TinkerEdge[] edges,
+                                      final boolean outDirection) {
+        final int[] offsets = new int[vertices.length + 1];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = in.readInt();
+        }
+        for (int i = 0; i < vertices.length; i++) {
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                final TinkerEdge edge = edges[in.readInt()];
+                if (outDirection)
+                    TinkerHelper.addOutEdge(vertices[i], edge.label, edge);
+                else
+                    TinkerHelper.addInEdge(vertices[i], edge.label, edge);
+            }
+        }
+    }
+
+    private static int intern(final Map<String, Integer> strings, final String string) {
+        final Integer index = strings.get(string);
+        if (null != index) return index;
+        strings.put(string, strings.size());
+        return strings.size() - 1;
+    }
+
+    private static void writeString(final DataOutputStream out, final String string) throws IOException {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeValue(final DataOutputStream out, final Object value) throws IOException {
+        if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof UUID) {
+            out.writeByte(UUID_VALUE);
+            out.writeLong(((UUID) value).getMostSignificantBits());
+            out.writeLong(((UUID) value).getLeastSignificantBits());
+        } else {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (final Output output = new Output(bytes)) {
+                this.kryo().writeClassAndObject(output, value);
+            }
+            out.writeByte(GRYO);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        }
+    }
+
+    private Object readValue(final MappedInput in) {
+        final byte type = in.readByte();
+        switch (type) {
+            case STRING:
+                return in.readString();
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return Double.longBitsToDouble(in.readLong());
+            case FLOAT:
+                return Float.intBitsToFloat(in.readInt());
+            case BOOLEAN:
+                return in.readByte() != 0;
+            case SHORT:
+                return (short) ((in.readByte() << 8) | (in.readByte() & 0xFF));
+            case BYTE:
+                return in.readByte();
+            case UUID_VALUE:
+                return new UUID(in.readLong(), in.readLong());
+            case GRYO:
+                try (final Input input = new Input(in.readBytes(in.readInt()))) {
+                    return this.kryo().readClassAndObject(input);
+                }
+            default:
+                throw new IllegalStateException(String.format("Unknown value type %s in TinkerGraph snapshot", type));
+        }
+    }
+
+    private Kryo kryo() {
+        if (null == this.kryo)
+            this.kryo = GryoMapper.build().version(GryoVersion.V3_0).addRegistry(TinkerIoRegistryV3d0.instance()).create().createMapper();
+        return this.kryo;
+    }
+
+    /**
+     * Tracks the number of bytes written so that section offsets are known without seeking.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        private CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.out.write(b);
+            this.count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            this.out.write(b, off, len);
+            this.count += len;
+        }
+    }
+
+    /**
+     * Reads big-endian values from a file that is mapped in segments, as a single {@code MappedByteBuffer} cannot
+     * address more than 2GB. Every value is copied out of the mapping, so the segments are unmapped on
+     * {@link #close()} rather than left for the garbage collector to release.
+     */
+    private static final class MappedInput implements AutoCloseable {
+        private static final int SEGMENT_BITS = 30;
+        private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+        private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+        private final MappedByteBuffer[] segments;
+        private final long size;
+        private long position = 0;
+
+        private MappedInput(final FileChannel channel) throws IOException {
+            this.size = channel.size();
+            this.segments = new MappedByteBuffer[(int) ((this.size + SEGMENT_SIZE - 1) >>> SEGMENT_BITS)];
+            for (int i = 0; i < this.segments.length; i++) {
+                final long start = (long) i << SEGMENT_BITS;
+                this.segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, this.size - start));
+            }
+        }
+
+        private void seek(final long position) {
+            this.position = position;
+        }
+
+        private byte readByte() {
+            final byte b = this.segments[(int) (this.position >>> SEGMENT_BITS)].get((int) (this.position & SEGMENT_MASK));
+            this.position++;
+            return b;
+        }
+
+        private int readInt() {
+            final MappedByteBuffer segment = this.segments[(int) (this.position >>> SEGMENT_BITS)];
+            final int offset = (int) (this.position & SEGMENT_MASK);
+            if (offset + 4 <= segment.limit()) {
+                this.position += 4;
+                return segment.getInt(offset);
+            }
+            return ((this.readByte() & 0xFF) << 24) | ((this.readByte() & 0xFF) << 16) |
+                    ((this.readByte() & 0xFF) << 8) | (this.readByte() & 0xFF);
+        }
+
+        private long readLong() {
+            final MappedByteBuffer segment = this.segments[(int) (this.position >>> SEGMENT_BITS)];
+            final int offset = (int) (this.position & SEGMENT_MASK);
+            if (offset + 8 <= segment.limit()) {
+                this.position += 8;
+                return segment.getLong(offset);
+            }
+            return ((long) this.readInt() << 32) | (this.readInt() & 0xFFFFFFFFL);
+        }
+
+        private byte[] readBytes(final int length) {
+            final byte[] bytes = new byte[length];
+            int read = 0;
+            while (read < length) {
+                final MappedByteBuffer segment = this.segments[(int) (this.position >>> SEGMENT_BITS)];
+                final int offset = (int) (this.position & SEGMENT_MASK);
+                final int chunk = Math.min(length - read, segment.limit() - offset);
+                final ByteBuffer view = segment.duplicate();
+                // cast as ByteBuffer.position(int) is covariant from Java 9 and does not exist on Java 8
+                ((Buffer) view).position(offset);
+                view.get(bytes, read, chunk);
+                read += chunk;
+                this.position += chunk;
+            }
+            return bytes;
+        }
+
+        private String readString() {
+            return new String(this.readBytes(this.readInt()), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() {
+            for (int i = 0; i < this.segments.length; i++) {
+                if (null != this.segments[i]) unmap(this.segments[i]);
+                this.segments[i] = null;
+            }
+        }
+
+        /**
+         * Releases the mapping with {@code Unsafe.invokeCleaner} on Java 9 and later or the buffer's cleaner on
+         * Java 8. If neither is accessible the mapping is released once the buffer is garbage collected.
+         */
+        private static void unmap(final MappedByteBuffer buffer) {
+            try {
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            } catch (NoSuchMethodException ex) {
+                try {
+                    final Method cleaner = buffer.getClass().getMethod("cleaner");
+                    cleaner.setAccessible(true);
+                    final Object clean = cleaner.invoke(buffer);
+                    if (null != clean) clean.getClass().getMethod("clean").invoke(clean);
+                } catch (Exception ignored) {
+                    // left to the garbage collector
+                }
+            } catch (Exception ignored) {
+                // left to the garbage collector
+            }
+        }
+    }
+}
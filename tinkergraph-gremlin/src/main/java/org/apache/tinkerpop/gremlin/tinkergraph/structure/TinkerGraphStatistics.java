@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.GraphStatistics;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link GraphStatistics} of a {@link TinkerGraph}, kept when {@link TinkerGraph#GREMLIN_TINKERGRAPH_STATISTICS}
+ * is enabled. Element and label counts are read from the maps and label indices the graph always maintains, while
+ * the number of properties with each key and value is counted as properties are added and removed. Properties set
+ * on a graph computer are not counted. The counts are exact, so they hold an entry for every distinct value of every
+ * key, which for a key with a distinct value on each element costs about as much heap as an index of that key.
+ *
+ * @author agent (agent@local)
+ */
+public final class TinkerGraphStatistics implements GraphStatistics {
+
+    private final TinkerGraph graph;
+    private final Map<String, Map<Object, Long>> vertexValueCounts = new ConcurrentHashMap<>();
+    private final Map<String, Long> vertexKeyCounts = new ConcurrentHashMap<>();
+    private final Map<String, Map<Object, Long>> edgeValueCounts = new ConcurrentHashMap<>();
+    private final Map<String, Long> edgeKeyCounts = new ConcurrentHashMap<>();
+
+    TinkerGraphStatistics(final TinkerGraph graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public long count(final Class<? extends Element> elementClass) {
+        return isVertex(elementClass) ? this.graph.vertices.size() : this.graph.edges.size();
+    }
+
+    @Override
+    public long count(final Class<? extends Element> elementClass, final String label) {
+        return isVertex(elementClass) ?
+                this.graph.vertexLabelIndex.getOrDefault(label, Collections.emptySet()).size() :
+                this.graph.edgeLabelIndex.getOrDefault(label, Collections.emptySet()).size();
+    }
+
+    @Override
+    public long count(final Class<? extends Element> elementClass, final String key, final Object value) {
+        if (null == value)
+            return (isVertex(elementClass) ? this.vertexKeyCounts : this.edgeKeyCounts).getOrDefault(key, 0L);
+        return (isVertex(elementClass) ? this.vertexValueCounts : this.edgeValueCounts)
+                .getOrDefault(key, Collections.emptyMap()).getOrDefault(value, 0L);
+    }
+
+    void addProperty(final Class<? extends Element> elementClass, final String key, final Object value) {
+        final boolean vertex = isVertex(elementClass);
+        (vertex ? this.vertexKeyCounts : this.edgeKeyCounts).merge(key, 1L, Long::sum);
+        // the value is counted inside compute() so that it can not race a removal that drops the emptied counts
+        (vertex ? this.vertexValueCounts : this.edgeValueCounts).compute(key, (k, counts) -> {
+            final Map<Object, Long> valueCounts = null == counts ? new ConcurrentHashMap<>() : counts;
+            valueCounts.merge(value, 1L, Long::sum);
+            return valueCounts;
+        });
+    }
+
+    void removeProperty(final Class<? extends Element> elementClass, final String key, final Object value) {
+        final boolean vertex = isVertex(elementClass);
+        (vertex ? this.vertexKeyCounts : this.edgeKeyCounts).computeIfPresent(key, (k, count) -> 1L == count ? null : count - 1L);
+        (vertex ? this.vertexValueCounts : this.edgeValueCounts).computeIfPresent(key, (k, counts) -> {
+            counts.computeIfPresent(value, (v, count) -> 1L == count ? null : count - 1L);
+            return counts.isEmpty() ? null : counts;
+        });
+    }
+
+    void removeProperties(final TinkerVertex vertex) {
+        if (null == vertex.properties)
+            return;
+        for (final List<VertexProperty> properties : vertex.properties.values()) {
+            for (final VertexProperty<?> property : properties) {
+                this.removeProperty(Vertex.class, property.key(), property.value());
+            }
+        }
+    }
+
+    void removeProperties(final TinkerEdge edge) {
+        if (null == edge.properties)
+            return;
+        for (final Property<?> property : edge.properties.values()) {
+            this.removeProperty(Edge.class, property.key(), property.value());
+        }
+    }
+
+    void clear() {
+        this.vertexValueCounts.clear();
+        this.vertexKeyCounts.clear();
+        this.edgeValueCounts.clear();
+        this.edgeKeyCounts.clear();
+    }
+
+    private static boolean isVertex(final Class<? extends Element> elementClass) {
+        return Vertex.class.isAssignableFrom(elementClass);
+    }
+}
@@ -20,9 +20,11 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
@@ -37,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
@@ -47,9 +50,26 @@ public final class TinkerHelper {
     private TinkerHelper() {
     }
 
+    /**
+     * Holds off a checkpoint of the {@link TinkerWriteAheadLog} of the graph, if it has one, until the mutation that
+     * follows is both logged and applied, which is signalled with {@link #endMutation(TinkerWriteAheadLog)}.
+     *
+     * @return the log of the graph or {@code null} if it has none
+     */
+    protected static TinkerWriteAheadLog beginMutation(final TinkerGraph graph) {
+        final TinkerWriteAheadLog writeAheadLog = graph.writeAheadLog;
+        if (null != writeAheadLog) writeAheadLog.beginMutation();
+        return writeAheadLog;
+    }
+
+    protected static void endMutation(final TinkerWriteAheadLog writeAheadLog) {
+        if (null != writeAheadLog) writeAheadLog.endMutation();
+    }
+
     protected static Edge addEdge(final TinkerGraph graph, final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object... keyValues) {
         ElementHelper.validateLabel(label);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
+        final String edgeLabel = graph.internLabel(label);
 
         Object idValue = graph.edgeIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
 
@@ -61,30 +81,46 @@ public final class TinkerHelper {
             idValue = graph.edgeIdManager.getNextId(graph);
         }
 
-        edge = new TinkerEdge(idValue, outVertex, label, inVertex);
-        ElementHelper.attachProperties(edge, keyValues);
-        graph.edges.put(edge.id(), edge);
-        TinkerHelper.addOutEdge(outVertex, label, edge);
-        TinkerHelper.addInEdge(inVertex, label, edge);
-        return edge;
+        // the properties are validated before the edge is logged so that an edge whose properties cannot be attached
+        // is neither logged nor registered with the graph
+        for (int i = 0; i < keyValues.length; i = i + 2) {
+            if (!keyValues[i].equals(T.id) && !keyValues[i].equals(T.label))
+                ElementHelper.validateProperty((String) keyValues[i], keyValues[i + 1]);
+        }
+
+        edge = new TinkerEdge(idValue, outVertex, edgeLabel, inVertex);
+        final TinkerWriteAheadLog writeAheadLog = TinkerHelper.beginMutation(graph);
+        try {
+            if (null != writeAheadLog) writeAheadLog.addEdge((TinkerEdge) edge);
+            ElementHelper.attachProperties(edge, keyValues);
+            graph.edges.put(edge.id(), edge);
+            TinkerHelper.addLabelIndex(graph, (TinkerEdge) edge);
+            TinkerHelper.addOutEdge(outVertex, edgeLabel, edge);
+            TinkerHelper.addInEdge(inVertex, edgeLabel, edge);
+            return edge;
+        } finally {
+            TinkerHelper.endMutation(writeAheadLog);
+        }
 
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
+        final boolean compact = ((TinkerGraph) vertex.graph()).compactAdjacency;
+        if (null == vertex.outEdges) vertex.outEdges = compact ? new HashMap<>(2) : new HashMap<>();
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = compact ? new TinkerCompactEdgeSet(true) : new HashSet<>();
             vertex.outEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
+        final boolean compact = ((TinkerGraph) vertex.graph()).compactAdjacency;
+        if (null == vertex.inEdges) vertex.inEdges = compact ? new HashMap<>(2) : new HashMap<>();
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = compact ? new TinkerCompactEdgeSet(false) : new HashSet<>();
             vertex.inEdges.put(label, edges);
         }
         edges.add(edge);
@@ -98,6 +134,38 @@ public final class TinkerHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    /**
+     * Answers the predicates on the key from the vertex index, returning {@code null} if it cannot do so. The
+     * returned vertices must still be filtered by the predicates.
+     */
+    public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final List<P<?>> predicates) {
+        return null == graph.vertexIndex ? null : graph.vertexIndex.query(key, predicates);
+    }
+
+    /**
+     * Answers the predicates on the key from the edge index, returning {@code null} if it cannot do so. The returned
+     * edges must still be filtered by the predicates.
+     */
+    public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final String key, final List<P<?>> predicates) {
+        return null == graph.edgeIndex ? null : graph.edgeIndex.query(key, predicates);
+    }
+
+    /**
+     * Looks up vertices of the label from the composite index that best covers the equality values, returning
+     * {@code null} if there is no such index. The returned vertices must still be filtered.
+     */
+    public static List<TinkerVertex> queryVertexCompositeIndex(final TinkerGraph graph, final String label, final Map<String, Object> values) {
+        return null == graph.vertexIndex ? null : graph.vertexIndex.queryComposite(label, values);
+    }
+
+    /**
+     * Looks up edges of the label from the composite index that best covers the equality values, returning
+     * {@code null} if there is no such index. The returned edges must still be filtered.
+     */
+    public static List<TinkerEdge> queryEdgeCompositeIndex(final TinkerGraph graph, final String label, final Map<String, Object> values) {
+        return null == graph.edgeIndex ? null : graph.edgeIndex.queryComposite(label, values);
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphComputerView;
     }
@@ -114,6 +182,17 @@ public final class TinkerHelper {
         graph.graphComputerView = null;
     }
 
+    /**
+     * The position of the vertex in the storage of the compute keys of the current {@link TinkerGraphComputerView}.
+     */
+    public static int getComputeOrdinal(final TinkerVertex vertex) {
+        return vertex.computeOrdinal;
+    }
+
+    public static void setComputeOrdinal(final TinkerVertex vertex, final int ordinal) {
+        vertex.computeOrdinal = ordinal;
+    }
+
     public static Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
         return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
     }
@@ -145,13 +224,13 @@ public final class TinkerHelper {
     public static void removeIndex(final TinkerVertex vertex, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
-            graph.vertexIndex.remove(key, value, vertex);
+            graph.vertexIndex.autoRemove(key, value, vertex);
     }
 
     public static void removeIndex(final TinkerEdge edge, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
-            graph.edgeIndex.remove(key, value, edge);
+            graph.edgeIndex.autoRemove(key, value, edge);
     }
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
@@ -179,6 +258,24 @@ public final class TinkerHelper {
         return (Iterator) edges.iterator();
     }
 
+    /**
+     * Counts the edges incident to the vertex in the given direction without iterating them.
+     */
+    public static long getDegree(final TinkerVertex vertex, final Direction direction) {
+        long degree = 0;
+        if ((direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) && vertex.outEdges != null) {
+            for (final Set<Edge> edges : vertex.outEdges.values()) {
+                degree += edges.size();
+            }
+        }
+        if ((direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) && vertex.inEdges != null) {
+            for (final Set<Edge> edges : vertex.inEdges.values()) {
+                degree += edges.size();
+            }
+        }
+        return degree;
+    }
+
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Vertex> vertices = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
@@ -204,6 +301,52 @@ public final class TinkerHelper {
         return (Iterator) vertices.iterator();
     }
 
+    protected static void addLabelIndex(final TinkerGraph graph, final TinkerVertex vertex) {
+        // the add happens inside compute() so that it can not race a removal that drops the set once it is empty
+        graph.vertexLabelIndex.compute(vertex.label(), (label, vertices) -> {
+            final Set<Vertex> indexed = null == vertices ? ConcurrentHashMap.newKeySet() : vertices;
+            indexed.add(vertex);
+            return indexed;
+        });
+    }
+
+    protected static void addLabelIndex(final TinkerGraph graph, final TinkerEdge edge) {
+        // the add happens inside compute() so that it can not race a removal that drops the set once it is empty
+        graph.edgeLabelIndex.compute(edge.label(), (label, edges) -> {
+            final Set<Edge> indexed = null == edges ? ConcurrentHashMap.newKeySet() : edges;
+            indexed.add(edge);
+            return indexed;
+        });
+    }
+
+    protected static void removeLabelIndex(final TinkerGraph graph, final TinkerVertex vertex) {
+        graph.vertexLabelIndex.computeIfPresent(vertex.label(), (label, vertices) -> {
+            vertices.remove(vertex);
+            return vertices.isEmpty() ? null : vertices;
+        });
+    }
+
+    protected static void removeLabelIndex(final TinkerGraph graph, final TinkerEdge edge) {
+        graph.edgeLabelIndex.computeIfPresent(edge.label(), (label, edges) -> {
+            edges.remove(edge);
+            return edges.isEmpty() ? null : edges;
+        });
+    }
+
+    /**
+     * Gets the vertices with the label from the label index that {@link TinkerGraph} always maintains.
+     */
+    public static Set<Vertex> getVerticesByLabel(final TinkerGraph graph, final String label) {
+        return graph.vertexLabelIndex.getOrDefault(label, Collections.emptySet());
+    }
+
+    /**
+     * Gets the edges with the label from the label index that {@link TinkerGraph} always maintains.
+     */
+    public static Set<Edge> getEdgesByLabel(final TinkerGraph graph, final String label) {
+        return graph.edgeLabelIndex.getOrDefault(label, Collections.emptySet());
+    }
+
     public static Map<Object, Vertex> getVertices(final TinkerGraph graph) {
         return graph.vertices;
     }
@@ -18,18 +18,29 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.NumberHelper;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiPredicate;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -37,8 +48,14 @@ import java.util.concurrent.ConcurrentHashMap;
 final class TinkerIndex<T extends Element> {
 
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
+    /**
+     * The values of {@link TinkerGraph.IndexType#RANGE} keys that have no natural order, which are hashed here rather
+     * than sorted with the others so that distinct values can never share an entry.
+     */
+    private final Map<String, Map<Object, Set<T>>> unorderedIndex = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    private final Map<String, TinkerGraph.IndexType> indexedKeys = new HashMap<>();
+    private final List<TinkerCompositeIndex<T>> compositeIndices = new CopyOnWriteArrayList<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -47,10 +64,13 @@ final class TinkerIndex<T extends Element> {
     }
 
     protected void put(final String key, final Object value, final T element) {
-        Map<Object, Set<T>> keyMap = this.index.get(key);
+        final Map<String, Map<Object, Set<T>>> index = this.indexFor(key, value);
+        Map<Object, Set<T>> keyMap = index.get(key);
         if (null == keyMap) {
-            this.index.putIfAbsent(key, new ConcurrentHashMap<Object, Set<T>>());
-            keyMap = this.index.get(key);
+            index.putIfAbsent(key, index == this.index && this.indexedKeys.get(key) == TinkerGraph.IndexType.RANGE ?
+                    new ConcurrentSkipListMap<>(TinkerIndex::compareValues) :
+                    new ConcurrentHashMap<Object, Set<T>>());
+            keyMap = index.get(key);
         }
         Set<T> objects = keyMap.get(value);
         if (null == objects) {
@@ -61,7 +81,7 @@ final class TinkerIndex<T extends Element> {
     }
 
     public List<T> get(final String key, final Object value) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        final Map<Object, Set<T>> keyMap = this.indexFor(key, value).get(key);
         if (null == keyMap) {
             return Collections.emptyList();
         } else {
@@ -73,8 +93,88 @@ final class TinkerIndex<T extends Element> {
         }
     }
 
+    /**
+     * Answers the conjunction of the predicates from the index of the key. Equality and {@code within} can be answered
+     * by any index while {@code gt}, {@code gte}, {@code lt} and {@code lte} require a
+     * {@link TinkerGraph.IndexType#RANGE} index. The returned elements are a superset of those that match and must
+     * still be filtered by the caller.
+     *
+     * @return the candidate elements or {@code null} if the index cannot answer the predicates
+     */
+    public List<T> query(final String key, final List<P<?>> predicates) {
+        final TinkerGraph.IndexType indexType = this.indexedKeys.get(key);
+        if (null == indexType || predicates.isEmpty()) return null;
+
+        Object lower = null, upper = null;
+        boolean lowerInclusive = false, upperInclusive = false;
+        for (final P<?> predicate : predicates) {
+            final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+            final Object value = predicate.getValue();
+            if (null == value)
+                return null;
+            else if (biPredicate == Compare.eq)
+                return this.get(key, value);
+            else if (biPredicate == Contains.within) {
+                // within matches numbers by value which only the range index can honor
+                if (!(value instanceof Collection) || (indexType != TinkerGraph.IndexType.RANGE &&
+                        ((Collection<?>) value).stream().anyMatch(v -> v instanceof Number)))
+                    return null;
+                return this.getAll(key, (Collection<?>) value);
+            }
+            else if (indexType != TinkerGraph.IndexType.RANGE || !isOrdered(value))
+                return null;
+            else if (biPredicate == Compare.gt || biPredicate == Compare.gte) {
+                final int c = null == lower ? 1 : compareValues(value, lower);
+                if (c > 0 || (0 == c && biPredicate == Compare.gt)) {
+                    lower = value;
+                    lowerInclusive = biPredicate == Compare.gte;
+                }
+            } else if (biPredicate == Compare.lt || biPredicate == Compare.lte) {
+                final int c = null == upper ? -1 : compareValues(value, upper);
+                if (c < 0 || (0 == c && biPredicate == Compare.lt)) {
+                    upper = value;
+                    upperInclusive = biPredicate == Compare.lte;
+                }
+            } else
+                return null;
+        }
+
+        final NavigableMap<Object, Set<T>> keyMap = (NavigableMap<Object, Set<T>>) this.index.get(key);
+        if (null == keyMap) return Collections.emptyList();
+
+        final NavigableMap<Object, Set<T>> range;
+        if (null != lower && null != upper) {
+            final int c = compareValues(lower, upper);
+            if (c > 0 || (0 == c && !(lowerInclusive && upperInclusive))) return Collections.emptyList();
+            range = keyMap.subMap(lower, lowerInclusive, upper, upperInclusive);
+        } else if (null != lower)
+            range = keyMap.tailMap(lower, lowerInclusive);
+        else
+            range = keyMap.headMap(upper, upperInclusive).descendingMap();
+
+        // values of other types sort outside of the bounds so stop as soon as one is met
+        final Object bound = null != lower ? lower : upper;
+        final Set<T> elements = new LinkedHashSet<>();
+        for (final Map.Entry<Object, Set<T>> entry : range.entrySet()) {
+            if (!comparableTypes(bound, entry.getKey())) break;
+            elements.addAll(entry.getValue());
+        }
+        return new ArrayList<>(elements);
+    }
+
+    private List<T> getAll(final String key, final Collection<?> values) {
+        final Set<T> elements = new LinkedHashSet<>();
+        for (final Object value : values) {
+            if (null == value) continue;
+            final Map<Object, Set<T>> keyMap = this.indexFor(key, value).get(key);
+            final Set<T> set = null == keyMap ? null : keyMap.get(value);
+            if (null != set) elements.addAll(set);
+        }
+        return new ArrayList<>(elements);
+    }
+
     public long count(final String key, final Object value) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        final Map<Object, Set<T>> keyMap = this.indexFor(key, value).get(key);
         if (null == keyMap) {
             return 0;
         } else {
@@ -87,10 +187,14 @@ final class TinkerIndex<T extends Element> {
     }
 
     public void remove(final String key, final Object value, final T element) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        final Map<Object, Set<T>> keyMap = this.indexFor(key, value).get(key);
         if (null != keyMap) {
             Set<T> objects = keyMap.get(value);
             if (null != objects) {
+                // a range index shares a bucket among values that compare equal, like 1 and 1L, so keep the element if
+                // it still holds another such value
+                if (keyMap instanceof NavigableMap && hasComparableValue(element, key, value))
+                    return;
                 objects.remove(element);
                 if (objects.size() == 0) {
                     keyMap.remove(value);
@@ -106,31 +210,116 @@ final class TinkerIndex<T extends Element> {
                     set.remove(element);
                 }
             }
+            for (final Map<Object, Set<T>> map : this.unorderedIndex.values()) {
+                for (final Set<T> set : map.values()) {
+                    set.remove(element);
+                }
+            }
+            for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices) {
+                compositeIndex.remove(element);
+            }
         }
     }
 
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
-        if (this.indexedKeys.contains(key)) {
+        if (this.indexedKeys.containsKey(key)) {
             if (oldValue != null)
                 this.remove(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        this.updateCompositeIndices(key, element);
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
-        if (this.indexedKeys.contains(key))
+        if (this.indexedKeys.containsKey(key))
             this.remove(key, oldValue, element);
+        this.updateCompositeIndices(key, element);
+    }
+
+    private void updateCompositeIndices(final String key, final T element) {
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices) {
+            if (compositeIndex.covers(key))
+                compositeIndex.update(element);
+        }
+    }
+
+    /**
+     * Looks up elements of the label from the composite index whose leading keys are best covered by the equality
+     * values, which is the most selective composite index for the lookup. The returned elements must still be
+     * filtered by the caller.
+     *
+     * @return the candidate elements or {@code null} if no composite index covers the label and a leading key
+     */
+    public List<T> queryComposite(final String label, final Map<String, Object> values) {
+        TinkerCompositeIndex<T> best = null;
+        int bestLength = 0;
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices) {
+            final int length = compositeIndex.prefixLength(label, values);
+            if (length > bestLength) {
+                best = compositeIndex;
+                bestLength = length;
+            }
+        }
+        return null == best ? null : best.get(values, bestLength);
+    }
+
+    public void createCompositeIndex(final String label, final List<String> keys) {
+        if (null == label)
+            throw Graph.Exceptions.argumentCanNotBeNull("label");
+        if (null == keys || keys.isEmpty())
+            throw new IllegalArgumentException("A composite index requires at least one key");
+        if (keys.stream().anyMatch(k -> null == k || k.isEmpty()))
+            throw new IllegalArgumentException("The keys for the index cannot be null or an empty string");
+        if (null != this.getCompositeIndex(label, keys))
+            return;
+
+        final TinkerCompositeIndex<T> compositeIndex = new TinkerCompositeIndex<>(label, keys);
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values().<T>stream() :
+                this.graph.edges.values().<T>stream())
+                .forEach(e -> compositeIndex.update((T) e));
+        this.compositeIndices.add(compositeIndex);
+    }
+
+    public void dropCompositeIndex(final String label, final List<String> keys) {
+        final TinkerCompositeIndex<T> compositeIndex = this.getCompositeIndex(label, keys);
+        if (null != compositeIndex) {
+            this.compositeIndices.remove(compositeIndex);
+            compositeIndex.clear();
+        }
+    }
+
+    public Set<List<String>> getCompositeIndexKeys(final String label) {
+        final Set<List<String>> keys = new LinkedHashSet<>();
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices) {
+            if (compositeIndex.getLabel().equals(label))
+                keys.add(compositeIndex.getKeys());
+        }
+        return keys;
+    }
+
+    private TinkerCompositeIndex<T> getCompositeIndex(final String label, final List<String> keys) {
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices) {
+            if (compositeIndex.getLabel().equals(label) && compositeIndex.getKeys().equals(keys))
+                return compositeIndex;
+        }
+        return null;
     }
 
-    public void createKeyIndex(final String key) {
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
 
-        if (this.indexedKeys.contains(key))
+        final TinkerGraph.IndexType existing = this.indexedKeys.get(key);
+        if (existing == indexType)
             return;
-        this.indexedKeys.add(key);
+        else if (null != existing)
+            throw new IllegalStateException(String.format("The key %s is already indexed as %s and that index must be dropped first", key, existing));
+        this.indexedKeys.put(key, indexType);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
                 this.graph.vertices.values().<T>parallelStream() :
@@ -143,11 +332,62 @@ final class TinkerIndex<T extends Element> {
     public void dropKeyIndex(final String key) {
         if (this.index.containsKey(key))
             this.index.remove(key).clear();
+        if (this.unorderedIndex.containsKey(key))
+            this.unorderedIndex.remove(key).clear();
 
         this.indexedKeys.remove(key);
     }
 
     public Set<String> getIndexedKeys() {
-        return this.indexedKeys;
+        return this.indexedKeys.keySet();
+    }
+
+    public TinkerGraph.IndexType getIndexType(final String key) {
+        return this.indexedKeys.get(key);
+    }
+
+    private Map<String, Map<Object, Set<T>>> indexFor(final String key, final Object value) {
+        return this.indexedKeys.get(key) == TinkerGraph.IndexType.RANGE && !isOrdered(value) ? this.unorderedIndex : this.index;
+    }
+
+    private static boolean isOrdered(final Object value) {
+        return value instanceof Number || value instanceof Comparable;
+    }
+
+    private static boolean hasComparableValue(final Element element, final String key, final Object value) {
+        final Iterator<? extends Property<Object>> properties = element.properties(key);
+        while (properties.hasNext()) {
+            final Property<Object> property = properties.next();
+            if (property.isPresent() && comparableTypes(value, property.value()) && 0 == compareValues(value, property.value()))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean comparableTypes(final Object a, final Object b) {
+        return a instanceof Number ? b instanceof Number : a.getClass().equals(b.getClass());
+    }
+
+    /**
+     * The total order of a {@link TinkerGraph.IndexType#RANGE} index. Numbers sort first and compare by value
+     * regardless of their type as {@link Compare} does, after which values are grouped by class and ordered naturally
+     * where they are {@code Comparable}. A {@link TinkerGraph.IndexType#RANGE} index never holds other values, but the
+     * tuples of a {@link TinkerCompositeIndex} may, and those fall back to their hash codes, which can only ever widen
+     * the candidates of a lookup that the caller filters anyway.
+     */
+    static int compareValues(final Object a, final Object b) {
+        if (a == b) return 0;
+        final boolean aNumber = a instanceof Number;
+        final boolean bNumber = b instanceof Number;
+        if (aNumber && bNumber)
+            return NumberHelper.compare((Number) a, (Number) b);
+        else if (aNumber != bNumber)
+            return aNumber ? -1 : 1;
+        else if (!a.getClass().equals(b.getClass()))
+            return a.getClass().getName().compareTo(b.getClass().getName());
+        else if (a instanceof Comparable)
+            return ((Comparable) a).compareTo(b);
+        else
+            return Integer.compare(a.hashCode(), b.hashCode());
     }
 }
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An open addressing map keyed on primitive {@code long} values that {@link TinkerGraph} uses to store its vertices
+ * and edges when the {@link TinkerGraph.DefaultIdManager#LONG} or {@link TinkerGraph.DefaultIdManager#INTEGER}
+ * manager is configured. Identifiers are held in an array of primitive {@code long} values beside an array of the
+ * elements, so that an element costs two array slots rather than a hash entry and a boxed key. Only keys of the
+ * configured class are recognized, which mirrors how a {@code ConcurrentHashMap} would treat an {@code Integer}
+ * lookup against {@code Long} keys. Writes are serialized on the map while reads are lock-free and, like iteration,
+ * weakly consistent with respect to concurrent writes.
+ * <p/>
+ * A write stores the key of a slot before its value, and a read takes the value, then the key, and then checks that
+ * the value is still in place, so that a slot reused by a concurrent {@link #remove(Object)} and
+ * {@link #put(Object, Object)} can never pair the key of one element with another. Elements are never put back once
+ * removed, as a removed element is replaced by a new one, so the value of a slot cannot return to a previous one.
+ *
+ * @param <E> the element type
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerNumericIdMap<E> extends AbstractMap<Object, E> {
+
+    private static final Object TOMBSTONE = new Object();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Class<? extends Number> keyClass;
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private volatile int size = 0;
+    private int tombstones = 0;
+
+    private Set<Object> keySet;
+    private Collection<E> values;
+    private Set<Map.Entry<Object, E>> entrySet;
+
+    TinkerNumericIdMap(final Class<? extends Number> keyClass) {
+        if (!Long.class.equals(keyClass) && !Integer.class.equals(keyClass))
+            throw new IllegalArgumentException(String.format("Expected a key class of Long or Integer but received %s", keyClass));
+        this.keyClass = keyClass;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return null != this.get(key);
+    }
+
+    @Override
+    public E get(final Object key) {
+        if (!this.keyClass.isInstance(key)) return null;
+        final long k = ((Number) key).longValue();
+        final Table t = this.table;
+        final int mask = t.values.length() - 1;
+        for (int i = indexFor(k, mask), probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            final Object value = t.values.get(i);
+            if (null == value) return null;
+            if (TOMBSTONE != value && t.keys.get(i) == k && t.values.get(i) == value) return (E) value;
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized E put(final Object key, final E value) {
+        if (null == value) throw new NullPointerException("The value cannot be null");
+        if (!this.keyClass.isInstance(key))
+            throw new IllegalArgumentException(String.format("Expected a key of type %s but received %s",
+                    this.keyClass.getSimpleName(), null == key ? null : key.getClass()));
+
+        final long k = ((Number) key).longValue();
+        final Table t = this.table;
+        final int capacity = t.values.length();
+        final int mask = capacity - 1;
+        int firstTombstone = -1;
+        int i = indexFor(k, mask);
+        while (true) {
+            final Object existing = t.values.get(i);
+            if (null == existing) break;
+            if (TOMBSTONE == existing) {
+                if (firstTombstone < 0) firstTombstone = i;
+            } else if (t.keys.get(i) == k) {
+                t.values.set(i, value);
+                return (E) existing;
+            }
+            i = (i + 1) & mask;
+        }
+
+        if (firstTombstone >= 0) {
+            i = firstTombstone;
+            this.tombstones--;
+        }
+        t.keys.set(i, k);
+        t.values.set(i, value);
+        this.size++;
+
+        if ((this.size + this.tombstones) * 4 >= capacity * 3)
+            this.rehash(this.size * 2 >= capacity ? capacity << 1 : capacity);
+        return null;
+    }
+
+    @Override
+    public synchronized E remove(final Object key) {
+        if (!this.keyClass.isInstance(key)) return null;
+        final long k = ((Number) key).longValue();
+        final Table t = this.table;
+        final int mask = t.values.length() - 1;
+        for (int i = indexFor(k, mask), probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            final Object value = t.values.get(i);
+            if (null == value) return null;
+            if (TOMBSTONE != value && t.keys.get(i) == k) {
+                t.values.set(i, TOMBSTONE);
+                this.size--;
+                this.tombstones++;
+                return (E) value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.table = new Table(INITIAL_CAPACITY);
+        this.size = 0;
+        this.tombstones = 0;
+    }
+
+    @Override
+    public Set<Object> keySet() {
+        if (null == this.keySet) {
+            this.keySet = new AbstractSet<Object>() {
+                @Override
+                public Iterator<Object> iterator() {
+                    return new TableIterator<Object>() {
+                        @Override
+                        Object output(final long key, final Object value) {
+                            return box(key);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return TinkerNumericIdMap.this.size;
+                }
+
+                @Override
+                public boolean contains(final Object key) {
+                    return containsKey(key);
+                }
+            };
+        }
+        return this.keySet;
+    }
+
+    @Override
+    public Collection<E> values() {
+        if (null == this.values) {
+            this.values = new AbstractCollection<E>() {
+                @Override
+                public Iterator<E> iterator() {
+                    return new TableIterator<E>() {
+                        @Override
+                        E output(final long key, final Object value) {
+                            return (E) value;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return TinkerNumericIdMap.this.size;
+                }
+            };
+        }
+        return this.values;
+    }
+
+    @Override
+    public Set<Map.Entry<Object, E>> entrySet() {
+        if (null == this.entrySet) {
+            this.entrySet = new AbstractSet<Map.Entry<Object, E>>() {
+                @Override
+                public Iterator<Map.Entry<Object, E>> iterator() {
+                    return new TableIterator<Map.Entry<Object, E>>() {
+                        @Override
+                        Map.Entry<Object, E> output(final long key, final Object value) {
+                            return new AbstractMap.SimpleImmutableEntry<>(box(key), (E) value);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return TinkerNumericIdMap.this.size;
+                }
+            };
+        }
+        return this.entrySet;
+    }
+
+    private Object box(final long key) {
+        return Long.class.equals(this.keyClass) ? Long.valueOf(key) : Integer.valueOf((int) key);
+    }
+
+    private void rehash(final int capacity) {
+        final Table old = this.table;
+        final Table resized = new Table(capacity);
+        final int mask = capacity - 1;
+        for (int j = 0; j < old.values.length(); j++) {
+            final Object value = old.values.get(j);
+            if (null == value || TOMBSTONE == value) continue;
+            final long key = old.keys.get(j);
+            int i = indexFor(key, mask);
+            while (null != resized.values.get(i)) {
+                i = (i + 1) & mask;
+            }
+            resized.keys.lazySet(i, key);
+            resized.values.lazySet(i, value);
+        }
+
+        // the volatile write of the table publishes all of its slots to readers
+        this.table = resized;
+        this.tombstones = 0;
+    }
+
+    private static int indexFor(final long key, final int mask) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static final class Table {
+        private final AtomicLongArray keys;
+        private final AtomicReferenceArray<Object> values;
+
+        private Table(final int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.values = new AtomicReferenceArray<>(capacity);
+        }
+    }
+
+    /**
+     * Iterates the table that was current when iteration started.
+     */
+    private abstract class TableIterator<T> implements Iterator<T> {
+        private final Table t = table;
+        private int next = -1;
+        private long nextKey;
+        private Object nextValue;
+        private long lastKey;
+        private boolean canRemove = false;
+
+        TableIterator() {
+            this.advance();
+        }
+
+        abstract T output(final long key, final Object value);
+
+        private void advance() {
+            final int length = this.t.values.length();
+            while (++this.next < length) {
+                final Object value = this.t.values.get(this.next);
+                if (null != value && TOMBSTONE != value) {
+                    final long key = this.t.keys.get(this.next);
+                    if (this.t.values.get(this.next) == value) {
+                        this.nextKey = key;
+                        this.nextValue = value;
+                        return;
+                    }
+                }
+            }
+            this.nextValue = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next < this.t.values.length();
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            final long key = this.nextKey;
+            final Object value = this.nextValue;
+            this.lastKey = key;
+            this.canRemove = true;
+            this.advance();
+            return this.output(key, value);
+        }
+
+        @Override
+        public void remove() {
+            if (!this.canRemove) throw new IllegalStateException();
+            TinkerNumericIdMap.this.remove(box(this.lastKey));
+            this.canRemove = false;
+        }
+    }
+}
@@ -76,11 +76,20 @@ public final class TinkerProperty<V> implements Property<V> {
 
     @Override
     public void remove() {
-        if (this.element instanceof Edge) {
-            ((TinkerEdge) this.element).properties.remove(this.key);
-            TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
-        } else {
-            ((TinkerVertexProperty) this.element).properties.remove(this.key);
+        final TinkerGraph graph = (TinkerGraph) this.element.graph();
+        final TinkerWriteAheadLog writeAheadLog = TinkerHelper.beginMutation(graph);
+        try {
+            if (null != writeAheadLog && !TinkerHelper.inComputerMode(graph))
+                writeAheadLog.removeProperty(this);
+            if (this.element instanceof Edge) {
+                ((TinkerEdge) this.element).properties.remove(this.key);
+                TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
+                if (null != graph.statistics) graph.statistics.removeProperty(Edge.class, this.key, this.value);
+            } else {
+                ((TinkerVertexProperty) this.element).properties.remove(this.key);
+            }
+        } finally {
+            TinkerHelper.endMutation(writeAheadLog);
         }
     }
 }
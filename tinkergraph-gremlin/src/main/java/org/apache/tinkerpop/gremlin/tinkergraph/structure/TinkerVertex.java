@@ -45,6 +45,7 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
     protected Map<String, List<VertexProperty>> properties;
     protected Map<String, Set<Edge>> outEdges;
     protected Map<String, Set<Edge>> inEdges;
+    protected int computeOrdinal = -1;
     private final TinkerGraph graph;
 
     protected TinkerVertex(final Object id, final String label, final TinkerGraph graph) {
@@ -90,23 +91,28 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
         if (optionalVertexProperty.isPresent()) return optionalVertexProperty.get();
 
         if (TinkerHelper.inComputerMode(this.graph)) {
-            final VertexProperty<V> vertexProperty = (VertexProperty<V>) this.graph.graphComputerView.addProperty(this, key, value);
-            ElementHelper.attachProperties(vertexProperty, keyValues);
-            return vertexProperty;
+            return this.graph.graphComputerView.addProperty(this, key, value, keyValues);
         } else {
             final Object idValue = optionalId.isPresent() ?
                     graph.vertexPropertyIdManager.convert(optionalId.get()) :
                     graph.vertexPropertyIdManager.getNextId(graph);
 
             final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
-
-            if (null == this.properties) this.properties = new HashMap<>();
-            final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
-            list.add(vertexProperty);
-            this.properties.put(key, list);
-            TinkerHelper.autoUpdateIndex(this, key, value, null);
-            ElementHelper.attachProperties(vertexProperty, keyValues);
-            return vertexProperty;
+            final TinkerWriteAheadLog writeAheadLog = TinkerHelper.beginMutation(this.graph);
+            try {
+                if (null != writeAheadLog) writeAheadLog.addVertexProperty(this, idValue, key, value);
+
+                if (null == this.properties) this.properties = new HashMap<>();
+                final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
+                list.add(vertexProperty);
+                this.properties.put(key, list);
+                TinkerHelper.autoUpdateIndex(this, key, value, null);
+                if (null != this.graph.statistics) this.graph.statistics.addProperty(Vertex.class, key, value);
+                ElementHelper.attachProperties(vertexProperty, keyValues);
+                return vertexProperty;
+            } finally {
+                TinkerHelper.endMutation(writeAheadLog);
+            }
         }
     }
 
@@ -127,13 +133,21 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public void remove() {
-        final List<Edge> edges = new ArrayList<>();
-        this.edges(Direction.BOTH).forEachRemaining(edges::add);
-        edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
-        this.properties = null;
-        TinkerHelper.removeElementIndex(this);
-        this.graph.vertices.remove(this.id);
-        this.removed = true;
+        final TinkerWriteAheadLog writeAheadLog = TinkerHelper.beginMutation(this.graph);
+        try {
+            if (null != writeAheadLog) writeAheadLog.removeVertex(this);
+            final List<Edge> edges = new ArrayList<>();
+            this.edges(Direction.BOTH).forEachRemaining(edges::add);
+            edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
+            if (null != this.graph.statistics) this.graph.statistics.removeProperties(this);
+            this.properties = null;
+            TinkerHelper.removeElementIndex(this);
+            this.graph.vertices.remove(this.id);
+            TinkerHelper.removeLabelIndex(this.graph, this);
+            this.removed = true;
+        } finally {
+            TinkerHelper.endMutation(writeAheadLog);
+        }
     }
 
     @Override
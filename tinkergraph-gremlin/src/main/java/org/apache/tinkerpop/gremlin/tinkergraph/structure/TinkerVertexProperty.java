@@ -117,10 +117,18 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
     @Override
     public <U> Property<U> property(final String key, final U value) {
         if (this.removed) throw elementAlreadyRemoved(VertexProperty.class, id);
-        final Property<U> property = new TinkerProperty<>(this, key, value);
-        if (this.properties == null) this.properties = new HashMap<>();
-        this.properties.put(key, property);
-        return property;
+        final TinkerGraph graph = (TinkerGraph) this.vertex.graph();
+        final TinkerWriteAheadLog writeAheadLog = TinkerHelper.beginMutation(graph);
+        try {
+            if (null != writeAheadLog && !TinkerHelper.inComputerMode(graph))
+                writeAheadLog.setMetaProperty(this, key, value);
+            final Property<U> property = new TinkerProperty<>(this, key, value);
+            if (this.properties == null) this.properties = new HashMap<>();
+            this.properties.put(key, property);
+            return property;
+        } finally {
+            TinkerHelper.endMutation(writeAheadLog);
+        }
     }
 
     @Override
@@ -131,19 +139,28 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
     @Override
     public void remove() {
         if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
-            this.vertex.properties.get(this.key).remove(this);
-            if (this.vertex.properties.get(this.key).size() == 0) {
-                this.vertex.properties.remove(this.key);
-                TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+            final TinkerGraph graph = (TinkerGraph) this.vertex.graph();
+            final TinkerWriteAheadLog writeAheadLog = TinkerHelper.beginMutation(graph);
+            try {
+                if (null != writeAheadLog && !TinkerHelper.inComputerMode(graph))
+                    writeAheadLog.removeVertexProperty(this);
+                if (this.vertex.properties.get(this.key).remove(this) && null != graph.statistics && !TinkerHelper.inComputerMode(graph))
+                    graph.statistics.removeProperty(Vertex.class, this.key, this.value);
+                if (this.vertex.properties.get(this.key).size() == 0) {
+                    this.vertex.properties.remove(this.key);
+                    TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                }
+                final AtomicBoolean delete = new AtomicBoolean(true);
+                this.vertex.properties(this.key).forEachRemaining(property -> {
+                    if (property.value().equals(this.value))
+                        delete.set(false);
+                });
+                if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                this.properties = null;
+                this.removed = true;
+            } finally {
+                TinkerHelper.endMutation(writeAheadLog);
             }
-            final AtomicBoolean delete = new AtomicBoolean(true);
-            this.vertex.properties(this.key).forEachRemaining(property -> {
-                if (property.value().equals(this.value))
-                    delete.set(false);
-            });
-            if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
-            this.properties = null;
-            this.removed = true;
         }
     }
 
@@ -0,0 +1,559 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of the mutations made to a persistent {@link TinkerGraph}, enabled with
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG}. Each mutation is logged before it is applied to the graph
+ * and on open the log is replayed on top of the graph loaded from {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION}.
+ * <p/>
+ * Entries are gathered in memory and written and synced to disk as a batch every
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL} milliseconds, so that many mutations share
+ * the cost of a single {@code fsync}. Each log syncs on a thread of its own. After
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL} entries a checkpoint is taken on another thread, so
+ * that it never delays a sync. A checkpoint waits for the mutations in progress to be applied and holds off new ones
+ * while it moves the log aside and writes the whole graph to its location, so that the graph it writes reflects
+ * exactly the entries of the moved log, which is then deleted. A checkpoint that does not complete leaves the moved
+ * log to be replayed before the current one, and a crash right after a checkpoint may replay entries the graph
+ * already reflects, so replay of every entry is idempotent.
+ * <p/>
+ * Closing the log takes a last checkpoint and deletes the log. Mutations made to the graph after that are not
+ * logged and are only persisted when the graph is closed again.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerWriteAheadLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(TinkerWriteAheadLog.class);
+
+    private static final int MAX_PENDING_BYTES = 1 << 20;
+
+    /**
+     * The bytes around each entry of the log, which are its length and its checksum.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 4 + 8;
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte ADD_EDGE = 2;
+    private static final byte ADD_VERTEX_PROPERTY = 3;
+    private static final byte SET_META_PROPERTY = 4;
+    private static final byte SET_EDGE_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX = 6;
+    private static final byte REMOVE_EDGE = 7;
+    private static final byte REMOVE_VERTEX_PROPERTY = 8;
+    private static final byte REMOVE_META_PROPERTY = 9;
+    private static final byte REMOVE_EDGE_PROPERTY = 10;
+    private static final byte CLEAR = 11;
+
+    private final TinkerGraph graph;
+    private final File logFile;
+    private final File checkpointLogFile;
+    private final long syncInterval;
+    private final long checkpointInterval;
+    private final Kryo kryo;
+    private final Output entry = new Output(256, -1);
+    private final CRC32 crc = new CRC32();
+
+    private final Object flushLock = new Object();
+    private final Object checkpointLock = new Object();
+    private final ReentrantReadWriteLock mutationLock = new ReentrantReadWriteLock();
+
+    private Output pending = new Output(1 << 16, -1);
+    private Output spare = new Output(1 << 16, -1);
+    private volatile long entries = 0;
+    private boolean checkpointScheduled = false;
+    private boolean closed = false;
+    private FileChannel channel;
+    private ScheduledExecutorService syncExecutor;
+    private ExecutorService checkpointExecutor;
+    private ScheduledFuture<?> syncFuture;
+
+    private TinkerWriteAheadLog(final TinkerGraph graph, final String graphLocation, final long syncInterval,
+                                final long checkpointInterval) {
+        this.graph = graph;
+        this.logFile = new File(graphLocation + ".wal");
+        this.checkpointLogFile = new File(graphLocation + ".wal.checkpoint");
+        this.syncInterval = syncInterval;
+        this.checkpointInterval = checkpointInterval;
+        this.kryo = createKryo();
+    }
+
+    /**
+     * Replays any log left at the graph location onto the graph and opens the log for further mutations. A log
+     * that was moved aside by a checkpoint that did not complete is replayed first.
+     */
+    public static TinkerWriteAheadLog open(final TinkerGraph graph, final String graphLocation, final long syncInterval,
+                                           final long checkpointInterval) {
+        final TinkerWriteAheadLog log = new TinkerWriteAheadLog(graph, graphLocation, syncInterval, checkpointInterval);
+        try {
+            final File parent = log.logFile.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) parent.mkdirs();
+            log.entries = replay(graph, log.checkpointLogFile) + replay(graph, log.logFile);
+            log.channel = openChannel(log.logFile);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(String.format("Could not open the write-ahead log at %s", log.logFile), ioe);
+        }
+        return log;
+    }
+
+    /**
+     * Marks the start of a mutation that is logged and then applied to the graph, which must be followed by
+     * {@link #endMutation()} once the mutation is applied. Mutations may run concurrently with each other but not
+     * with a checkpoint.
+     */
+    public void beginMutation() {
+        this.mutationLock.readLock().lock();
+    }
+
+    public void endMutation() {
+        this.mutationLock.readLock().unlock();
+    }
+
+    public void addVertex(final TinkerVertex vertex) {
+        this.log(ADD_VERTEX, out -> {
+            this.kryo.writeClassAndObject(out, vertex.id);
+            out.writeString(vertex.label);
+        });
+    }
+
+    public void addEdge(final TinkerEdge edge) {
+        this.log(ADD_EDGE, out -> {
+            this.kryo.writeClassAndObject(out, edge.id);
+            out.writeString(edge.label);
+            this.kryo.writeClassAndObject(out, edge.outVertex.id());
+            this.kryo.writeClassAndObject(out, edge.inVertex.id());
+        });
+    }
+
+    public void addVertexProperty(final TinkerVertex vertex, final Object id, final String key, final Object value) {
+        this.log(ADD_VERTEX_PROPERTY, out -> {
+            this.kryo.writeClassAndObject(out, vertex.id);
+            this.kryo.writeClassAndObject(out, id);
+            out.writeString(key);
+            this.kryo.writeClassAndObject(out, value);
+        });
+    }
+
+    public void setMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key, final Object value) {
+        this.log(SET_META_PROPERTY, out -> {
+            this.writeVertexProperty(out, vertexProperty);
+            out.writeString(key);
+            this.kryo.writeClassAndObject(out, value);
+        });
+    }
+
+    public void setEdgeProperty(final TinkerEdge edge, final String key, final Object value) {
+        this.log(SET_EDGE_PROPERTY, out -> {
+            this.kryo.writeClassAndObject(out, edge.id);
+            out.writeString(key);
+            this.kryo.writeClassAndObject(out, value);
+        });
+    }
+
+    public void removeVertex(final TinkerVertex vertex) {
+        this.log(REMOVE_VERTEX, out -> this.kryo.writeClassAndObject(out, vertex.id));
+    }
+
+    public void removeEdge(final TinkerEdge edge) {
+        this.log(REMOVE_EDGE, out -> this.kryo.writeClassAndObject(out, edge.id));
+    }
+
+    public void removeVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        this.log(REMOVE_VERTEX_PROPERTY, out -> this.writeVertexProperty(out, vertexProperty));
+    }
+
+    public void removeProperty(final TinkerProperty<?> property) {
+        if (property.element() instanceof Edge) {
+            this.log(REMOVE_EDGE_PROPERTY, out -> {
+                this.kryo.writeClassAndObject(out, property.element().id());
+                out.writeString(property.key());
+            });
+        } else {
+            this.log(REMOVE_META_PROPERTY, out -> {
+                this.writeVertexProperty(out, (TinkerVertexProperty<?>) property.element());
+                out.writeString(property.key());
+            });
+        }
+    }
+
+    public void clear() {
+        this.log(CLEAR, out -> {});
+    }
+
+    /**
+     * Writes and syncs the entries that have been logged so far.
+     */
+    public void flush() {
+        synchronized (this.flushLock) {
+            final Output batch;
+            synchronized (this) {
+                if (0 == this.pending.position()) return;
+                batch = this.pending;
+                this.pending = this.spare;
+                this.spare = null;
+            }
+            try {
+                final ByteBuffer bytes = ByteBuffer.wrap(batch.getBuffer(), 0, batch.position());
+                while (bytes.hasRemaining()) {
+                    this.channel.write(bytes);
+                }
+                this.channel.force(false);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(String.format("Could not write to the write-ahead log at %s", this.logFile), ioe);
+            } finally {
+                batch.clear();
+                synchronized (this) {
+                    this.spare = batch;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the graph to its location and discards the log entries that precede it. The log is moved aside and the
+     * graph is written while no mutation is in progress, so that the graph reflects exactly the moved entries.
+     */
+    public void checkpoint() {
+        synchronized (this.checkpointLock) {
+            this.mutationLock.writeLock().lock();
+            try {
+                synchronized (this.flushLock) {
+                    this.flush();
+                    try {
+                        this.channel.close();
+                        if (this.checkpointLogFile.exists()) {
+                            // a previous checkpoint did not complete so its entries are still needed
+                            try (final FileChannel checkpointChannel = openChannel(this.checkpointLogFile)) {
+                                Files.copy(this.logFile.toPath(), Channels.newOutputStream(checkpointChannel));
+                                checkpointChannel.force(false);
+                            }
+                            Files.delete(this.logFile.toPath());
+                        } else {
+                            Files.move(this.logFile.toPath(), this.checkpointLogFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                        }
+                        this.channel = openChannel(this.logFile);
+                    } catch (IOException ioe) {
+                        throw new UncheckedIOException(String.format("Could not rotate the write-ahead log at %s", this.logFile), ioe);
+                    }
+                    synchronized (this) {
+                        this.entries = 0;
+                    }
+                }
+
+                this.graph.writeCheckpoint();
+                this.checkpointLogFile.delete();
+            } finally {
+                this.mutationLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes the graph to its location, deletes the log and stops its threads. Closing the log again only writes
+     * the graph.
+     */
+    public void close() {
+        synchronized (this.checkpointLock) {
+            this.mutationLock.writeLock().lock();
+            try {
+                final boolean alreadyClosed;
+                synchronized (this) {
+                    alreadyClosed = this.closed;
+                    this.closed = true;
+                    if (null != this.syncFuture) {
+                        this.syncFuture.cancel(false);
+                        this.syncFuture = null;
+                    }
+                    if (null != this.syncExecutor) this.syncExecutor.shutdown();
+                    if (null != this.checkpointExecutor) this.checkpointExecutor.shutdown();
+                }
+                if (alreadyClosed) {
+                    this.graph.writeCheckpoint();
+                    return;
+                }
+
+                // the log is only deleted once the graph that reflects it is in place
+                this.flush();
+                this.graph.writeCheckpoint();
+                synchronized (this.flushLock) {
+                    try {
+                        this.channel.close();
+                        Files.deleteIfExists(this.logFile.toPath());
+                        Files.deleteIfExists(this.checkpointLogFile.toPath());
+                    } catch (IOException ioe) {
+                        throw new UncheckedIOException(String.format("Could not close the write-ahead log at %s", this.logFile), ioe);
+                    }
+                }
+            } finally {
+                this.mutationLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void log(final byte type, final Consumer<Output> writer) {
+        final boolean flush;
+        synchronized (this) {
+            if (this.closed) return;
+            this.entry.clear();
+            this.entry.writeByte(type);
+            writer.accept(this.entry);
+
+            this.crc.reset();
+            this.crc.update(this.entry.getBuffer(), 0, this.entry.position());
+            this.pending.writeInt(this.entry.position());
+            this.pending.writeBytes(this.entry.getBuffer(), 0, this.entry.position());
+            this.pending.writeLong(this.crc.getValue());
+            this.entries++;
+
+            if (this.syncInterval > 0 && null == this.syncFuture) {
+                this.syncExecutor = Executors.newSingleThreadScheduledExecutor(this.createThreadFactory("tinkergraph-wal-sync"));
+                this.syncFuture = this.syncExecutor.scheduleWithFixedDelay(this::sync, this.syncInterval, this.syncInterval, TimeUnit.MILLISECONDS);
+            }
+            flush = this.syncInterval <= 0 || this.pending.position() >= MAX_PENDING_BYTES;
+
+            // the checkpoint writes the whole graph so it is left to a thread of its own rather than the mutation
+            // that happened to reach the interval
+            if (this.checkpointInterval > 0 && this.entries >= this.checkpointInterval && !this.checkpointScheduled) {
+                this.checkpointScheduled = true;
+                if (null == this.checkpointExecutor)
+                    this.checkpointExecutor = Executors.newSingleThreadExecutor(this.createThreadFactory("tinkergraph-wal-checkpoint"));
+                this.checkpointExecutor.execute(this::scheduledCheckpoint);
+            }
+        }
+        if (flush) this.flush();
+    }
+
+    private void sync() {
+        try {
+            this.flush();
+        } catch (Exception ex) {
+            logger.error(String.format("Could not sync the write-ahead log at %s", this.logFile), ex);
+        }
+    }
+
+    private void scheduledCheckpoint() {
+        try {
+            synchronized (this.checkpointLock) {
+                synchronized (this) {
+                    if (this.closed || this.entries < this.checkpointInterval) return;
+                }
+                this.checkpoint();
+            }
+        } catch (Exception ex) {
+            logger.error(String.format("Could not checkpoint the write-ahead log at %s", this.logFile), ex);
+        } finally {
+            synchronized (this) {
+                this.checkpointScheduled = false;
+            }
+        }
+    }
+
+    private ThreadFactory createThreadFactory(final String name) {
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + this.logFile.getName());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void writeVertexProperty(final Output out, final TinkerVertexProperty<?> vertexProperty) {
+        this.kryo.writeClassAndObject(out, vertexProperty.element().id());
+        out.writeString(vertexProperty.key());
+        this.kryo.writeClassAndObject(out, vertexProperty.id());
+    }
+
+    private static FileChannel openChannel(final File file) throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static Kryo createKryo() {
+        return GryoMapper.build().version(GryoVersion.V3_0).addRegistry(TinkerIoRegistryV3d0.instance()).create().createMapper();
+    }
+
+    /**
+     * Applies the entries of the log to the graph, stopping at the first entry that was not completely written.
+     */
+    private static long replay(final TinkerGraph graph, final File file) throws IOException {
+        if (!file.exists()) return 0;
+
+        final Kryo kryo = createKryo();
+        final CRC32 crc = new CRC32();
+        long count = 0;
+        long remaining = file.length();
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            while (remaining >= ENTRY_OVERHEAD_BYTES) {
+                final byte[] bytes;
+                try {
+                    // a torn write may leave a length that the rest of the file cannot hold
+                    final int length = in.readInt();
+                    if (length < 1 || length > remaining - ENTRY_OVERHEAD_BYTES) break;
+                    bytes = new byte[length];
+                    in.readFully(bytes);
+                    crc.reset();
+                    crc.update(bytes, 0, bytes.length);
+                    if (crc.getValue() != in.readLong()) break;
+                    remaining -= length + ENTRY_OVERHEAD_BYTES;
+                } catch (EOFException ex) {
+                    break;
+                }
+                try (final Input input = new Input(bytes)) {
+                    apply(graph, kryo, input);
+                }
+                count++;
+            }
+        }
+        if (count > 0) logger.info("Replayed {} entries from the write-ahead log at {}", count, file);
+        return count;
+    }
+
+    private static void apply(final TinkerGraph graph, final Kryo kryo, final Input in) {
+        final byte type = in.readByte();
+        switch (type) {
+            case ADD_VERTEX: {
+                final Object id = kryo.readClassAndObject(in);
+                final String label = in.readString();
+                if (!graph.vertices.containsKey(id)) graph.addVertex(T.id, id, T.label, label);
+                break;
+            }
+            case ADD_EDGE: {
+                final Object id = kryo.readClassAndObject(in);
+                final String label = in.readString();
+                final Vertex outVertex = graph.vertices.get(kryo.readClassAndObject(in));
+                final Vertex inVertex = graph.vertices.get(kryo.readClassAndObject(in));
+                if (!graph.edges.containsKey(id) && null != outVertex && null != inVertex)
+                    outVertex.addEdge(label, inVertex, T.id, id);
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = graph.vertices.get(kryo.readClassAndObject(in));
+                final Object id = kryo.readClassAndObject(in);
+                final String key = in.readString();
+                final Object value = kryo.readClassAndObject(in);
+                if (null != vertex && null == findVertexProperty(vertex, key, id))
+                    vertex.property(VertexProperty.Cardinality.list, key, value, T.id, id);
+                break;
+            }
+            case SET_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = readVertexProperty(graph, kryo, in);
+                final String key = in.readString();
+                final Object value = kryo.readClassAndObject(in);
+                if (null != vertexProperty) vertexProperty.property(key, value);
+                break;
+            }
+            case SET_EDGE_PROPERTY: {
+                final Edge edge = graph.edges.get(kryo.readClassAndObject(in));
+                final String key = in.readString();
+                final Object value = kryo.readClassAndObject(in);
+                if (null != edge) edge.property(key, value);
+                break;
+            }
+            case REMOVE_VERTEX: {
+                final Vertex vertex = graph.vertices.get(kryo.readClassAndObject(in));
+                if (null != vertex) vertex.remove();
+                break;
+            }
+            case REMOVE_EDGE: {
+                final Edge edge = graph.edges.get(kryo.readClassAndObject(in));
+                if (null != edge) edge.remove();
+                break;
+            }
+            case REMOVE_VERTEX_PROPERTY: {
+                final VertexProperty<?> vertexProperty = readVertexProperty(graph, kryo, in);
+                if (null != vertexProperty) vertexProperty.remove();
+                break;
+            }
+            case REMOVE_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = readVertexProperty(graph, kryo, in);
+                final String key = in.readString();
+                if (null != vertexProperty) {
+                    final Property<?> property = vertexProperty.property(key);
+                    if (property.isPresent()) property.remove();
+                }
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Edge edge = graph.edges.get(kryo.readClassAndObject(in));
+                final String key = in.readString();
+                if (null != edge) {
+                    final Property<?> property = edge.property(key);
+                    if (property.isPresent()) property.remove();
+                }
+                break;
+            }
+            case CLEAR:
+                graph.clear();
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unknown entry type %s in the write-ahead log", type));
+        }
+    }
+
+    private static VertexProperty<?> readVertexProperty(final TinkerGraph graph, final Kryo kryo, final Input in) {
+        final Vertex vertex = graph.vertices.get(kryo.readClassAndObject(in));
+        final String key = in.readString();
+        final Object id = kryo.readClassAndObject(in);
+        return null == vertex ? null : findVertexProperty(vertex, key, id);
+    }
+
+    private static VertexProperty<?> findVertexProperty(final Vertex vertex, final String key, final Object id) {
+        final Iterator<VertexProperty<Object>> properties = vertex.properties(key);
+        while (properties.hasNext()) {
+            final VertexProperty<Object> vertexProperty = properties.next();
+            if (vertexProperty.id().equals(id)) return vertexProperty;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerParallelGraphStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author agent (agent@local)
+ */
+public class TinkerGraphParallelStrategyTest {
+
+    private static GraphTraversalSource g;
+
+    @BeforeClass
+    public static void setup() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex[] vertices = new Vertex[10000];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = graph.addVertex(T.label, i % 3 == 0 ? "person" : "software", "age", i % 97);
+        }
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i].addEdge("knows", vertices[(i * 31 + 7) % vertices.length]);
+            vertices[i].addEdge("knows", vertices[(i * 17 + 3) % vertices.length]);
+        }
+        g = graph.traversal();
+    }
+
+    @Test
+    public void shouldReduceTheSameAsASingleThread() {
+        final List<Function<GraphTraversalSource, Traversal<?, ?>>> traversals = Arrays.asList(
+                s -> s.V().count(),
+                s -> s.V().has("age", P.gt(30)).out().count(),
+                s -> s.V().out().out().values("age").sum(),
+                s -> s.V().out().values("age").mean(),
+                s -> s.V().out().values("age").min(),
+                s -> s.E().inV().values("age").max(),
+                s -> s.V().out().groupCount().by(T.label),
+                s -> s.V().hasLabel("person").out().group().by("age").by(__.count()),
+                s -> s.V().has("age", 1000).out().count());
+        for (final Function<GraphTraversalSource, Traversal<?, ?>> traversal : traversals) {
+            assertEquals(traversal.apply(g).toList(), traversal.apply(g.with(TinkerGraphParallelStrategy.PARALLELISM, 4)).toList());
+        }
+    }
+
+    @Test
+    public void shouldPartitionALinearPrefixEndingInAReducingBarrier() {
+        final Traversal.Admin<?, ?> traversal = g.with(TinkerGraphParallelStrategy.PARALLELISM, 4).V().out().count().asAdmin();
+        traversal.applyStrategies();
+        assertThat(traversal.getStartStep(), instanceOf(TinkerParallelGraphStep.class));
+        assertEquals(4, ((TinkerParallelGraphStep) traversal.getStartStep()).getParallelism());
+    }
+
+    @Test
+    public void shouldNotPartitionTraversalsThatCannotBeMerged() {
+        final List<Traversal.Admin<?, ?>> traversals = Arrays.asList(
+                g.V().out().count().asAdmin(),
+                g.with(TinkerGraphParallelStrategy.PARALLELISM, 1).V().out().count().asAdmin(),
+                g.with(TinkerGraphParallelStrategy.PARALLELISM, 4).V().out().order().asAdmin(),
+                g.with(TinkerGraphParallelStrategy.PARALLELISM, 4).V().out().fold().asAdmin(),
+                g.with(TinkerGraphParallelStrategy.PARALLELISM, 4).V().as("a").out().where(P.neq("a")).count().asAdmin(),
+                g.with(TinkerGraphParallelStrategy.PARALLELISM, 4).V().out().group().by(__.sideEffect(t -> {})).asAdmin());
+        for (final Traversal.Admin<?, ?> traversal : traversals) {
+            traversal.applyStrategies();
+            assertThat(traversal.getStartStep(), not(instanceOf(TinkerParallelGraphStep.class)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptANonPositiveParallelism() {
+        g.with(TinkerGraphParallelStrategy.PARALLELISM, 0).V().out().count().iterate();
+    }
+}
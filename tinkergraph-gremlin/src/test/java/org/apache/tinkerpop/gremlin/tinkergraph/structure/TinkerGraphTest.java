@@ -22,13 +22,23 @@ import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -59,26 +69,35 @@ import java.awt.Color;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -309,6 +328,151 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseRangeIndexForRangePredicates() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27L);
+        g.addVertex("name", "josh", "age", 32);
+        g.addVertex("name", "peter", "age", 35.0d);
+        g.addVertex("name", "stephen", "age", "unknown");
+
+        // spy on the vertices that reach the filter to ensure that the index narrowed them down by age
+        final List<String> seen = new ArrayList<>();
+        assertEquals(Arrays.asList("marko", "josh"), g.traversal().V().has("name", P.test((t, u) -> {
+            seen.add((String) t);
+            return true;
+        }, "")).has("age", P.between(28, 35L)).values("name").toList());
+        assertEquals(Arrays.asList("marko", "josh"), seen);
+
+        seen.clear();
+        assertEquals(2, IteratorUtils.count(g.traversal().V().has("name", P.test((t, u) -> {
+            seen.add((String) t);
+            return true;
+        }, "")).has("age", P.gt(29)).has("age", P.lte(35))));
+        assertEquals(Arrays.asList("josh", "peter"), seen);
+
+        seen.clear();
+        assertEquals(3, IteratorUtils.count(g.traversal().V().has("name", P.test((t, u) -> {
+            seen.add((String) t);
+            return true;
+        }, "")).has("age", P.within(27, 35, 32L))));
+        assertEquals(3, seen.size());
+        assertThat(seen.contains("marko"), is(false));
+
+        assertEquals(Arrays.asList("vadas"), g.traversal().V().has("age", P.lt(28)).values("name").toList());
+        assertEquals(Arrays.asList("stephen"), g.traversal().V().has("age", P.gte("a")).values("name").toList());
+        assertEquals(0, IteratorUtils.count(g.traversal().V().has("age", P.between(35, 28))));
+
+        g.traversal().V().has("name", "josh").property("age", 40).iterate();
+        g.traversal().V().has("name", "vadas").drop().iterate();
+        assertEquals(Arrays.asList("marko", "peter", "josh"), g.traversal().V().has("age", P.gte(0)).values("name").toList());
+    }
+
+    @Test
+    public void shouldKeepValuesWithoutOrderApartInRangeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("tags", Vertex.class, TinkerGraph.IndexType.RANGE);
+
+        // lists have no natural order and these two share a hash code
+        g.addVertex("name", "marko", "tags", Collections.singletonList("Aa"));
+        g.addVertex("name", "vadas", "tags", Collections.singletonList("BB"));
+        g.addVertex("name", "josh", "tags", 1);
+
+        final List<String> seen = new ArrayList<>();
+        assertEquals(Arrays.asList("marko"), g.traversal().V().has("name", P.test((t, u) -> {
+            seen.add((String) t);
+            return true;
+        }, "")).has("tags", Collections.singletonList("Aa")).values("name").toList());
+        assertEquals(Arrays.asList("marko"), seen);
+
+        g.traversal().V().has("name", "marko").drop().iterate();
+        assertEquals(Arrays.asList("vadas"), g.traversal().V().has("tags", Collections.singletonList("BB")).values("name").toList());
+        assertEquals(Arrays.asList("josh"), g.traversal().V().has("tags", P.gte(0)).values("name").toList());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotCreateIndexOfDifferentTypeForSameKey() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+    }
+
+    @Test
+    public void shouldUseCompositeIndexForLabelAndKeys() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex(T.label, "account", "tenant", "a", "externalId", 1, "name", "marko");
+        g.addVertex(T.label, "account", "tenant", "a", "externalId", 2, "name", "vadas");
+        g.addVertex(T.label, "account", "tenant", "b", "externalId", 1, "name", "josh");
+        g.addVertex(T.label, "person", "tenant", "a", "externalId", 1, "name", "peter");
+        g.addVertex(T.label, "account", "tenant", "a", "name", "stephen");
+
+        g.createCompositeIndex("account", Vertex.class, "tenant", "externalId");
+        assertEquals(1, g.getCompositeIndexKeys("account", Vertex.class).size());
+        assertEquals(Arrays.asList("tenant", "externalId"), g.getCompositeIndexKeys("account", Vertex.class).iterator().next());
+
+        // spy on the vertices that reach the filter to ensure that the composite index narrowed them down
+        final List<String> seen = new ArrayList<>();
+        assertEquals(Arrays.asList("marko"), g.traversal().V().has("name", P.test((t, u) -> {
+            seen.add((String) t);
+            return true;
+        }, "")).hasLabel("account").has("tenant", "a").has("externalId", 1L).values("name").toList());
+        assertEquals(Arrays.asList("marko"), seen);
+
+        // a leading key alone uses the index too and finds vertices that lack the trailing key
+        seen.clear();
+        assertEquals(3, IteratorUtils.count(g.traversal().V().has("name", P.test((t, u) -> {
+            seen.add((String) t);
+            return true;
+        }, "")).hasLabel("account").has("tenant", "a")));
+        assertEquals(3, seen.size());
+        assertThat(seen.contains("josh") || seen.contains("peter"), is(false));
+
+        g.addVertex(T.label, "account", "tenant", "b", "externalId", 2, "name", "daniel");
+        g.traversal().V().has("name", "josh").property("externalId", 2).iterate();
+        g.traversal().V().has("name", "vadas").drop().iterate();
+        assertEquals(2, IteratorUtils.count(g.traversal().V().hasLabel("account").has("tenant", "b").has("externalId", 2)));
+        assertEquals(0, IteratorUtils.count(g.traversal().V().hasLabel("account").has("tenant", "a").has("externalId", 2)));
+
+        g.dropCompositeIndex("account", Vertex.class, "tenant", "externalId");
+        assertEquals(0, g.getCompositeIndexKeys("account", Vertex.class).size());
+        assertEquals(2, IteratorUtils.count(g.traversal().V().hasLabel("account").has("tenant", "b").has("externalId", 2)));
+    }
+
+    @Test
+    public void shouldMaintainLabelIndex() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final GraphTraversalSource g = graph.traversal();
+
+        assertEquals(4L, g.V().hasLabel("person").count().next().longValue());
+        assertEquals(6L, g.V().hasLabel("person", "software").count().next().longValue());
+        assertEquals(2L, g.E().hasLabel("knows").count().next().longValue());
+        assertEquals(0L, g.V().hasLabel("none").count().next().longValue());
+        assertEquals(Arrays.asList("marko", "vadas"), g.V().hasLabel("person").has("age", P.lt(30)).values("name").order().toList());
+
+        // spy on the vertices that reach the filter to ensure that only the labelled ones are considered
+        final List<String> seen = new ArrayList<>();
+        assertEquals(2, IteratorUtils.count(g.V().has("name", P.test((t, u) -> {
+            seen.add((String) t);
+            return true;
+        }, "")).hasLabel("software")));
+        assertEquals(2, seen.size());
+
+        g.V().has("name", "lop").drop().iterate();
+        g.E().hasLabel("knows").limit(1).drop().iterate();
+        assertEquals(1L, g.V().hasLabel("software").count().next().longValue());
+        assertEquals(1L, g.E().hasLabel("knows").count().next().longValue());
+        assertEquals(1L, g.E().hasLabel("created").count().next().longValue());
+
+        graph.addVertex(T.label, "software", "name", "gremlin");
+        assertEquals(2L, g.V().hasLabel("software").count().next().longValue());
+
+        graph.clear();
+        assertEquals(0L, g.V().hasLabel("person").count().next().longValue());
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -495,6 +659,230 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToSnapshot.tgs";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        assertEquals(4, reloadedGraph.traversal().V().hasLabel("person").count().next().intValue());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotAndHandleMultiProperties() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToSnapshotMulti.tgs";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.toString());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldConvertIdsReadFromSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldConvertIdsReadFromSnapshot.tgs";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        // the snapshot holds the Integer ids of the modern graph which the LONG managers must convert
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_EDGE_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_PROPERTY_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(6, IteratorUtils.count(reloadedGraph.vertices()));
+        assertEquals(6, IteratorUtils.count(reloadedGraph.edges()));
+        assertEquals(1L, reloadedGraph.vertices(1L).next().id());
+        assertEquals("marko", reloadedGraph.vertices(1L).next().value("name"));
+        assertEquals(7L, reloadedGraph.edges(7L).next().id());
+        assertEquals(Long.class, reloadedGraph.vertices(1L).next().property("name").id().getClass());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldReplayWriteAheadLogOnOpen() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldReplayWriteAheadLog.tgs";
+        deleteFiles(graphLocation, graphLocation + ".wal", graphLocation + ".wal.checkpoint");
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 0);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final Vertex marko = graph.vertices(1).next();
+        marko.property("name").remove();
+        marko.property("name", "marko");
+        graph.edges(7).next().remove();
+        graph.addVertex(T.id, 100, "name", "removed").remove();
+
+        // the graph is not closed so it has only been persisted through its log
+        assertFalse(new File(graphLocation).exists());
+        final TinkerGraph replayedGraph = TinkerGraph.open(conf);
+        assertEquals(6, IteratorUtils.count(replayedGraph.vertices()));
+        assertEquals(5, IteratorUtils.count(replayedGraph.edges()));
+        assertEquals("marko", replayedGraph.vertices(1).next().value("name"));
+        assertFalse(replayedGraph.edges(7).hasNext());
+
+        // closing checkpoints the graph and discards the log
+        replayedGraph.close();
+        assertTrue(new File(graphLocation).exists());
+        assertFalse(new File(graphLocation + ".wal").exists());
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(6, IteratorUtils.count(reloadedGraph.vertices()));
+        assertEquals(5, IteratorUtils.count(reloadedGraph.edges()));
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldCheckpointWriteAheadLogAtInterval() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldCheckpointWriteAheadLog.kryo";
+        deleteFiles(graphLocation, graphLocation + ".wal", graphLocation + ".wal.checkpoint");
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 0);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 10);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+
+        // the checkpoint is written in the background by the sync thread
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!new File(graphLocation).exists() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(new File(graphLocation).exists());
+        graph.close();
+        assertFalse(new File(graphLocation + ".wal.checkpoint").exists());
+
+        final TinkerGraph replayedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(replayedGraph, true, false);
+        replayedGraph.close();
+    }
+
+    @Test
+    public void shouldCheckpointWriteAheadLogWhileMutating() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldCheckpointWhileMutating.kryo";
+        deleteFiles(graphLocation, graphLocation + ".wal", graphLocation + ".wal.checkpoint");
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 0);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 0);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+
+        final int threads = 4;
+        final int verticesPerThread = 250;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                Vertex previous = null;
+                for (int i = 0; i < verticesPerThread; i++) {
+                    final Vertex vertex = graph.addVertex("i", i);
+                    vertex.property("name", "v" + i);
+                    if (null != previous) previous.addEdge("next", vertex).property("weight", i);
+                    previous = vertex;
+                }
+            }));
+        }
+
+        // every checkpoint writes the graph while the other threads are mutating it
+        while (futures.stream().anyMatch(f -> !f.isDone())) {
+            graph.writeAheadLog.checkpoint();
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // the graph is not closed so it is persisted through its last checkpoint and the log that follows it
+        final TinkerGraph replayedGraph = TinkerGraph.open(conf);
+        assertEquals(threads * verticesPerThread, IteratorUtils.count(replayedGraph.vertices()));
+        assertEquals(threads * (verticesPerThread - 1), IteratorUtils.count(replayedGraph.edges()));
+        replayedGraph.vertices().forEachRemaining(v -> assertEquals("v" + v.value("i"), v.value("name")));
+        replayedGraph.edges().forEachRemaining(e -> assertEquals(e.inVertex().value("i"), e.value("weight")));
+        replayedGraph.close();
+    }
+
+    @Test
+    public void shouldStopReplayAtTornWriteAheadLogEntry() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldStopReplayAtTornEntry.tgs";
+        deleteFiles(graphLocation, graphLocation + ".wal", graphLocation + ".wal.checkpoint");
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 0);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+
+        // a torn entry whose length is far larger than what is left of the log
+        try (final DataOutputStream out = new DataOutputStream(new FileOutputStream(graphLocation + ".wal", true))) {
+            out.writeInt(Integer.MAX_VALUE);
+            out.writeByte(1);
+        }
+
+        final TinkerGraph replayedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(replayedGraph, true, false);
+        replayedGraph.close();
+    }
+
+    @Test
+    public void shouldNotAddEdgeWithInvalidProperty() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex v = graph.addVertex();
+        try {
+            v.addEdge("self", v, "weight", 0.5d, "name", null);
+            fail("The edge should not have been added with a null property value");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+
+        assertFalse(graph.edges().hasNext());
+        assertFalse(v.edges(Direction.BOTH).hasNext());
+        assertFalse(graph.traversal().E().hasLabel("self").hasNext());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireGraphLocationForWriteAheadLog() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        TinkerGraph.open(conf);
+    }
+
     @Test
     public void shouldPersistWithRelativePath() {
         final String graphLocation = TestHelper.convertToRelative(TinkerGraphTest.class,
@@ -650,6 +1038,33 @@ public class TinkerGraphTest {
         }
     }
 
+    @Test
+    public void shouldProcessEveryVertexOnceWithComputerOverSkewedGraph() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex hub = graph.addVertex("name", "hub");
+        for (int i = 0; i < 1000; i++) {
+            hub.addEdge("link", graph.addVertex("name", "leaf" + i));
+        }
+
+        final GraphTraversalSource g = graph.traversal().withComputer(Computer.compute().workers(4));
+        assertEquals(1001L, g.V().count().next().longValue());
+        assertEquals(1000L, g.V().out().count().next().longValue());
+        assertEquals(1001L, g.V().values("name").dedup().count().next().longValue());
+    }
+
+    @Test
+    public void shouldPersistComputeKeysToOriginalGraph() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final ComputerResult result = graph.compute().program(PageRankVertexProgram.build().create(graph))
+                .result(GraphComputer.ResultGraph.ORIGINAL).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+        assertSame(graph, result.graph());
+        graph.vertices().forEachRemaining(v -> {
+            assertEquals(1, IteratorUtils.count(v.properties(PageRankVertexProgram.PAGE_RANK)));
+            assertThat(v.<Double>value(PageRankVertexProgram.PAGE_RANK), greaterThan(0.0d));
+        });
+        assertEquals(3, IteratorUtils.count(graph.vertices(1).next().properties()));
+    }
+
     /**
      * Just validating that property folding works nicely given TINKERPOP-2112
      */
@@ -668,6 +1083,185 @@ public class TinkerGraphTest {
         assertThat(g.V("id").hasNext(), is(true));
     }
 
+    @Test
+    public void shouldTraverseAndRemoveEdgesWithCompactAdjacency() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+
+        final Vertex a = graph.addVertex(T.id, "a");
+        final List<Vertex> others = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final Vertex other = graph.addVertex(T.id, i);
+            others.add(other);
+            a.addEdge(i % 2 == 0 ? "even" : "odd", other, T.id, "e" + i);
+        }
+
+        assertEquals(10, IteratorUtils.count(a.edges(Direction.OUT)));
+        assertEquals(Arrays.asList(0, 2, 4, 6, 8), g.V("a").out("even").id().toList());
+        assertEquals(Arrays.asList(1, 3, 5, 7, 9), g.V("a").out("odd").id().toList());
+        assertEquals("a", g.V(5).in("odd").id().next());
+        assertThat(a.edges(Direction.OUT, "none").hasNext(), is(false));
+
+        g.E("e2", "e5").drop().iterate();
+        assertEquals(Arrays.asList(0, 4, 6, 8), g.V("a").out("even").id().toList());
+        assertEquals(Arrays.asList(1, 3, 7, 9), g.V("a").out("odd").id().toList());
+        assertEquals(0L, g.V(5).inE().count().next().longValue());
+
+        g.V(0).drop().iterate();
+        assertEquals(7L, g.V("a").outE().count().next().longValue());
+        assertEquals(7L, g.E().count().next().longValue());
+
+        // removing most of the edges moves the rest down over the empty slots without changing their order
+        for (int i = 10; i < 20; i++) {
+            a.addEdge("even", graph.addVertex(T.id, i), T.id, "e" + i);
+        }
+        g.E("e4", "e6", "e10", "e11", "e12", "e14", "e15", "e17").drop().iterate();
+        assertEquals(Arrays.asList(8, 13, 16, 18, 19), g.V("a").out("even").id().toList());
+        a.addEdge("even", a, T.id, "loop");
+        g.E("e13").drop().iterate();
+        assertEquals(Arrays.asList(8, 16, 18, 19, "a"), g.V("a").out("even").id().toList());
+        assertEquals(Collections.singletonList("a"), g.V("a").in("even").id().toList());
+
+        g.V("a").drop().iterate();
+        assertEquals(0L, g.E().count().next().longValue());
+        assertEquals(0L, g.V(4).bothE().count().next().longValue());
+    }
+
+    @Test
+    public void shouldKeepStatisticsWhenEnabled() {
+        assertFalse(TinkerFactory.createModern().statistics().isPresent());
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_STATISTICS, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final GraphStatistics statistics = graph.statistics().get();
+
+        assertEquals(6L, statistics.count(Vertex.class));
+        assertEquals(4L, statistics.count(Vertex.class, "person"));
+        assertEquals(6L, statistics.count(Vertex.class, "name", null));
+        assertEquals(4L, statistics.count(Vertex.class, "age", null));
+        assertEquals(2L, statistics.count(Vertex.class, "lang", "java"));
+        assertEquals(6L, statistics.count(Edge.class));
+        assertEquals(2L, statistics.count(Edge.class, "knows"));
+        assertEquals(2L, statistics.count(Edge.class, "weight", 0.4d));
+        assertEquals(1.0d, statistics.averageDegree(null), 0.0d);
+
+        graph.vertices(1).next().property("age").remove();
+        assertEquals(3L, statistics.count(Vertex.class, "age", null));
+        graph.vertices(4).next().remove();
+        assertEquals(2L, statistics.count(Vertex.class, "age", null));
+        assertEquals(3L, statistics.count(Edge.class));
+        assertEquals(1L, statistics.count(Edge.class, "weight", 0.4d));
+        assertEquals(0L, statistics.count(Edge.class, "weight", 1.0d));
+        graph.edges(7).next().property("weight", 0.9d);
+        assertEquals(0L, statistics.count(Edge.class, "weight", 0.5d));
+        assertEquals(1L, statistics.count(Edge.class, "weight", 0.9d));
+        assertEquals(3L, statistics.count(Edge.class, "weight", null));
+
+        graph.clear();
+        assertEquals(0L, statistics.count(Vertex.class));
+        assertEquals(0L, statistics.count(Vertex.class, "name", null));
+        assertEquals(0L, statistics.count(Edge.class, "weight", null));
+    }
+
+    @Test
+    public void shouldKeepStatisticsOfGraphReadFromSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldKeepStatisticsOfSnapshot.tgs";
+        deleteFiles(graphLocation);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_STATISTICS, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphStatistics statistics = reloadedGraph.statistics().get();
+        assertEquals(6L, statistics.count(Vertex.class, "name", null));
+        assertEquals(4L, statistics.count(Vertex.class, "age", null));
+        assertEquals(2L, statistics.count(Vertex.class, "lang", "java"));
+        assertEquals(2L, statistics.count(Edge.class, "weight", 0.4d));
+        assertEquals(6L, statistics.count(Edge.class, "weight", null));
+
+        reloadedGraph.vertices(1).next().property("age").remove();
+        assertEquals(3L, statistics.count(Vertex.class, "age", null));
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldOrderHasContainersBySelectivityWithStatistics() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_STATISTICS, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+
+        final List<String> withStatistics = getHasContainerKeys(graph.traversal().V().out().has("lang", P.within("java", "scala")).has("name", "lop").asAdmin());
+        assertEquals(Arrays.asList("name", "lang"), withStatistics);
+        final List<String> withoutStatistics = getHasContainerKeys(TinkerFactory.createModern().traversal().V().out().has("lang", P.within("java", "scala")).has("name", "lop").asAdmin());
+        assertEquals(Arrays.asList("lang", "name"), withoutStatistics);
+        assertEquals(Arrays.asList("lop", "lop", "lop"), graph.traversal().V().out().has("lang", P.within("java", "scala")).has("name", "lop").values("name").toList());
+    }
+
+    private static List<String> getHasContainerKeys(final Traversal.Admin<?, ?> traversal) {
+        traversal.applyStrategies();
+        final HasStep<?> step = TraversalHelper.getFirstStepOfAssignableClass(HasStep.class, traversal).get();
+        return step.getHasContainers().stream().map(HasContainer::getKey).collect(Collectors.toList());
+    }
+
+    @Test
+    public void shouldStoreElementsWithNumericIdManagers() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_VERTEX_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_EDGE_ID_MANAGER, TinkerGraph.DefaultIdManager.INTEGER.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+
+        final int total = 10000;
+        Vertex previous = graph.addVertex(T.id, 0L);
+        for (int i = 1; i < total; i++) {
+            final Vertex next = graph.addVertex(T.id, (long) i);
+            previous.addEdge("next", next, T.id, i);
+            previous = next;
+        }
+
+        assertEquals(total, IteratorUtils.count(graph.vertices()));
+        assertEquals(total - 1, IteratorUtils.count(graph.edges()));
+        assertEquals(500L, g.V(500).id().next());
+        assertEquals(500L, g.V("500").id().next());
+        assertEquals(501L, g.V(500L).out().id().next());
+        assertEquals(7, g.E(7L).id().next());
+        assertThat(g.V(total).hasNext(), is(false));
+
+        for (int i = 0; i < total; i += 2) {
+            g.V(i).drop().iterate();
+        }
+        assertEquals(total / 2, IteratorUtils.count(graph.vertices()));
+        assertEquals(0L, g.E().count().next().longValue());
+        assertThat(g.V(2).hasNext(), is(false));
+        assertEquals(3L, g.V(3).id().next());
+
+        // ids freed by removal can be used again
+        graph.addVertex(T.id, 2L);
+        assertEquals(2L, g.V(2).id().next());
+        assertEquals(total / 2 + 1, IteratorUtils.count(graph.vertices()));
+
+        graph.clear();
+        assertEquals(0L, g.V().count().next().longValue());
+        assertEquals(0L, graph.addVertex().id());
+    }
+
+    private static void deleteFiles(final String... locations) {
+        for (final String location : locations) {
+            final File f = new File(location);
+            if (f.exists() && f.isFile()) f.delete();
+        }
+    }
+
     /**
      * Coerces a {@code Color} to a {@link TinkerGraph} during serialization.  Demonstrates how custom serializers
      * can be developed that can coerce one value to another during serialization.